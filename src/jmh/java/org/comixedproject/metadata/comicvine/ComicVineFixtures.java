@@ -0,0 +1,55 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <code>ComicVineFixtures</code> loads the recorded ComicVine responses that the benchmarks run
+ * against.
+ *
+ * @author Darryl L. Pierce
+ */
+public final class ComicVineFixtures {
+  /** A single issue with its full character, team, location, story arc and person credits. */
+  public static final String ISSUE_DETAILS = "issue-with-details-metadata.json";
+
+  /** A page of volume search results. */
+  public static final String VOLUME_LIST = "volume-list-metadata.json";
+
+  private ComicVineFixtures() {}
+
+  /**
+   * Returns the content of the given fixture, loaded from the root of the benchmark classpath.
+   *
+   * @param name the fixture name
+   * @return the content
+   */
+  public static String load(final String name) {
+    try (InputStream input = ComicVineFixtures.class.getResourceAsStream("/" + name)) {
+      if (input == null) throw new IllegalStateException("Missing benchmark fixture: " + name);
+      return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+    } catch (IOException error) {
+      throw new UncheckedIOException("Failed to load benchmark fixture: " + name, error);
+    }
+  }
+}
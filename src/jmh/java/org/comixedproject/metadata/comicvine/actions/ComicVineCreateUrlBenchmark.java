@@ -0,0 +1,100 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.actions;
+
+import java.util.concurrent.TimeUnit;
+import org.comixedproject.metadata.comicvine.adaptors.ComicVineMetadataAdaptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <code>ComicVineCreateUrlBenchmark</code> measures building request URLs, including generating
+ * the filter, parameter and field lists.
+ *
+ * @author Darryl L. Pierce
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ComicVineCreateUrlBenchmark {
+  private static final String TEST_API_KEY = "0123456789abcdef0123456789abcdef01234567";
+  private static final String TEST_VOLUME_ID = "42721";
+  private static final String TEST_ISSUE_NUMBER = "4";
+  private static final ComicVineRequest ISSUES_REQUEST =
+      ComicVineRequest.forEndpoint("issues")
+          .withFields(
+              "id", "volume", "issue_number", "cover_date", "store_date", "description", "image");
+
+  private ComicVineRequest issueQuery;
+  private ComicVineRequest detailQuery;
+
+  @Setup
+  public void setUp() {
+    this.issueQuery = this.doCreateIssueQuery();
+    this.detailQuery = ComicVineRequest.forEndpoint("volume/4050-" + TEST_VOLUME_ID);
+  }
+
+  /**
+   * Builds the URL for an issue search with filters, parameters and a field list.
+   *
+   * @return the URL
+   */
+  @Benchmark
+  public String createIssueQueryUrl() {
+    return this.issueQuery.toUrl(ComicVineMetadataAdaptor.BASE_URL, TEST_API_KEY);
+  }
+
+  /**
+   * Builds the URL for a detail request, which has no filters or field list.
+   *
+   * @return the URL
+   */
+  @Benchmark
+  public String createDetailUrl() {
+    return this.detailQuery.toUrl(ComicVineMetadataAdaptor.BASE_URL, TEST_API_KEY);
+  }
+
+  /**
+   * Sets up an issue search and builds its URL, as each issue lookup does.
+   *
+   * @return the URL
+   */
+  @Benchmark
+  public String setUpAndCreateIssueQueryUrl() {
+    return this.doCreateIssueQuery().toUrl(ComicVineMetadataAdaptor.BASE_URL, TEST_API_KEY);
+  }
+
+  private ComicVineRequest doCreateIssueQuery() {
+    return ISSUES_REQUEST
+        .withFilter("volume", TEST_VOLUME_ID)
+        .withFilter("issue_number", TEST_ISSUE_NUMBER)
+        .withParameter(AbstractComicVineScrapingAction.OFFSET_PARAMETER, "100");
+  }
+}
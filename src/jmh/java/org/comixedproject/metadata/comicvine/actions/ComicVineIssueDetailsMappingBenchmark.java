@@ -0,0 +1,92 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.actions;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.comixedproject.metadata.comicvine.ComicVineFixtures;
+import org.comixedproject.metadata.comicvine.client.ComicVineClient;
+import org.comixedproject.metadata.comicvine.model.ComicVineGetIssueDetailsResponse;
+import org.comixedproject.metadata.comicvine.model.ComicVineIssue;
+import org.comixedproject.metadata.comicvine.model.ComicVineVolume;
+import org.comixedproject.metadata.comicvine.model.ComicVineVolumesQueryResponse;
+import org.comixedproject.metadata.model.IssueDetailsMetadata;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <code>ComicVineIssueDetailsMappingBenchmark</code> measures mapping an issue's details to its
+ * metadata in {@link ComicVineGetIssueDetailsAction}, including mapping every person credit to its
+ * tag type.
+ *
+ * <p>The issue and its volume are decoded once during setup, so only the mapping is measured and
+ * no request, cache lookup or decode is included.
+ *
+ * @author Darryl L. Pierce
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ComicVineIssueDetailsMappingBenchmark {
+  private static final String TEST_PUBLISHER_NAME = "Marvel";
+
+  private ComicVineIssue issue;
+  private ComicVineVolume volume;
+
+  @Setup
+  public void setUp() throws IOException {
+    final ObjectMapper objectMapper = new ComicVineClient().getObjectMapper();
+    this.issue =
+        objectMapper
+            .readValue(
+                ComicVineFixtures.load(ComicVineFixtures.ISSUE_DETAILS),
+                ComicVineGetIssueDetailsResponse.class)
+            .getResults();
+    this.volume =
+        objectMapper
+            .readValue(
+                ComicVineFixtures.load(ComicVineFixtures.VOLUME_LIST),
+                ComicVineVolumesQueryResponse.class)
+            .getVolumes()
+            .get(0);
+  }
+
+  /**
+   * Maps the issue details.
+   *
+   * @return the metadata
+   */
+  @Benchmark
+  public IssueDetailsMetadata createIssueDetails() {
+    return ComicVineGetIssueDetailsAction.doCreateIssueDetails(
+        this.issue, this.volume, TEST_PUBLISHER_NAME);
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.comixedproject.metadata.comicvine.ComicVineFixtures;
+import org.comixedproject.metadata.comicvine.client.ComicVineClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <code>ComicVineDecodeBenchmark</code> measures decoding ComicVine responses with the object
+ * mapper used by {@link ComicVineClient}.
+ *
+ * @author Darryl L. Pierce
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ComicVineDecodeBenchmark {
+  private ObjectMapper objectMapper;
+  private String issueDetails;
+  private String volumeList;
+
+  @Setup
+  public void setUp() {
+    this.objectMapper = new ComicVineClient().getObjectMapper();
+    this.issueDetails = ComicVineFixtures.load(ComicVineFixtures.ISSUE_DETAILS);
+    this.volumeList = ComicVineFixtures.load(ComicVineFixtures.VOLUME_LIST);
+  }
+
+  /**
+   * Decodes a single issue with its full credit lists.
+   *
+   * @return the response
+   * @throws IOException if the response cannot be decoded
+   */
+  @Benchmark
+  public ComicVineGetIssueDetailsResponse decodeIssueDetails() throws IOException {
+    return this.objectMapper.readValue(this.issueDetails, ComicVineGetIssueDetailsResponse.class);
+  }
+
+  /**
+   * Decodes a page of volume search results.
+   *
+   * @return the response
+   * @throws IOException if the response cannot be decoded
+   */
+  @Benchmark
+  public ComicVineVolumesQueryResponse decodeVolumes() throws IOException {
+    return this.objectMapper.readValue(this.volumeList, ComicVineVolumesQueryResponse.class);
+  }
+}
@@ -0,0 +1,297 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.adaptors;
+
+import static org.comixedproject.metadata.comicvine.adaptors.ComicVineMetadataAdaptorProvider.PROPERTY_API_KEY;
+import static org.comixedproject.metadata.comicvine.adaptors.ComicVineMetadataAdaptorProvider.PROPERTY_LIST_ISSUES;
+import static org.comixedproject.metadata.comicvine.adaptors.ComicVineMetadataAdaptorProvider.PROPERTY_MAX_CONNECTIONS;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.log4j.Log4j2;
+import org.comixedproject.metadata.MetadataException;
+import org.comixedproject.metadata.comicvine.client.ComicVineClient;
+import org.comixedproject.metadata.comicvine.loadtest.ComicVineSimulator;
+import org.comixedproject.metadata.comicvine.model.ComicVineBulkScrapeResult;
+import org.comixedproject.metadata.comicvine.model.ComicVineIssueReference;
+import org.comixedproject.metadata.model.IssueDetailsMetadata;
+import org.comixedproject.metadata.model.IssueMetadata;
+import org.comixedproject.model.metadata.MetadataSource;
+import org.comixedproject.model.metadata.MetadataSourceProperty;
+import org.mockito.Mockito;
+
+/**
+ * <code>ComicVineLoadTest</code> drives the {@link ComicVineMetadataAdaptor} with many concurrent
+ * scrapes against a {@link ComicVineSimulator} and reports how it held up.
+ *
+ * <p>Settings are given as <code>name=value</code> arguments:
+ *
+ * <ul>
+ *   <li><b>volumes</b>, <b>issues</b>: the size of the synthetic dataset
+ *   <li><b>scrapes</b>: the number of issues to scrape
+ *   <li><b>concurrency</b>: the number of scrapes running at once
+ *   <li><b>scenario</b>: <i>lookup</i> finds each issue by number and then loads its details,
+ *       <i>bulk</i> scrapes the issues <b>batch-size</b> at a time
+ *   <li><b>skew</b>: how strongly the scrapes favor the first volumes, where 1 is uniform
+ *   <li><b>latency-median</b>, <b>latency-p99</b>: the simulated latency in milliseconds
+ *   <li><b>error-rate</b>, <b>rate-limit-rate</b>: the share of requests that fail or are rate
+ *       limited
+ *   <li><b>max-connections</b>, <b>list-issues</b>: the adaptor settings
+ * </ul>
+ *
+ * <p>The report gives the throughput in scraped issues per second, the 50th and 99th percentile
+ * latency of each scrape, and the number of requests sent per scraped issue.
+ *
+ * @author Darryl L. Pierce
+ */
+@Log4j2
+public class ComicVineLoadTest {
+  static final String API_KEY = "comicvine-load-test";
+  static final String SCENARIO_LOOKUP = "lookup";
+  static final String SCENARIO_BULK = "bulk";
+
+  private static final Map<String, String> DEFAULTS =
+      Map.ofEntries(
+          Map.entry("volumes", "2000"),
+          Map.entry("issues", "50000"),
+          Map.entry("scrapes", "2000"),
+          Map.entry("concurrency", "32"),
+          Map.entry("scenario", SCENARIO_LOOKUP),
+          Map.entry("batch-size", "100"),
+          Map.entry("skew", "2.0"),
+          Map.entry("seed", "1"),
+          Map.entry("latency-median", "50"),
+          Map.entry("latency-p99", "400"),
+          Map.entry("error-rate", "0.01"),
+          Map.entry("rate-limit-rate", "0.0"),
+          Map.entry("max-connections", String.valueOf(ComicVineClient.DEFAULT_MAX_CONNECTIONS)),
+          Map.entry("list-issues", "false"));
+
+  private final Map<String, String> settings = new HashMap<>(DEFAULTS);
+
+  /**
+   * Creates a load test with the given settings.
+   *
+   * @param args the settings, as name=value pairs
+   */
+  public ComicVineLoadTest(final String... args) {
+    Arrays.stream(args)
+        .map(arg -> arg.split("=", 2))
+        .forEach(
+            entry -> {
+              if (entry.length != 2 || !DEFAULTS.containsKey(entry[0]))
+                throw new IllegalArgumentException("Unknown load test setting: " + entry[0]);
+              this.settings.put(entry[0], entry[1]);
+            });
+  }
+
+  /**
+   * Runs the load test with the settings given on the command line.
+   *
+   * @param args the settings
+   * @throws Exception if the load test cannot be run
+   */
+  public static void main(final String[] args) throws Exception {
+    new ComicVineLoadTest(args).run();
+  }
+
+  /**
+   * Runs the load test and prints its report.
+   *
+   * @throws Exception if the simulator cannot be run
+   */
+  public void run() throws Exception {
+    try (ComicVineSimulator simulator =
+        new ComicVineSimulator(this.doGetInt("volumes"), this.doGetInt("issues"))) {
+      simulator.setMedianLatency(Duration.ofMillis(this.doGetInt("latency-median")));
+      simulator.setP99Latency(Duration.ofMillis(this.doGetInt("latency-p99")));
+      simulator.setErrorRate(this.doGetDouble("error-rate"));
+      simulator.setRateLimitRate(this.doGetDouble("rate-limit-rate"));
+      simulator.start();
+
+      final ComicVineClient client = new ComicVineClient();
+      client.setBaseUrl(simulator.getBaseUrl());
+      client.setMinimumDelay(0L);
+      client.getQuotaTracker().setHourlyLimit(Integer.MAX_VALUE);
+      final ComicVineMetadataAdaptor adaptor = new ComicVineMetadataAdaptor(client);
+      final MetadataSource metadataSource = this.doCreateMetadataSource();
+
+      final List<Callable<Integer>> scrapes =
+          this.doCreateScrapes(simulator, adaptor, metadataSource);
+      final long[] latencies = new long[scrapes.size()];
+      final ExecutorService executor = Executors.newFixedThreadPool(this.doGetInt("concurrency"));
+      try {
+        final long started = System.nanoTime();
+        final List<Future<Integer>> results = new ArrayList<>();
+        for (int index = 0; index < scrapes.size(); index++) {
+          final int slot = index;
+          final Callable<Integer> scrape = scrapes.get(index);
+          results.add(
+              executor.submit(
+                  () -> {
+                    final long start = System.nanoTime();
+                    try {
+                      return scrape.call();
+                    } finally {
+                      latencies[slot] = System.nanoTime() - start;
+                    }
+                  }));
+        }
+
+        int scraped = 0;
+        int failed = 0;
+        for (Future<Integer> result : results) {
+          try {
+            scraped += result.get();
+          } catch (Exception error) {
+            log.debug("Scrape failed", error);
+            failed++;
+          }
+        }
+        final long elapsed = System.nanoTime() - started;
+        this.doReport(simulator, scrapes.size(), scraped, failed, elapsed, latencies);
+      } finally {
+        executor.shutdownNow();
+        client.shutdown();
+      }
+    }
+  }
+
+  private List<Callable<Integer>> doCreateScrapes(
+      final ComicVineSimulator simulator,
+      final ComicVineMetadataAdaptor adaptor,
+      final MetadataSource metadataSource) {
+    final Random random = new Random(this.doGetInt("seed"));
+    final int count = this.doGetInt("scrapes");
+    final double skew = Math.max(this.doGetDouble("skew"), 1.0d);
+    final List<ComicVineIssueReference> issues = new ArrayList<>();
+    for (int index = 0; index < count; index++) {
+      final int volumeId =
+          1 + (int) (simulator.getVolumeCount() * Math.pow(random.nextDouble(), skew));
+      final int issueNumber = 1 + random.nextInt(simulator.getIssuesPerVolume());
+      issues.add(
+          ComicVineIssueReference.forIssueNumber(
+              String.valueOf(volumeId), String.valueOf(issueNumber)));
+    }
+
+    final List<Callable<Integer>> result = new ArrayList<>();
+    final String scenario = this.settings.get("scenario");
+    if (SCENARIO_BULK.equals(scenario)) {
+      final int batchSize = Math.max(this.doGetInt("batch-size"), 1);
+      for (int from = 0; from < issues.size(); from += batchSize) {
+        final List<ComicVineIssueReference> batch =
+            issues.subList(from, Math.min(from + batchSize, issues.size()));
+        result.add(() -> this.doScrapeBatch(adaptor, metadataSource, batch));
+      }
+    } else if (SCENARIO_LOOKUP.equals(scenario)) {
+      issues.forEach(issue -> result.add(() -> this.doLookup(adaptor, metadataSource, issue)));
+    } else {
+      throw new IllegalArgumentException("Unknown load test scenario: " + scenario);
+    }
+    return result;
+  }
+
+  private int doLookup(
+      final ComicVineMetadataAdaptor adaptor,
+      final MetadataSource metadataSource,
+      final ComicVineIssueReference issue)
+      throws MetadataException {
+    final IssueMetadata found =
+        adaptor.doGetIssue(issue.volumeId(), issue.issueNumber(), metadataSource);
+    if (Objects.isNull(found)) return 0;
+    final IssueDetailsMetadata details = adaptor.getIssueDetails(found.getId(), metadataSource);
+    return Objects.isNull(details) ? 0 : 1;
+  }
+
+  private int doScrapeBatch(
+      final ComicVineMetadataAdaptor adaptor,
+      final MetadataSource metadataSource,
+      final List<ComicVineIssueReference> batch)
+      throws MetadataException {
+    final ComicVineBulkScrapeResult result = adaptor.scrapeIssues(batch, metadataSource);
+    return result.getResults().size();
+  }
+
+  private MetadataSource doCreateMetadataSource() {
+    final MetadataSource result = Mockito.mock(MetadataSource.class);
+    final Set<MetadataSourceProperty> properties = new HashSet<>();
+    properties.add(new MetadataSourceProperty(result, PROPERTY_API_KEY, API_KEY));
+    properties.add(
+        new MetadataSourceProperty(
+            result, PROPERTY_MAX_CONNECTIONS, this.settings.get("max-connections")));
+    properties.add(
+        new MetadataSourceProperty(result, PROPERTY_LIST_ISSUES, this.settings.get("list-issues")));
+    Mockito.when(result.getProperties()).thenReturn(properties);
+    return result;
+  }
+
+  private void doReport(
+      final ComicVineSimulator simulator,
+      final int scrapes,
+      final int scraped,
+      final int failed,
+      final long elapsed,
+      final long[] latencies) {
+    Arrays.sort(latencies);
+    final double seconds = elapsed / (double) TimeUnit.SECONDS.toNanos(1L);
+    final long requests = simulator.getRequestCount();
+
+    System.out.println("ComicVine load test");
+    System.out.printf("  settings             %s%n", new TreeMap<>(this.settings));
+    System.out.printf("  scrapes              %d (%d failed)%n", scrapes, failed);
+    System.out.printf("  issues scraped       %d%n", scraped);
+    System.out.printf("  elapsed              %.2fs%n", seconds);
+    System.out.printf("  throughput           %.2f issues/s%n", scraped / seconds);
+    System.out.printf("  latency p50          %.1fms%n", this.doGetPercentile(latencies, 0.50d));
+    System.out.printf("  latency p99          %.1fms%n", this.doGetPercentile(latencies, 0.99d));
+    System.out.printf("  requests             %d %s%n", requests, simulator.getRequestCounts());
+    System.out.printf(
+        "  requests per issue   %.3f%n", scraped > 0 ? requests / (double) scraped : 0.0d);
+    System.out.printf("  injected errors      %d%n", simulator.getErrorCount());
+    System.out.printf("  injected rate limits %d%n", simulator.getRateLimitCount());
+  }
+
+  private double doGetPercentile(final long[] sorted, final double percentile) {
+    if (sorted.length == 0) return 0.0d;
+    final int index = (int) Math.ceil(percentile * sorted.length) - 1;
+    return sorted[Math.max(index, 0)] / (double) TimeUnit.MILLISECONDS.toNanos(1L);
+  }
+
+  private int doGetInt(final String name) {
+    return Integer.parseInt(this.settings.get(name).trim());
+  }
+
+  private double doGetDouble(final String name) {
+    return Double.parseDouble(this.settings.get(name).trim());
+  }
+}
@@ -0,0 +1,516 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.log4j.Log4j2;
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+/**
+ * <code>ComicVineSimulator</code> is a local stand-in for the ComicVine API, serving a synthetic
+ * dataset so the adaptor can be put under load without touching the real service.
+ *
+ * <p>The dataset is generated from the record ids rather than stored, so a dataset of tens of
+ * thousands of issues costs no memory. Every volume has the same number of issues, and each
+ * volume's name is {@link #SERIES_PREFIX} followed by its id. Volume searches, volume and issue
+ * details, issue queries by volume, issue number or id, and publisher details are supported.
+ *
+ * <p>Each response is delayed by a log-normal latency with the given median and 99th percentile.
+ * A share of the requests can be answered with a server error, and another with a rate limit
+ * response that asks the caller to wait before trying again. Requests are counted by resource.
+ *
+ * @author Darryl L. Pierce
+ */
+@Log4j2
+public class ComicVineSimulator implements Closeable {
+  /** The start of every volume name. */
+  public static final String SERIES_PREFIX = "Synthetic Series ";
+
+  static final int PUBLISHER_COUNT = 20;
+  static final int DEFAULT_LIMIT = 100;
+  static final int STATUS_OBJECT_NOT_FOUND = 101;
+  static final double P99_DEVIATIONS = 2.3263d;
+
+  private static final String[] ROLES = {
+    "writer", "penciler, inker", "colorist", "letterer", "cover", "editor"
+  };
+
+  private final MockWebServer server = new MockWebServer();
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final Map<String, LongAdder> requests = new ConcurrentHashMap<>();
+  private final LongAdder errors = new LongAdder();
+  private final LongAdder rateLimits = new LongAdder();
+
+  @Getter private final int volumeCount;
+  @Getter private final int issuesPerVolume;
+  @Getter @Setter private Duration medianLatency = Duration.ofMillis(50L);
+  @Getter @Setter private Duration p99Latency = Duration.ofMillis(400L);
+  @Getter @Setter private double errorRate = 0.0d;
+  @Getter @Setter private double rateLimitRate = 0.0d;
+  @Getter @Setter private Duration retryAfter = Duration.ofSeconds(1L);
+
+  private String baseUrl;
+
+  /**
+   * Creates a simulator with the given dataset size. The issues are spread evenly across the
+   * volumes.
+   *
+   * @param volumeCount the number of volumes
+   * @param issueCount the number of issues
+   */
+  public ComicVineSimulator(final int volumeCount, final int issueCount) {
+    this.volumeCount = Math.max(volumeCount, 1);
+    this.issuesPerVolume = Math.max(issueCount / this.volumeCount, 1);
+    this.server.setDispatcher(
+        new Dispatcher() {
+          @Override
+          public MockResponse dispatch(final RecordedRequest request) {
+            return doDispatch(request);
+          }
+        });
+  }
+
+  /**
+   * Starts serving requests on a free local port.
+   *
+   * @throws IOException if the server cannot be started
+   */
+  public void start() throws IOException {
+    this.server.start();
+    this.baseUrl = String.format("http://%s:%d", this.server.getHostName(), this.server.getPort());
+    log.debug(
+        "Started ComicVine simulator: url={} volumes={} issues={}",
+        this.baseUrl,
+        this.volumeCount,
+        this.getIssueCount());
+  }
+
+  /**
+   * Returns the URL to use in place of the ComicVine base URL.
+   *
+   * @return the base URL
+   */
+  public String getBaseUrl() {
+    return this.baseUrl;
+  }
+
+  /**
+   * Returns the number of issues in the dataset.
+   *
+   * @return the issue count
+   */
+  public int getIssueCount() {
+    return this.volumeCount * this.issuesPerVolume;
+  }
+
+  /**
+   * Returns the id of the given issue.
+   *
+   * @param volumeId the volume id
+   * @param issueNumber the issue number
+   * @return the issue id
+   */
+  public int getIssueId(final int volumeId, final int issueNumber) {
+    return (volumeId - 1) * this.issuesPerVolume + issueNumber;
+  }
+
+  /**
+   * Returns the number of requests received for each resource.
+   *
+   * @return the request counts, by resource
+   */
+  public Map<String, Long> getRequestCounts() {
+    final Map<String, Long> result = new TreeMap<>();
+    this.requests.forEach((resource, count) -> result.put(resource, count.sum()));
+    return result;
+  }
+
+  /**
+   * Returns the number of requests received.
+   *
+   * @return the request count
+   */
+  public long getRequestCount() {
+    return this.requests.values().stream().mapToLong(LongAdder::sum).sum();
+  }
+
+  /**
+   * Returns the number of requests answered with a server error.
+   *
+   * @return the error count
+   */
+  public long getErrorCount() {
+    return this.errors.sum();
+  }
+
+  /**
+   * Returns the number of requests answered with a rate limit response.
+   *
+   * @return the rate limit count
+   */
+  public long getRateLimitCount() {
+    return this.rateLimits.sum();
+  }
+
+  @Override
+  public void close() throws IOException {
+    log.debug("Stopping ComicVine simulator");
+    this.server.shutdown();
+  }
+
+  MockResponse doDispatch(final RecordedRequest request) {
+    final HttpUrl url = request.getRequestUrl();
+    if (Objects.isNull(url)) return new MockResponse().setResponseCode(400);
+
+    final List<String> path = url.pathSegments();
+    final String resource = path.size() > 1 ? path.get(1) : "";
+    this.requests.computeIfAbsent(resource, key -> new LongAdder()).increment();
+
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    final long latency = this.doGetLatency(random);
+    if (random.nextDouble() < this.rateLimitRate) {
+      this.rateLimits.increment();
+      return new MockResponse()
+          .setResponseCode(429)
+          .setHeader(HttpHeaders.RETRY_AFTER, this.retryAfter.toSeconds())
+          .setHeadersDelay(latency, TimeUnit.MICROSECONDS);
+    }
+    if (random.nextDouble() < this.errorRate) {
+      this.errors.increment();
+      return new MockResponse()
+          .setResponseCode(503)
+          .setHeadersDelay(latency, TimeUnit.MICROSECONDS);
+    }
+
+    final String id = path.size() > 2 ? path.get(2) : "";
+    final Map<String, String> filters = this.doParseFilters(url.queryParameter("filter"));
+    final Map<String, Object> body =
+        switch (resource) {
+          case "search" -> this.doSearchVolumes(url);
+          case "volume" -> this.doGetVolume(this.doParseId(id));
+          case "volumes" -> this.doGetVolumes(filters);
+          case "issue" -> this.doGetIssue(this.doParseId(id));
+          case "issues" -> this.doGetIssues(url, filters);
+          case "publisher" -> this.doGetPublisher(this.doParseId(id));
+          default -> null;
+        };
+    if (Objects.isNull(body)) {
+      return this.doCreateResponse(404, this.doCreateNotFound(), latency);
+    }
+    return this.doCreateResponse(200, body, latency);
+  }
+
+  private MockResponse doCreateResponse(
+      final int status, final Map<String, Object> body, final long latency) {
+    try {
+      return new MockResponse()
+          .setResponseCode(status)
+          .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+          .setBody(this.objectMapper.writeValueAsString(body))
+          .setHeadersDelay(latency, TimeUnit.MICROSECONDS);
+    } catch (JsonProcessingException error) {
+      log.error("Failed to encode simulated response", error);
+      return new MockResponse().setResponseCode(500);
+    }
+  }
+
+  private long doGetLatency(final ThreadLocalRandom random) {
+    final double median = TimeUnit.NANOSECONDS.toMicros(this.medianLatency.toNanos());
+    if (median <= 0.0d) return 0L;
+    final double p99 = Math.max(TimeUnit.NANOSECONDS.toMicros(this.p99Latency.toNanos()), median);
+    final double sigma = Math.log(p99 / median) / P99_DEVIATIONS;
+    return Math.round(median * Math.exp(sigma * random.nextGaussian()));
+  }
+
+  private Map<String, Object> doSearchVolumes(final HttpUrl url) {
+    final String query =
+        Objects.requireNonNullElse(url.queryParameter("query"), "").toLowerCase(Locale.ROOT);
+    final List<Integer> matches = new ArrayList<>();
+    for (int volumeId = 1; volumeId <= this.volumeCount; volumeId++) {
+      if (this.doGetVolumeName(volumeId).toLowerCase(Locale.ROOT).contains(query))
+        matches.add(volumeId);
+    }
+    final int limit = this.doParseInt(url.queryParameter("limit"), DEFAULT_LIMIT);
+    final int page = this.doParseInt(url.queryParameter("page"), 1);
+    final int offset = (Math.max(page, 1) - 1) * limit;
+    return this.doCreatePage(matches, offset, limit, this::doCreateVolume);
+  }
+
+  private Map<String, Object> doGetVolume(final int volumeId) {
+    if (!this.doIsVolume(volumeId)) return null;
+    final Map<String, Object> result = this.doCreateVolume(volumeId);
+    final List<Map<String, Object>> issues = new ArrayList<>();
+    for (int issueNumber = 1; issueNumber <= this.issuesPerVolume; issueNumber++) {
+      issues.add(this.doCreateIssue(volumeId, issueNumber, false));
+    }
+    result.put("issues", issues);
+    return this.doCreateResult(result);
+  }
+
+  private Map<String, Object> doGetVolumes(final Map<String, String> filters) {
+    final List<Integer> volumeIds = this.doParseIds(filters.get("id"));
+    volumeIds.removeIf(volumeId -> !this.doIsVolume(volumeId));
+    return this.doCreatePage(volumeIds, 0, DEFAULT_LIMIT, this::doCreateVolume);
+  }
+
+  private Map<String, Object> doGetIssue(final int issueId) {
+    if (issueId < 1 || issueId > this.getIssueCount()) return null;
+    return this.doCreateResult(
+        this.doCreateIssue(this.doGetVolumeId(issueId), this.doGetIssueNumber(issueId), true));
+  }
+
+  private Map<String, Object> doGetIssues(final HttpUrl url, final Map<String, String> filters) {
+    final List<Integer> issueIds = new ArrayList<>();
+    if (filters.containsKey("id")) {
+      issueIds.addAll(this.doParseIds(filters.get("id")));
+      issueIds.removeIf(issueId -> issueId < 1 || issueId > this.getIssueCount());
+    } else if (filters.containsKey("volume")) {
+      final int volumeId = this.doParseId(filters.get("volume"));
+      if (this.doIsVolume(volumeId)) {
+        final int issueNumber = this.doParseInt(filters.get("issue_number"), 0);
+        if (issueNumber > 0) {
+          if (issueNumber <= this.issuesPerVolume)
+            issueIds.add(this.getIssueId(volumeId, issueNumber));
+        } else {
+          for (int index = 1; index <= this.issuesPerVolume; index++) {
+            issueIds.add(this.getIssueId(volumeId, index));
+          }
+        }
+      }
+    }
+    final int limit = this.doParseInt(url.queryParameter("limit"), DEFAULT_LIMIT);
+    final int offset = this.doParseInt(url.queryParameter("offset"), 0);
+    return this.doCreatePage(
+        issueIds,
+        offset,
+        limit,
+        issueId ->
+            this.doCreateIssue(this.doGetVolumeId(issueId), this.doGetIssueNumber(issueId), false));
+  }
+
+  private Map<String, Object> doGetPublisher(final int publisherId) {
+    if (publisherId < 1 || publisherId > PUBLISHER_COUNT) return null;
+    final Map<String, Object> result = this.doCreatePublisher(publisherId);
+    result.put("description", "Publisher " + publisherId + " publishes synthetic comics.");
+    result.put("image", this.doCreateImage("publisher-" + publisherId));
+    return this.doCreateResult(result);
+  }
+
+  private Map<String, Object> doCreateVolume(final int volumeId) {
+    final Map<String, Object> result = new LinkedHashMap<>();
+    result.put("id", volumeId);
+    result.put("name", this.doGetVolumeName(volumeId));
+    result.put("count_of_issues", this.issuesPerVolume);
+    result.put("start_year", String.valueOf(this.doGetStartYear(volumeId)));
+    result.put("publisher", this.doCreatePublisher(volumeId % PUBLISHER_COUNT + 1));
+    result.put("image", this.doCreateImage("volume-" + volumeId));
+    result.put("api_detail_url", this.doCreateDetailUrl("volume/4050-", volumeId));
+    result.put("resource_type", "volume");
+    return result;
+  }
+
+  private Map<String, Object> doCreateVolumeReference(final int volumeId) {
+    final Map<String, Object> result = new LinkedHashMap<>();
+    result.put("id", volumeId);
+    result.put("name", this.doGetVolumeName(volumeId));
+    result.put("api_detail_url", this.doCreateDetailUrl("volume/4050-", volumeId));
+    return result;
+  }
+
+  private Map<String, Object> doCreatePublisher(final int publisherId) {
+    final Map<String, Object> result = new LinkedHashMap<>();
+    result.put("id", publisherId);
+    result.put("name", "Publisher " + publisherId);
+    result.put("api_detail_url", this.doCreateDetailUrl("publisher/4010-", publisherId));
+    return result;
+  }
+
+  private Map<String, Object> doCreateIssue(
+      final int volumeId, final int issueNumber, final boolean withCredits) {
+    final int issueId = this.getIssueId(volumeId, issueNumber);
+    final LocalDate coverDate =
+        LocalDate.of(this.doGetStartYear(volumeId), 1, 1).plusMonths(issueNumber - 1L);
+    final Map<String, Object> result = new LinkedHashMap<>();
+    result.put("id", issueId);
+    result.put("issue_number", String.valueOf(issueNumber));
+    result.put("name", "Chapter " + issueNumber);
+    result.put("cover_date", coverDate.toString());
+    result.put("store_date", coverDate.minusDays(14L).toString());
+    result.put("description", "<p>Issue " + issueNumber + " of volume " + volumeId + ".</p>");
+    result.put("site_detail_url", this.baseUrl + "/synthetic/4000-" + issueId + "/");
+    result.put("api_detail_url", this.doCreateDetailUrl("issue/4000-", issueId));
+    result.put("image", this.doCreateImage("issue-" + issueId));
+    result.put("volume", this.doCreateVolumeReference(volumeId));
+    if (withCredits) {
+      result.put("character_credits", this.doCreateCredits("character", issueId, 12, null));
+      result.put("team_credits", this.doCreateCredits("team", issueId, 3, null));
+      result.put("location_credits", this.doCreateCredits("location", issueId, 4, null));
+      result.put("story_arc_credits", this.doCreateCredits("story_arc", volumeId, 1, null));
+      result.put("person_credits", this.doCreateCredits("person", issueId, ROLES.length, ROLES));
+    }
+    return result;
+  }
+
+  private List<Map<String, Object>> doCreateCredits(
+      final String type, final int seed, final int count, final String[] roles) {
+    final List<Map<String, Object>> result = new ArrayList<>();
+    for (int index = 0; index < count; index++) {
+      final int id = (seed * 31 + index * 7) % 5000 + 1;
+      final Map<String, Object> credit = new LinkedHashMap<>();
+      credit.put("id", id);
+      credit.put("name", String.format("Synthetic %s %d", type, id));
+      credit.put("api_detail_url", this.doCreateDetailUrl(type + "/", id));
+      if (roles != null) credit.put("role", roles[index % roles.length]);
+      result.add(credit);
+    }
+    return result;
+  }
+
+  private Map<String, Object> doCreateImage(final String name) {
+    final Map<String, Object> result = new LinkedHashMap<>();
+    result.put("medium_url", this.baseUrl + "/images/medium/" + name + ".jpg");
+    result.put("original_url", this.baseUrl + "/images/original/" + name + ".jpg");
+    return result;
+  }
+
+  private Map<String, Object> doCreatePage(
+      final List<Integer> ids,
+      final int offset,
+      final int limit,
+      final IntFunction<Map<String, Object>> mapper) {
+    final int from = Math.min(Math.max(offset, 0), ids.size());
+    final int to = Math.min(from + Math.max(limit, 1), ids.size());
+    final List<Map<String, Object>> results = new ArrayList<>();
+    for (int index = from; index < to; index++) results.add(mapper.apply(ids.get(index)));
+
+    final Map<String, Object> result = this.doCreateEnvelope(1, "OK");
+    result.put("limit", limit);
+    result.put("offset", from);
+    result.put("number_of_page_results", results.size());
+    result.put("number_of_total_results", ids.size());
+    result.put("results", results);
+    return result;
+  }
+
+  private Map<String, Object> doCreateResult(final Map<String, Object> entry) {
+    final Map<String, Object> result = this.doCreateEnvelope(1, "OK");
+    result.put("limit", 1);
+    result.put("offset", 0);
+    result.put("number_of_page_results", 1);
+    result.put("number_of_total_results", 1);
+    result.put("results", entry);
+    return result;
+  }
+
+  private Map<String, Object> doCreateNotFound() {
+    final Map<String, Object> result =
+        this.doCreateEnvelope(STATUS_OBJECT_NOT_FOUND, "Object Not Found");
+    result.put("results", new ArrayList<>());
+    return result;
+  }
+
+  private Map<String, Object> doCreateEnvelope(final int statusCode, final String error) {
+    final Map<String, Object> result = new LinkedHashMap<>();
+    result.put("error", error);
+    result.put("status_code", statusCode);
+    result.put("version", "1.0");
+    return result;
+  }
+
+  private String doCreateDetailUrl(final String prefix, final int id) {
+    return this.baseUrl + "/api/" + prefix + id + "/";
+  }
+
+  private String doGetVolumeName(final int volumeId) {
+    return SERIES_PREFIX + volumeId;
+  }
+
+  private int doGetStartYear(final int volumeId) {
+    return 1960 + volumeId % 60;
+  }
+
+  private boolean doIsVolume(final int volumeId) {
+    return volumeId >= 1 && volumeId <= this.volumeCount;
+  }
+
+  private int doGetVolumeId(final int issueId) {
+    return (issueId - 1) / this.issuesPerVolume + 1;
+  }
+
+  private int doGetIssueNumber(final int issueId) {
+    return (issueId - 1) % this.issuesPerVolume + 1;
+  }
+
+  private Map<String, String> doParseFilters(final String filter) {
+    final Map<String, String> result = new HashMap<>();
+    if (Objects.isNull(filter)) return result;
+    for (String entry : filter.split(",")) {
+      final int separator = entry.indexOf(':');
+      if (separator > 0) result.put(entry.substring(0, separator), entry.substring(separator + 1));
+    }
+    return result;
+  }
+
+  private List<Integer> doParseIds(final String ids) {
+    final List<Integer> result = new ArrayList<>();
+    if (Objects.isNull(ids)) return result;
+    for (String id : ids.split("\\|")) result.add(this.doParseId(id));
+    return result;
+  }
+
+  private int doParseId(final String id) {
+    final String value = Objects.requireNonNullElse(id, "");
+    return this.doParseInt(value.substring(value.indexOf('-') + 1), 0);
+  }
+
+  private int doParseInt(final String value, final int defaultValue) {
+    if (Objects.isNull(value)) return defaultValue;
+    try {
+      return Integer.parseInt(value.trim());
+    } catch (NumberFormatException error) {
+      return defaultValue;
+    }
+  }
+}
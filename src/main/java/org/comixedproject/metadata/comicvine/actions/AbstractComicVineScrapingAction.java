@@ -18,22 +18,56 @@
 
 package org.comixedproject.metadata.comicvine.actions;
 
-import java.net.URLEncoder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
-import java.text.MessageFormat;
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.log4j.Log4j2;
+import org.comixedproject.metadata.MetadataException;
 import org.comixedproject.metadata.actions.AbstractScrapingAction;
+import org.comixedproject.metadata.comicvine.client.ComicVineCircuitBreaker;
+import org.comixedproject.metadata.comicvine.client.ComicVineClient;
+import org.comixedproject.metadata.comicvine.client.ComicVineMetrics;
+import org.comixedproject.metadata.comicvine.client.ComicVineQuotaTracker;
+import org.comixedproject.metadata.comicvine.client.ComicVineRateLimiter;
+import org.comixedproject.metadata.comicvine.client.ComicVineResponseCache;
+import org.comixedproject.metadata.comicvine.client.ComicVineResponseParser;
+import org.comixedproject.metadata.comicvine.client.ComicVineRetryPolicy;
+import org.comixedproject.metadata.comicvine.client.ComicVineStatusException;
+import org.comixedproject.metadata.comicvine.events.ComicVineDecodeEvent;
+import org.comixedproject.metadata.comicvine.events.ComicVineRequestEvent;
+import org.comixedproject.metadata.comicvine.model.AbstractComicVineQueryResponse;
+import org.comixedproject.metadata.comicvine.model.ComicVineStatusCode;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.RetryBackoffSpec;
 
 /**
  * <code>AbstractComicVineScrapingAction</code> is the foundation on which ComicVine scrapers are
  * built.
  *
+ * <p>Each call builds its own {@link ComicVineRequest} from the action's settings, so nothing is
+ * left behind between calls. Once configured, an action can be executed again, or by several
+ * threads at once, and sends the same request each time.
+ *
  * @param <T> the action return type
  * @author Darryl L. Pierce
  */
@@ -51,175 +85,668 @@ public abstract class AbstractComicVineScrapingAction<T> extends AbstractScrapin
   /** The page of results to return. */
   protected static final String PAGE_PARAMETER = "page";
 
+  /** The offset of the first result to return. */
+  protected static final String OFFSET_PARAMETER = "offset";
+
+  /** The sort order of the results. */
+  protected static final String SORT_PARAMETER = "sort";
+
+  /** The search endpoint, which is paged by page number rather than by offset. */
+  protected static final String SEARCH_ENDPOINT = "search";
+
   /** The name filter. */
   protected static final String NAME_FILTER = "name";
 
-  /*
-   * {0} is the server hostname (and port)
-   * {1} is the endpoint
-   * {2} the API key
-   * {3} the filters
-   * {4] the search parameters
-   * {5} the field list
-   */
-  private static final String COMICVINE_URL_PATTERN_1 =
-      "{0}/api/{1}/?api_key={2}&format=json{3}{4}{5}";
-  private static final String COMICVINE_URL_PATTERN_2 = "{0}?api_key={1}&format=json{2}{3}{4}";
-  private final Map<String, String> filters = new HashMap<>();
-  private final Map<String, String> parameters = new HashMap<>();
-  private final List<String> fields = new ArrayList<>();
+  /** The id filter. Multiple ids are separated by {@link #ID_SEPARATOR}. */
+  protected static final String ID_FILTER = "id";
+
+  /** The separator between ids in an id filter. */
+  protected static final String ID_SEPARATOR = "|";
+
+  /** The most ids that can be requested with a single id filter. */
+  protected static final int MAX_IDS_PER_REQUEST = 100;
+
+  /** The most pages of a paged query that are requested at the same time. */
+  protected static final int MAX_CONCURRENT_PAGES = 4;
 
   @Getter @Setter protected String baseUrl;
   @Getter @Setter private String apiKey;
-  @Getter @Setter private long delay = 0L;
+  @Getter @Setter private Duration deadline;
+  @Setter private ComicVineClient client;
 
-  private String maskedApiKey;
-
-  protected AbstractComicVineScrapingAction() {
-    this.addParameter(RESULT_LIMIT_PARAMETER, "100");
+  /**
+   * Returns the client used to send requests to ComicVine. If none was provided then one is created
+   * for this action.
+   *
+   * @return the client
+   */
+  public synchronized ComicVineClient getClient() {
+    if (this.client == null) {
+      log.trace("Creating ComicVine client for action");
+      this.client = new ComicVineClient();
+    }
+    return this.client;
   }
 
   /**
-   * Sets the page to be returned in a multi-page response set.
-   *
-   * <p>At ComicVine, pages start with 1.
+   * Shares this action's settings with an action it uses to do part of its work. Only the base
+   * URL, API key and client are shared. What each call asks for is passed to the other
+   * action's methods, so the same action can serve several calls at once.
    *
-   * @param page the page
+   * @param action the other action
+   * @return the other action
+   * @param <A> the other action type
    */
-  public void setPage(Integer page) {
-    this.parameters.remove("page");
-    if (page != null && page > 1) this.parameters.put("page", String.valueOf(page));
+  protected <A extends AbstractComicVineScrapingAction<?>> A doShareSettings(final A action) {
+    action.setBaseUrl(this.baseUrl);
+    action.setApiKey(this.getApiKey());
+    action.setClient(this.getClient());
+    return action;
   }
 
   /**
-   * Adds a new query filter.
+   * Returns the shared, connection-pooled web client.
    *
-   * @param name the filter name
-   * @param value the filter value
+   * @return the web client
    */
-  protected void addFilter(final String name, final String value) {
-    log.debug("Adding request filter: {}={}", name, value);
-    this.filters.put(name, value);
+  protected WebClient getWebClient() {
+    return this.getClient().getWebClient();
   }
 
   /**
-   * Generates the URL to be used.
+   * Returns the rate limiter shared by all actions using this action's client and API key. Its
+   * delay is set when the client is configured, not by the action.
    *
-   * @param baseUrl the url
-   * @return the URL
+   * @return the rate limiter
    */
-  protected String createUrl(final String baseUrl) {
-    return this.createUrl(baseUrl, null);
+  protected ComicVineRateLimiter getRateLimiter() {
+    return this.getClient().getRateLimiter(this.apiKey);
   }
 
   /**
-   * Generates the URL to be used.
+   * Returns where this action's request measurements are recorded.
    *
-   * @param baseUrl the url
-   * @param endpoint the endpoint
-   * @return the URL
+   * @return the metrics
    */
-  protected String createUrl(final String baseUrl, final String endpoint) {
-    String filterText = this.generateFilters();
-    String parameterText = this.generateParameters();
-    String fieldListText = this.generateFilterList();
-
-    log.debug("Generating the URL: endpoint={}", endpoint);
-    if (endpoint != null) {
-      return MessageFormat.format(
-          COMICVINE_URL_PATTERN_1,
-          baseUrl,
-          endpoint,
-          this.apiKey,
-          filterText,
-          parameterText,
-          fieldListText);
-    } else {
-      return MessageFormat.format(
-          COMICVINE_URL_PATTERN_2, baseUrl, this.apiKey, filterText, parameterText, fieldListText);
-    }
+  protected ComicVineMetrics getMetrics() {
+    return this.getClient().getMetrics();
   }
 
-  private String generateFilterList() {
-    String result = "";
+  /**
+   * Records a record found in one of the client's caches, so no request was sent.
+   *
+   * @param resource the resource
+   */
+  protected void doRecordCacheHit(final String resource) {
+    this.getMetrics().recordCacheHit(this.getClass().getSimpleName(), resource);
+  }
 
-    if (!this.fields.isEmpty()) {
-      log.debug("Processing field list");
-      StringBuilder builder = new StringBuilder("&field_list=");
-      for (int index = 0; index < this.fields.size(); index++) {
-        if (index > 0) builder.append(",");
-        final String fieldName = this.fields.get(index);
-        log.debug("Adding result field: {}", fieldName);
-        builder.append(fieldName);
-      }
-      result = builder.toString();
-    }
+  /**
+   * Runs the action without blocking the calling thread. Actions that do not compose their requests
+   * reactively run {@link #execute()} on the client's scheduler for blocking work. A deadline can
+   * only cancel the subscriber of such an action, and not the thread it blocks, so every action in
+   * this package overrides this method and composes its requests reactively.
+   *
+   * @return the result
+   * @see ComicVineClient#getScheduler()
+   */
+  public Mono<T> executeAsync() {
+    return this.doWithinDeadline(
+        Mono.fromCallable(this::execute).subscribeOn(this.getClient().getScheduler()));
+  }
 
-    return result;
+  /**
+   * Fails the given request with a {@link MetadataException} if it has not finished before the
+   * deadline. Any requests still in flight are cancelled. Without a deadline the request is
+   * returned as is.
+   *
+   * @param request the request
+   * @return the request, limited to the deadline
+   * @param <R> the result type
+   */
+  protected <R> Mono<R> doWithinDeadline(final Mono<R> request) {
+    if (this.deadline == null) return request;
+    final Duration limit = this.deadline;
+    return request.timeout(
+        limit,
+        Mono.error(
+            () ->
+                new MetadataException(
+                    "ComicVine request did not finish within " + limit.toMillis() + "ms")));
   }
 
-  private String generateParameters() {
-    String result = "";
+  /**
+   * Ends the given stream when the deadline is reached, keeping the elements already emitted and
+   * cancelling any requests still in flight. Without a deadline the stream is returned as is.
+   *
+   * @param request the stream
+   * @return the stream, limited to the deadline
+   * @param <R> the element type
+   */
+  protected <R> Flux<R> doWithinDeadline(final Flux<R> request) {
+    if (this.deadline == null) return request;
+    final Duration limit = this.deadline;
+    return request
+        .take(limit)
+        .doOnComplete(() -> log.trace("Stream ended within deadline: {}ms", limit.toMillis()));
+  }
 
-    if (!this.parameters.isEmpty()) {
-      log.debug("Processing parameters");
-      StringBuilder builder = new StringBuilder();
-      for (Map.Entry<String, String> entry : this.parameters.entrySet()) {
-        log.debug("Adding parameter: {}={}", entry.getKey(), encode(entry.getValue()));
-        builder.append("&").append(entry.getKey()).append("=").append(encode(entry.getValue()));
+  /**
+   * Waits for the given request to finish and returns its result.
+   *
+   * @param request the request
+   * @return the result, or null if the request completed without one
+   * @param <R> the result type
+   * @throws MetadataException if the request fails
+   */
+  protected <R> R doBlock(final Mono<R> request) throws MetadataException {
+    final R result;
+    try {
+      result = request.block();
+    } catch (RuntimeException error) {
+      final Throwable cause = Exceptions.unwrap(error);
+      if (cause instanceof MetadataException metadataException) throw metadataException;
+      if (cause instanceof InterruptedException) {
+        Thread.currentThread().interrupt();
+        throw new MetadataException("ComicVine request interrupted", cause);
       }
-      result = builder.toString();
+      throw new MetadataException("Failed to get response", cause);
     }
-
     return result;
   }
 
-  private String generateFilters() {
-    String result = "";
+  /**
+   * Sends a request to ComicVine and returns the decoded response.
+   *
+   * @param url the request URL
+   * @param responseType the response type
+   * @return the response
+   * @param <R> the response type
+   * @throws MetadataException if an error occurs
+   * @see #doGetResponseAsync(String, Class)
+   */
+  protected <R> R doGetResponse(final String url, final Class<R> responseType)
+      throws MetadataException {
+    return this.doBlock(this.doGetResponseAsync(url, responseType));
+  }
 
-    if (!this.filters.isEmpty()) {
-      log.debug("Processing filters");
-      StringBuilder builder = new StringBuilder("&filter=");
-      int filterCount = 0;
-      for (Map.Entry<String, String> entry : this.filters.entrySet()) {
-        if (filterCount++ > 0) builder.append(",");
-        log.debug("Adding filter: {}:{}", entry.getKey(), entry.getValue());
-        builder.append(entry.getKey() + ":" + encode(entry.getValue()));
-      }
-      result = builder.toString();
-    }
+  /**
+   * Sends a request to ComicVine without blocking and emits the decoded response. A response cached
+   * on disk is used when available. Otherwise the request first waits for the hourly quota of the
+   * resource being requested, and then for the shared rate limiter. Neither wait holds a thread.
+   * Identical requests made while one is already in flight share its response. A request that fails
+   * for a passing reason, such as a server error or a dropped connection, is sent again after a
+   * backoff, waiting for the quota and rate limiter each time.
+   *
+   * <p>While ComicVine keeps failing or answering too slowly, the {@link ComicVineCircuitBreaker}
+   * opens and requests that are not cached fail at once with a {@link MetadataException}. A request
+   * rejected this way gives back the quota it reserved.
+   *
+   * <p>Each request is measured through the client's {@link ComicVineMetrics}: its time, the size
+   * of its response and the time spent decoding it, any retries, cache hits and the time spent
+   * waiting for the quota and rate limiter. Each exchange and each decoded response is also
+   * recorded as a Flight Recorder event.
+   *
+   * <p>A response whose status code is not OK fails with a {@link ComicVineStatusException}. When
+   * the status reports that the rate limit was exceeded, the shared rate limiter is paused before
+   * the request is retried, so no other request is sent while ComicVine is throttling this key.
+   *
+   * @param url the request URL
+   * @param responseType the response type
+   * @return the response
+   * @param <R> the response type
+   */
+  protected <R> Mono<R> doGetResponseAsync(final String url, final Class<R> responseType) {
+    return this.doShareRequest(url, responseType, () -> this.doSendRequest(url, responseType));
+  }
 
-    return result;
+  /**
+   * Shares the given request with any identical request already in flight. Requests are the same
+   * when they have the same URL, ignoring the API key, and the same result type.
+   *
+   * @param url the request URL
+   * @param resultType the result type
+   * @param request creates the request when none is in flight
+   * @return the result
+   * @param <R> the result type
+   */
+  protected <R> Mono<R> doShareRequest(
+      final String url, final Class<?> resultType, final Supplier<Mono<R>> request) {
+    final String key = resultType.getName() + ":" + ComicVineResponseCache.getKey(url);
+    return this.getClient().getSingleFlight().execute(key, request);
   }
 
   /**
-   * Returns a URL encoded value.
+   * Sends a request to ComicVine and decodes the response as it arrives. Each element of the array
+   * found at the given path is handed to the consumer as soon as it is read, and the rest of the
+   * response is emitted once the response ends. Neither the body nor the array is held in memory.
+   * A response cached on disk is read the same way, and a response received from ComicVine is
+   * written to the cache as it arrives. A failed request is only retried if none of its body was
+   * received, so no element is handed to the consumer twice.
    *
-   * @param value the input
-   * @return the encoded value
+   * @param url the request URL
+   * @param responseType the response type
+   * @param path the names of the fields leading to the array
+   * @param elementType the element type
+   * @param consumer receives each element
+   * @return the response, without the array
+   * @param <E> the element type
+   * @param <R> the response type
    */
-  private String encode(final String value) {
-    return URLEncoder.encode(value, StandardCharsets.UTF_8);
+  protected <E, R> Mono<R> doStreamResponseAsync(
+      final String url,
+      final Class<R> responseType,
+      final List<String> path,
+      final Class<E> elementType,
+      final Consumer<E> consumer) {
+    return Mono.defer(
+            () -> {
+              final InputStream cached = this.getClient().getResponseCache().open(url);
+              if (cached != null) {
+                log.debug("Using cached response");
+                this.doRecordCacheHit(ComicVineQuotaTracker.getResource(url));
+                return Mono.fromCallable(
+                        () -> {
+                          try (cached) {
+                            final ComicVineResponseParser<E, R> parser =
+                                this.doCreateParser(path, elementType, consumer, responseType);
+                            parser.feed(cached);
+                            return parser.finish();
+                          }
+                        })
+                    .subscribeOn(this.getClient().getScheduler());
+              }
+
+              final AtomicBoolean consumed = new AtomicBoolean(false);
+              return Mono.defer(
+                      () ->
+                          this.doStreamRequest(
+                              url,
+                              responseType,
+                              path,
+                              elementType,
+                              element -> {
+                                consumed.set(true);
+                                consumer.accept(element);
+                              }))
+                  .doOnError(this::doPauseIfRateLimited)
+                  .retryWhen(
+                      this.doCreateRetry(url)
+                          .modifyErrorFilter(filter -> filter.and(error -> !consumed.get())));
+            })
+        .onErrorMap(
+            IOException.class, error -> new MetadataException("Failed to decode response", error))
+        .onErrorMap(
+            error -> !(error instanceof MetadataException),
+            error -> new MetadataException("Failed to get response", error));
+  }
+
+  private <E, R> Mono<R> doStreamRequest(
+      final String url,
+      final Class<R> responseType,
+      final List<String> path,
+      final Class<E> elementType,
+      final Consumer<E> consumer) {
+    final ComicVineResponseParser<E, R> parser;
+    try {
+      parser = this.doCreateParser(path, elementType, consumer, responseType);
+    } catch (IOException error) {
+      return Mono.error(new MetadataException("Failed to decode response", error));
+    }
+
+    final ComicVineResponseCache.Writer writer = this.getClient().getResponseCache().begin(url);
+    final AtomicLong size = new AtomicLong(0L);
+    final AtomicLong decoding = new AtomicLong(0L);
+    return this.doCallComicVine(
+            url,
+            () -> this.getWebClient().get().uri(url).retrieve().bodyToFlux(DataBuffer.class),
+            DataBuffer::readableByteCount)
+        .publishOn(this.getClient().getScheduler())
+        .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+        .<Void>handle(
+            (buffer, sink) -> {
+              try {
+                final byte[] content = new byte[buffer.readableByteCount()];
+                buffer.read(content);
+                writer.write(content, 0, content.length);
+                size.addAndGet(content.length);
+                final long started = System.nanoTime();
+                parser.feed(content, 0, content.length);
+                decoding.addAndGet(System.nanoTime() - started);
+              } catch (IOException error) {
+                sink.error(new MetadataException("Failed to decode response", error));
+              } finally {
+                DataBufferUtils.release(buffer);
+              }
+            })
+        .then(
+            Mono.fromCallable(
+                () -> {
+                  final long started = System.nanoTime();
+                  try {
+                    return parser.finish();
+                  } catch (IOException error) {
+                    throw new MetadataException("Failed to decode response", error);
+                  } finally {
+                    decoding.addAndGet(System.nanoTime() - started);
+                    this.doRecordResponse(
+                        url, size.get(), decoding.get(), new ComicVineDecodeEvent(), true);
+                  }
+                }))
+        .<R>handle(
+            (response, sink) -> {
+              try {
+                this.doValidateResponse(response);
+                writer.commit();
+                sink.next(response);
+              } catch (MetadataException error) {
+                sink.error(error);
+              }
+            })
+        .doOnError(error -> writer.abort())
+        .doOnCancel(writer::abort);
+  }
+
+  private <E, R> ComicVineResponseParser<E, R> doCreateParser(
+      final List<String> path,
+      final Class<E> elementType,
+      final Consumer<E> consumer,
+      final Class<R> responseType)
+      throws IOException {
+    final ObjectMapper objectMapper = this.getClient().getObjectMapper();
+    return new ComicVineResponseParser<>(objectMapper, path, elementType, consumer, responseType);
+  }
+
+  private <R> Mono<R> doSendRequest(final String url, final Class<R> responseType) {
+    return Mono.defer(
+        () -> {
+          final ComicVineResponseCache responseCache = this.getClient().getResponseCache();
+          final String cached = responseCache.get(url);
+          if (cached != null) {
+            log.debug("Using cached response");
+            this.doRecordCacheHit(ComicVineQuotaTracker.getResource(url));
+            return Mono.fromCallable(() -> this.doDecodeResponse(cached, responseType));
+          }
+
+          return this.doCallComicVine(
+                  url,
+                  () ->
+                      this.getWebClient().get().uri(url).retrieve().bodyToMono(String.class).flux(),
+                  body -> body.getBytes(StandardCharsets.UTF_8).length)
+              .singleOrEmpty()
+              .switchIfEmpty(Mono.error(() -> new MetadataException("No response received")))
+              .publishOn(this.getClient().getScheduler())
+              .<R>handle(
+                  (body, sink) -> {
+                    try {
+                      final ComicVineDecodeEvent event = new ComicVineDecodeEvent();
+                      event.begin();
+                      final long started = System.nanoTime();
+                      final R response = this.doDecodeResponse(body, responseType);
+                      final long decoding = System.nanoTime() - started;
+                      event.end();
+                      this.doRecordResponse(url, body, decoding, event);
+                      this.doValidateResponse(response);
+                      responseCache.put(url, body);
+                      sink.next(response);
+                    } catch (MetadataException error) {
+                      sink.error(error);
+                    }
+                  })
+              .doOnError(this::doPauseIfRateLimited)
+              .retryWhen(this.doCreateRetry(url))
+              .onErrorMap(
+                  error -> !(error instanceof MetadataException),
+                  error -> new MetadataException("Failed to get response", error));
+        });
   }
 
   /**
-   * Adds a new field to be included in the result.
+   * Sends a paged query to ComicVine and emits each page in order. The first page is requested on
+   * its own to learn the total number of results. The remaining pages needed are then requested
+   * together, up to {@link #MAX_CONCURRENT_PAGES} at a time, each still waiting for the rate
+   * limiter. Searches are paged by page number and every other endpoint by offset.
    *
-   * @param name the field
+   * @param request the request
+   * @param responseType the response type
+   * @param maxRecords the most records wanted, or 0 for all records
+   * @return the pages
+   * @param <R> the response type
    */
-  protected void addField(final String name) {
-    log.debug("Adding result field: {}", name);
-    this.fields.add(name);
+  protected <R extends AbstractComicVineQueryResponse> Flux<R> doGetPages(
+      final ComicVineRequest request, final Class<R> responseType, final int maxRecords) {
+    return Mono.defer(
+            () ->
+                this.doGetResponseAsync(
+                    this.createUrl(this.baseUrl, request.withPage(1)), responseType))
+        .flatMapMany(
+            first ->
+                Flux.concat(
+                    Mono.just(first),
+                    Flux.fromIterable(this.doCreatePageUrls(request, first, maxRecords))
+                        .flatMapSequential(
+                            url -> this.doGetResponseAsync(url, responseType),
+                            MAX_CONCURRENT_PAGES)));
+  }
+
+  private List<String> doCreatePageUrls(
+      final ComicVineRequest request,
+      final AbstractComicVineQueryResponse first,
+      final int maxRecords) {
+    final List<String> result = new ArrayList<>();
+    final Integer limit = first.getLimit();
+    final Integer totalRecords = first.getNumberOfTotalResults();
+    if (limit == null || limit < 1 || totalRecords == null) return result;
+
+    final int wanted = maxRecords > 0 ? Math.min(maxRecords, totalRecords) : totalRecords;
+    final int pages = (wanted + limit - 1) / limit;
+    log.debug("Requesting remaining pages: total records={} pages={}", totalRecords, pages);
+    final boolean search = SEARCH_ENDPOINT.equals(request.endpoint());
+    for (int page = 2; page <= pages; page++) {
+      final ComicVineRequest pageRequest =
+          search
+              ? request.withPage(page)
+              : request.withParameter(OFFSET_PARAMETER, String.valueOf((page - 1) * limit));
+      result.add(this.createUrl(this.baseUrl, pageRequest));
+    }
+    return result;
+  }
+
+  private <R> Flux<R> doCallComicVine(
+      final String url, final Supplier<Flux<R>> request, final ToLongFunction<R> sizer) {
+    final ComicVineCircuitBreaker breaker = this.getClient().getCircuitBreaker();
+    return Mono.defer(
+            () -> breaker.isCallPermitted() ? this.doAwaitTurn(url) : this.<Turn>doRejectCall())
+        .flatMapMany(
+            turn ->
+                Flux.defer(
+                    () -> {
+                      if (!breaker.tryAcquire()) {
+                        this.getClient().getQuotaTracker().release(turn.reservation());
+                        return this.<R>doRejectCall().flux();
+                      }
+
+                      final ComicVineRequestEvent event = new ComicVineRequestEvent();
+                      final AtomicLong size = new AtomicLong(0L);
+                      event.begin();
+                      final long started = System.nanoTime();
+                      return request
+                          .get()
+                          .doOnNext(
+                              element -> {
+                                if (event.isEnabled()) size.addAndGet(sizer.applyAsLong(element));
+                              })
+                          .doOnComplete(
+                              () -> {
+                                final long elapsed = System.nanoTime() - started;
+                                breaker.onSuccess(elapsed);
+                                this.doRecordRequest(url, elapsed, true);
+                                this.doCommitRequestEvent(
+                                    event, url, size.get(), turn.waitNanos(), true);
+                              })
+                          .doOnError(
+                              error -> {
+                                final long elapsed = System.nanoTime() - started;
+                                breaker.onError(error, elapsed);
+                                this.doRecordRequest(url, elapsed, false);
+                                this.doCommitRequestEvent(
+                                    event, url, size.get(), turn.waitNanos(), false);
+                              })
+                          .doOnCancel(breaker::release);
+                    }));
+  }
+
+  private void doCommitRequestEvent(
+      final ComicVineRequestEvent event,
+      final String url,
+      final long bytes,
+      final long wait,
+      final boolean success) {
+    event.end();
+    if (!event.shouldCommit()) return;
+    final MultiValueMap<String, String> query =
+        UriComponentsBuilder.fromUriString(url).build().getQueryParams();
+    event.setAction(this.getClass().getSimpleName());
+    event.setResource(ComicVineQuotaTracker.getResource(url));
+    event.setPage(this.doParseQueryValue(query.getFirst(PAGE_PARAMETER)));
+    event.setOffset(this.doParseQueryValue(query.getFirst(OFFSET_PARAMETER)));
+    event.setBytes(bytes);
+    event.setLimiterWait(wait);
+    event.setSuccess(success);
+    event.commit();
+  }
+
+  private int doParseQueryValue(final String value) {
+    try {
+      return value != null ? Integer.parseInt(value) : 0;
+    } catch (NumberFormatException error) {
+      return 0;
+    }
+  }
+
+  private <R> Mono<R> doRejectCall() {
+    log.debug("ComicVine circuit breaker is open, rejecting request");
+    return Mono.error(new MetadataException("ComicVine is unavailable: circuit breaker is open"));
+  }
+
+  private Mono<Turn> doAwaitTurn(final String url) {
+    return Mono.defer(
+        () -> {
+          final String resource = ComicVineQuotaTracker.getResource(url);
+          final ComicVineQuotaTracker.Reservation reservation =
+              this.getClient().getQuotaTracker().reserve(this.apiKey, resource);
+          if (reservation == null) {
+            return Mono.error(
+                new MetadataException("ComicVine hourly request limit reached: " + resource));
+          }
+          final long quotaWait = reservation.waitTime();
+          if (quotaWait > 0L) log.debug("Waiting for {} quota: {}ms", resource, quotaWait);
+
+          final String action = this.getClass().getSimpleName();
+          final long quotaNanos = TimeUnit.MILLISECONDS.toNanos(quotaWait);
+          this.getMetrics().recordWait(action, resource, "quota", quotaNanos);
+          return this.doWait(quotaNanos)
+              .then(
+                  Mono.defer(
+                      () -> {
+                        final long rateNanos = this.getRateLimiter().reserve();
+                        this.getMetrics().recordWait(action, resource, "rate", rateNanos);
+                        return this.doWait(rateNanos)
+                            .thenReturn(new Turn(reservation, quotaNanos + rateNanos));
+                      }));
+        });
+  }
+
+  private Mono<Void> doWait(final long nanos) {
+    if (nanos <= 0L) return Mono.empty();
+    log.trace("Waiting before sending request: {}ms", TimeUnit.NANOSECONDS.toMillis(nanos));
+    return Mono.delay(Duration.ofNanos(nanos)).then();
+  }
+
+  private RetryBackoffSpec doCreateRetry(final String url) {
+    return this.getClient()
+        .getRetryPolicy()
+        .getRetry(url)
+        .doBeforeRetry(
+            signal ->
+                this.getMetrics()
+                    .recordRetry(
+                        this.getClass().getSimpleName(), ComicVineQuotaTracker.getResource(url)));
+  }
+
+  private void doRecordRequest(final String url, final long nanos, final boolean success) {
+    this.getMetrics()
+        .recordRequest(
+            this.getClass().getSimpleName(),
+            ComicVineQuotaTracker.getResource(url),
+            nanos,
+            success);
+  }
+
+  private void doRecordResponse(
+      final String url, final String body, final long decoding, final ComicVineDecodeEvent event) {
+    if (!this.getMetrics().isEnabled() && !event.shouldCommit()) return;
+    this.doRecordResponse(
+        url, body.getBytes(StandardCharsets.UTF_8).length, decoding, event, false);
+  }
+
+  private void doRecordResponse(
+      final String url,
+      final long size,
+      final long decoding,
+      final ComicVineDecodeEvent event,
+      final boolean streamed) {
+    final String action = this.getClass().getSimpleName();
+    final String resource = ComicVineQuotaTracker.getResource(url);
+    this.getMetrics().recordResponseSize(action, resource, size);
+    this.getMetrics().recordDecode(action, resource, decoding);
+    if (event.shouldCommit()) {
+      event.setAction(action);
+      event.setResource(resource);
+      event.setBytes(size);
+      event.setDecodeTime(decoding);
+      event.setStreamed(streamed);
+      event.commit();
+    }
+  }
+
+  private void doValidateResponse(final Object response) throws ComicVineStatusException {
+    if (!(response instanceof AbstractComicVineQueryResponse queryResponse)) return;
+
+    final ComicVineStatusCode status = queryResponse.getStatus();
+    if (status == ComicVineStatusCode.OK) return;
+
+    log.debug("ComicVine returned an error: status={} error={}", status, queryResponse.getError());
+    throw new ComicVineStatusException(status, queryResponse.getError());
+  }
+
+  private void doPauseIfRateLimited(final Throwable error) {
+    if (!ComicVineRetryPolicy.isRateLimited(error)) return;
+
+    final Duration pause = this.getClient().getRetryPolicy().getRateLimitPause(error);
+    log.warn("ComicVine rate limit exceeded, pausing requests: {}s", pause.toSeconds());
+    this.getRateLimiter().pause(pause.toNanos());
+  }
+
+  private <R> R doDecodeResponse(final String body, final Class<R> responseType)
+      throws MetadataException {
+    try {
+      return this.getClient().getObjectMapper().readValue(body, responseType);
+    } catch (JsonProcessingException error) {
+      throw new MetadataException("Failed to decode response", error);
+    }
   }
 
   /**
-   * Adds a new parameter.
+   * Generates the URL for the given request, using this action's API key.
    *
-   * @param name the parameter name
-   * @param value the parameter value
+   * @param baseUrl the server URL, or the API detail URL if the request has no endpoint
+   * @param request the request
+   * @return the URL
    */
-  protected void addParameter(final String name, final String value) {
-    this.parameters.put(name, value);
+  protected String createUrl(final String baseUrl, final ComicVineRequest request) {
+    log.debug("Generating the URL: endpoint={}", request.endpoint());
+    return request.toUrl(baseUrl, this.apiKey);
   }
 
   /**
@@ -228,16 +755,16 @@ public abstract class AbstractComicVineScrapingAction<T> extends AbstractScrapin
    * @return the masked key
    */
   protected String getMaskedApiKey() {
-    if (this.maskedApiKey == null) {
-      final StringBuilder builder = new StringBuilder();
-      int length = this.apiKey.length() - 4;
-      if (length < 1) length = this.apiKey.length() / 2;
-      for (int index = 0; index < length; index++) {
-        builder.append("*");
-      }
-      if (length < this.apiKey.length()) builder.append(this.apiKey.substring(length));
-      this.maskedApiKey = builder.toString();
+    final StringBuilder builder = new StringBuilder();
+    int length = this.apiKey.length() - 4;
+    if (length < 1) length = this.apiKey.length() / 2;
+    for (int index = 0; index < length; index++) {
+      builder.append("*");
     }
-    return this.maskedApiKey;
+    if (length < this.apiKey.length()) builder.append(this.apiKey.substring(length));
+    return builder.toString();
   }
+
+  /** A request's quota reservation and the time it waited for its turn, in nanoseconds. */
+  private record Turn(ComicVineQuotaTracker.Reservation reservation, long waitNanos) {}
 }
@@ -0,0 +1,200 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.actions;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.log4j.Log4j2;
+import org.comixedproject.metadata.MetadataException;
+import org.comixedproject.metadata.comicvine.model.ComicVineBulkScrapeResult;
+import org.comixedproject.metadata.comicvine.model.ComicVineIssue;
+import org.comixedproject.metadata.comicvine.model.ComicVineIssueReference;
+import org.comixedproject.metadata.model.IssueDetailsMetadata;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * <code>ComicVineBulkScrapeAction</code> scrapes the details for many issues at once.
+ *
+ * <p>Issues requested by number are grouped by volume, and each volume's issue index is loaded once
+ * to find their ids. The details for every issue are then fetched a hundred issues at a time, along
+ * with their volumes, so a run of issues costs a request per hundred issues rather than several
+ * requests per issue. Every request still waits for the shared rate limiter.
+ *
+ * <p>An issue that cannot be scraped is reported with the reason, without failing the others. When
+ * a request for a hundred issues fails, only the issues in that request are reported. As with
+ * {@link ComicVineGetIssueDetailsBatchAction}, credits, characters, teams, locations and story arcs
+ * are not populated.
+ *
+ * @author Darryl L. Pierce
+ */
+@Log4j2
+public class ComicVineBulkScrapeAction
+    extends AbstractComicVineScrapingAction<ComicVineBulkScrapeResult> {
+  @Getter @Setter private Collection<ComicVineIssueReference> issues = new ArrayList<>();
+
+  /** The action to fetch each volume's issue index. */
+  ComicVineGetIssueIndexAction getIssueIndexAction = new ComicVineGetIssueIndexAction();
+
+  /** The action to fetch the issue details. */
+  ComicVineGetIssueDetailsBatchAction getIssueDetailsBatchAction =
+      new ComicVineGetIssueDetailsBatchAction();
+
+  @Override
+  public ComicVineBulkScrapeResult execute() throws MetadataException {
+    return this.doBlock(this.executeAsync());
+  }
+
+  @Override
+  public Mono<ComicVineBulkScrapeResult> executeAsync() {
+    if (!StringUtils.hasLength(this.baseUrl))
+      return Mono.error(new MetadataException("Missing base URL"));
+    if (!StringUtils.hasLength(this.getApiKey()))
+      return Mono.error(new MetadataException("Missing API key"));
+    if (this.issues == null) return Mono.error(new MetadataException("Missing issues"));
+
+    final List<ComicVineIssueReference> issues = new ArrayList<>(this.issues);
+    return this.doWithinDeadline(Mono.defer(() -> this.doScrapeIssues(issues)));
+  }
+
+  private Mono<ComicVineBulkScrapeResult> doScrapeIssues(
+      final List<ComicVineIssueReference> issues) {
+    final ComicVineBulkScrapeResult result = new ComicVineBulkScrapeResult();
+    final Map<String, List<ComicVineIssueReference>> byIssueId = new LinkedHashMap<>();
+    final Map<String, List<ComicVineIssueReference>> byVolumeId = new LinkedHashMap<>();
+    for (ComicVineIssueReference issue : issues) {
+      if (StringUtils.hasLength(issue.issueId())) {
+        byIssueId.computeIfAbsent(issue.issueId(), key -> new ArrayList<>()).add(issue);
+      } else if (StringUtils.hasLength(issue.volumeId())) {
+        byVolumeId.computeIfAbsent(issue.volumeId(), key -> new ArrayList<>()).add(issue);
+      } else {
+        result.getFailures().put(issue, "Missing volume id and issue id");
+      }
+    }
+    log.debug(
+        "Scraping issues in bulk: issue ids={} volumes={}", byIssueId.size(), byVolumeId.size());
+
+    return Flux.fromIterable(byVolumeId.entrySet())
+        .flatMap(
+            entry -> this.doResolveIssueNumbers(entry.getKey(), entry.getValue()),
+            MAX_CONCURRENT_PAGES)
+        .collectList()
+        .flatMap(
+            resolutions -> {
+              for (Resolution resolution : resolutions) {
+                if (resolution.failure() != null) {
+                  result.getFailures().put(resolution.issue(), resolution.failure());
+                } else {
+                  byIssueId
+                      .computeIfAbsent(resolution.issueId(), key -> new ArrayList<>())
+                      .add(resolution.issue());
+                }
+              }
+              return this.doGetIssueDetails(byIssueId, result);
+            });
+  }
+
+  private Flux<Resolution> doResolveIssueNumbers(
+      final String volumeId, final List<ComicVineIssueReference> issues) {
+    log.debug("Fetching the issue index: volume id={}", volumeId);
+    return this.doShareSettings(this.getIssueIndexAction)
+        .executeAsync(volumeId)
+        .flatMapIterable(
+            index -> {
+              final Map<String, String> issueIds = new HashMap<>();
+              for (ComicVineIssue entry : index) {
+                issueIds.putIfAbsent(
+                    ComicVineGetIssueAction.normalizeIssueNumber(entry.getIssueNumber()),
+                    entry.getId());
+              }
+              return issues.stream()
+                  .map(
+                      issue -> {
+                        final String issueId =
+                            issueIds.get(
+                                ComicVineGetIssueAction.normalizeIssueNumber(issue.issueNumber()));
+                        return issueId != null
+                            ? new Resolution(issue, issueId, null)
+                            : new Resolution(issue, null, "Issue not found in volume");
+                      })
+                  .toList();
+            })
+        .onErrorResume(
+            error -> {
+              log.debug("Failed to load issue index: volume id={}", volumeId, error);
+              return Flux.fromIterable(issues)
+                  .map(
+                      issue ->
+                          new Resolution(
+                              issue, null, "Failed to load volume issues: " + error.getMessage()));
+            });
+  }
+
+  private Mono<ComicVineBulkScrapeResult> doGetIssueDetails(
+      final Map<String, List<ComicVineIssueReference>> byIssueId,
+      final ComicVineBulkScrapeResult result) {
+    final List<String> issueIds = new ArrayList<>(byIssueId.keySet());
+    final List<List<String>> batches = new ArrayList<>();
+    for (int start = 0; start < issueIds.size(); start += MAX_IDS_PER_REQUEST)
+      batches.add(issueIds.subList(start, Math.min(start + MAX_IDS_PER_REQUEST, issueIds.size())));
+
+    return Flux.fromIterable(batches)
+        .concatMap(batch -> this.doGetIssueDetailsBatch(batch, byIssueId, result))
+        .then(Mono.just(result));
+  }
+
+  private Mono<Void> doGetIssueDetailsBatch(
+      final List<String> issueIds,
+      final Map<String, List<ComicVineIssueReference>> byIssueId,
+      final ComicVineBulkScrapeResult result) {
+    log.debug("Fetching the issue details: count={}", issueIds.size());
+    return this.doShareSettings(this.getIssueDetailsBatchAction)
+        .executeAsync(issueIds)
+        .doOnNext(
+            details -> {
+              final Map<String, IssueDetailsMetadata> bySourceId = new HashMap<>();
+              details.forEach(entry -> bySourceId.put(entry.getSourceId(), entry));
+              for (String issueId : issueIds) {
+                final IssueDetailsMetadata entry = bySourceId.get(issueId);
+                for (ComicVineIssueReference issue : byIssueId.get(issueId)) {
+                  if (entry != null) result.getResults().put(issue, entry);
+                  else result.getFailures().put(issue, "No details returned for issue");
+                }
+              }
+            })
+        .onErrorResume(
+            error -> {
+              log.debug("Failed to load issue details: count={}", issueIds.size(), error);
+              final String failure = "Failed to load issue details: " + error.getMessage();
+              for (String issueId : issueIds)
+                byIssueId.get(issueId).forEach(issue -> result.getFailures().put(issue, failure));
+              return Mono.empty();
+            })
+        .then();
+  }
+
+  private record Resolution(ComicVineIssueReference issue, String issueId, String failure) {}
+}
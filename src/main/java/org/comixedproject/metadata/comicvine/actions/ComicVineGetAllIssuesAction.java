@@ -26,102 +26,167 @@ import lombok.extern.log4j.Log4j2;
 import org.comixedproject.metadata.MetadataException;
 import org.comixedproject.metadata.comicvine.model.ComicVineGetAllIssuesQueryResponse;
 import org.comixedproject.metadata.comicvine.model.ComicVineIssue;
+import org.comixedproject.metadata.comicvine.model.ComicVineIssuesQueryResponse;
+import org.comixedproject.metadata.comicvine.model.ComicVinePublisher;
+import org.comixedproject.metadata.comicvine.model.ComicVineVolume;
 import org.comixedproject.metadata.model.IssueDetailsMetadata;
 import org.springframework.util.StringUtils;
-import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
 /**
  * <code>ComicVineGetAllIssuesAction</code> retrieves the metadata for all comics for a given
  * volume.
  *
+ * <p>Volumes can have well over a thousand issues, so the response is decoded as it arrives and
+ * each issue is turned into metadata as soon as it is read. Callers asking for the same volume at
+ * the same time share that metadata, and each caller is given its own copy of it.
+ *
+ * <p>The issues embedded in a volume lack reliable cover and store dates. When listing issues, they
+ * are instead read from the issues endpoint filtered by volume, a hundred at a time, while the
+ * volume's name, start year and publisher are loaded alongside them.
+ *
  * @author Darryl L. Pierce
  */
 @Log4j2
 public class ComicVineGetAllIssuesAction
     extends AbstractComicVineScrapingAction<List<IssueDetailsMetadata>> {
-  private ComicVineGetIssueWithDetailsAction getIssueWithDetailsAction =
-      new ComicVineGetIssueWithDetailsAction();
+  private static final List<String> ISSUES_PATH = List.of("results", "issues");
+  private static final String ISSUES_ENDPOINT = "issues";
+  private static final ComicVineRequest VOLUME_REQUEST =
+      ComicVineRequest.create().withFields("issues", "publisher", "name", "start_year");
+  private static final ComicVineRequest ISSUES_REQUEST =
+      ComicVineRequest.forEndpoint(ISSUES_ENDPOINT)
+          .withFields("id", "issue_number", "name", "cover_date", "store_date")
+          .withParameter(SORT_PARAMETER, "id:asc");
 
   @Getter @Setter private String volumeId;
 
+  /** When set, issues are listed with the issues endpoint rather than read from the volume. */
+  @Getter @Setter private boolean listIssues = false;
+
+  /** The action to fetch the volume details when listing issues. */
+  protected ComicVineGetVolumeDetailsAction getVolumeDetailsAction =
+      new ComicVineGetVolumeDetailsAction();
+
   @Override
   public List<IssueDetailsMetadata> execute() throws MetadataException {
-    if (!StringUtils.hasLength(this.getApiKey())) throw new MetadataException("Missing API key");
-    if (this.volumeId == null) throw new MetadataException("Missing volume id");
-
-    this.addField("issues");
-    this.addField("publisher");
-    this.addField("name");
-    this.addField("start_year");
-
-    List<IssueDetailsMetadata> result = new ArrayList<>();
-    boolean done = false;
-    while (!done) {
-      log.debug(
-          "Creating url for: API key=****{} volume id={}", this.getMaskedApiKey(), this.volumeId);
-      final String url =
-          this.createUrl(this.baseUrl, String.format("volume/4050-%s", this.volumeId));
-      final WebClient client = this.createWebClient(url);
-      final Mono<ComicVineGetAllIssuesQueryResponse> request =
-          client.get().uri(url).retrieve().bodyToMono(ComicVineGetAllIssuesQueryResponse.class);
-
-      ComicVineGetAllIssuesQueryResponse response = null;
-
-      try {
-        response = request.block();
-      } catch (Exception error) {
-        throw new MetadataException("Failed to get response", error);
-      }
-
-      if (response == null) throw new MetadataException("No response received");
-
-      log.debug(
-          "Received: {} issue{}",
-          response.getResults().getIssues().size(),
-          response.getResults().getIssues().size() == 1 ? "" : "s");
-
-      for (int index = 0; index < response.getResults().getIssues().size(); index++) {
-        final ComicVineIssue issue = response.getResults().getIssues().get(index);
-
-        final IssueDetailsMetadata entry = new IssueDetailsMetadata();
-        entry.setSourceId(issue.getId());
-        entry.setPublisher(response.getResults().getPublisher().getName().trim());
-        entry.setSeries(response.getResults().getName().trim());
-        entry.setIssueNumber(issue.getIssueNumber().trim());
-        entry.setVolume(response.getResults().getStartYear().trim());
-        entry.setTitle(issue.getTitle());
-        entry.setCoverDate(issue.getCoverDate());
-        entry.setStoreDate(issue.getStoreDate());
-
-        try {
-          log.trace("Fetching issue metadata: id={}", issue.getId());
-          log.trace("Creating issue details action");
-          this.getIssueWithDetailsAction.setBaseUrl(this.getBaseUrl());
-          this.getIssueWithDetailsAction.setApiKey(this.getApiKey());
-          this.getIssueWithDetailsAction.setIssueId(issue.getId());
-        } catch (Exception error) {
-          log.error("Failed to get issue cover and store dates", error);
-        }
-
-        result.add(entry);
-      }
-
-      done =
-          response.getOffset() + response.getNumberOfPageResults()
-              >= response.getNumberOfTotalResults();
-
-      if (!done) {
-        log.trace("Sleeping for {}s", this.getDelay());
-        try {
-          Thread.sleep(this.getDelay() * 1000L);
-        } catch (InterruptedException error) {
-          Thread.currentThread().interrupt();
-          throw new MetadataException("ComicVine get volumes action interrupted", error);
-        }
-      }
+    return this.doBlock(this.executeAsync());
+  }
+
+  @Override
+  public Mono<List<IssueDetailsMetadata>> executeAsync() {
+    if (!StringUtils.hasLength(this.getApiKey()))
+      return Mono.error(new MetadataException("Missing API key"));
+    if (this.volumeId == null) return Mono.error(new MetadataException("Missing volume id"));
+
+    final String volumeId = this.volumeId;
+    if (this.listIssues) return this.doWithinDeadline(this.doListIssues(volumeId));
+
+    log.debug("Creating url for: API key=****{} volume id={}", this.getMaskedApiKey(), volumeId);
+    final String url =
+        this.createUrl(
+            this.baseUrl, VOLUME_REQUEST.withEndpoint(String.format("volume/4050-%s", volumeId)));
+    return this.doWithinDeadline(
+        this.doShareRequest(
+                url,
+                VolumeIssues.class,
+                () -> {
+                  final List<IssueDetailsMetadata> issues = new ArrayList<>();
+                  return this.doStreamResponseAsync(
+                          url,
+                          ComicVineGetAllIssuesQueryResponse.class,
+                          ISSUES_PATH,
+                          ComicVineIssue.class,
+                          issue -> issues.add(doCreateIssue(issue)))
+                      .map(
+                          response ->
+                              doCreateVolumeIssues(
+                                  issues,
+                                  response.getResults().getPublisher(),
+                                  response.getResults().getName(),
+                                  response.getResults().getStartYear()));
+                })
+            .map(this::doCopyIssues));
+  }
+
+  private Mono<List<IssueDetailsMetadata>> doListIssues(final String volumeId) {
+    final ComicVineRequest request = ISSUES_REQUEST.withFilter("volume", volumeId);
+
+    log.debug("Listing issues for: API key=****{} volume id={}", this.getMaskedApiKey(), volumeId);
+    final String url = this.createUrl(this.baseUrl, request);
+    return this.doShareRequest(
+            url,
+            VolumeIssues.class,
+            () ->
+                Mono.zip(
+                        this.doGetVolumeDetails(volumeId),
+                        this.doGetPages(request, ComicVineIssuesQueryResponse.class, 0)
+                            .concatMapIterable(ComicVineIssuesQueryResponse::getIssues)
+                            .map(ComicVineGetAllIssuesAction::doCreateIssue)
+                            .collectList())
+                    .map(
+                        tuple ->
+                            doCreateVolumeIssues(
+                                tuple.getT2(),
+                                tuple.getT1().getPublisher(),
+                                tuple.getT1().getName(),
+                                tuple.getT1().getStartYear())))
+        .map(this::doCopyIssues);
+  }
+
+  private Mono<ComicVineVolume> doGetVolumeDetails(final String volumeId) {
+    log.trace("Loading volume details");
+    return this.doShareSettings(this.getVolumeDetailsAction)
+        .executeAsync(String.format("%s/api/volume/4050-%s/", this.baseUrl, volumeId));
+  }
+
+  private static IssueDetailsMetadata doCreateIssue(final ComicVineIssue issue) {
+    final IssueDetailsMetadata result = new IssueDetailsMetadata();
+    result.setSourceId(issue.getId());
+    result.setIssueNumber(issue.getIssueNumber().trim());
+    result.setTitle(issue.getTitle());
+    result.setCoverDate(issue.getCoverDate());
+    result.setStoreDate(issue.getStoreDate());
+    return result;
+  }
+
+  private static VolumeIssues doCreateVolumeIssues(
+      final List<IssueDetailsMetadata> issues,
+      final ComicVinePublisher publisher,
+      final String series,
+      final String startYear) {
+    log.debug("Received: {} issue{}", issues.size(), issues.size() == 1 ? "" : "s");
+    final String publisherName = publisher.getName().trim();
+    final String seriesName = series.trim();
+    final String volume = startYear.trim();
+    for (IssueDetailsMetadata issue : issues) {
+      issue.setPublisher(publisherName);
+      issue.setSeries(seriesName);
+      issue.setVolume(volume);
     }
+    return new VolumeIssues(issues);
+  }
 
+  private List<IssueDetailsMetadata> doCopyIssues(final VolumeIssues volumeIssues) {
+    final List<IssueDetailsMetadata> result = new ArrayList<>(volumeIssues.issues().size());
+    for (IssueDetailsMetadata issue : volumeIssues.issues()) {
+      final IssueDetailsMetadata entry = new IssueDetailsMetadata();
+      entry.setSourceId(issue.getSourceId());
+      entry.setIssueNumber(issue.getIssueNumber());
+      entry.setTitle(issue.getTitle());
+      entry.setCoverDate(issue.getCoverDate());
+      entry.setStoreDate(issue.getStoreDate());
+      entry.setPublisher(issue.getPublisher());
+      entry.setSeries(issue.getSeries());
+      entry.setVolume(issue.getVolume());
+      result.add(entry);
+    }
     return result;
   }
+
+  /**
+   * The metadata for the issues of a volume, created as each issue is read and shared by every
+   * caller asking for the same volume at the same time. Each caller is given its own copy.
+   */
+  private record VolumeIssues(List<IssueDetailsMetadata> issues) {}
 }
@@ -18,8 +18,11 @@
 
 package org.comixedproject.metadata.comicvine.actions;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.log4j.Log4j2;
@@ -28,78 +31,126 @@ import org.comixedproject.metadata.comicvine.model.ComicVineIssue;
 import org.comixedproject.metadata.comicvine.model.ComicVineIssuesQueryResponse;
 import org.comixedproject.metadata.model.IssueMetadata;
 import org.springframework.util.StringUtils;
-import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
 /**
  * <code>ComicVineGetIssueAction</code> retrieves the list of issues for a given comic volume.
  *
+ * <p>When using the index, the id, number, dates and cover of every issue in the volume are loaded
+ * once and kept by the client, so that looking up more issues from the same volume needs no
+ * further requests. A volume whose index is already kept is looked up in it even when the index is
+ * not being used. Issue numbers are compared after normalizing them, so "1", "001" and "1.0" all
+ * find the same issue. An issue missing from the index, such as one added since it was loaded, is
+ * still queried directly. Issues found in the index have no description, which is instead read with
+ * the issue's details.
+ *
  * @author Darryl L. Pierce
  */
 @Log4j2
 public class ComicVineGetIssueAction extends AbstractComicVineScrapingAction<List<IssueMetadata>> {
+  private static final Pattern ISSUE_NUMBER_PATTERN =
+      Pattern.compile("^(-?)(\\d+)(\\.(\\d+))?(.*)$");
+  private static final ComicVineRequest REQUEST =
+      ComicVineRequest.forEndpoint("issues")
+          .withFields(
+              "id", "volume", "issue_number", "cover_date", "store_date", "description", "image");
+
   @Getter @Setter private String volumeId;
   @Getter @Setter private String issueNumber;
 
+  /** When set, the volume's issue index is loaded and the issue is found in it. */
+  @Getter @Setter private boolean useIndex = false;
+
+  /** The action to fetch the volume's issue index. */
+  ComicVineGetIssueIndexAction getIssueIndexAction = new ComicVineGetIssueIndexAction();
+
+  /**
+   * Returns the issue number in a form that can be compared. Whitespace, leading zeroes and
+   * trailing fractional zeroes are removed and letters are made lowercase.
+   *
+   * @param issueNumber the issue number
+   * @return the normalized issue number
+   */
+  public static String normalizeIssueNumber(final String issueNumber) {
+    if (issueNumber == null) return "";
+    final String value = issueNumber.trim().toLowerCase(Locale.ROOT);
+    final Matcher matcher = ISSUE_NUMBER_PATTERN.matcher(value);
+    if (!matcher.matches()) return value;
+
+    final StringBuilder result = new StringBuilder(matcher.group(1));
+    final String whole = matcher.group(2).replaceFirst("^0+", "");
+    result.append(whole.isEmpty() ? "0" : whole);
+    final String fraction =
+        Objects.requireNonNullElse(matcher.group(4), "").replaceFirst("0+$", "");
+    if (!fraction.isEmpty()) result.append(".").append(fraction);
+    return result.append(matcher.group(5)).toString();
+  }
+
   @Override
   public List<IssueMetadata> execute() throws MetadataException {
-    if (!StringUtils.hasLength(this.getApiKey())) throw new MetadataException("Missing API key");
-    if (this.volumeId == null) throw new MetadataException("Missing volume id");
-
-    this.addField("id");
-    this.addField("volume");
-    this.addField("issue_number");
-    this.addField("cover_date");
-    this.addField("store_date");
-    this.addField("description");
-    this.addField("image");
-
-    this.addFilter("volume", String.valueOf(this.volumeId));
-    this.addFilter("issue_number", this.issueNumber);
-
-    List<IssueMetadata> result = new ArrayList<>();
-    boolean done = false;
-    while (!done) {
-      log.debug(
-          "Creating url for: API key=****{} volume id={}", this.getMaskedApiKey(), this.volumeId);
-      final String url = this.createUrl(this.baseUrl, "issues");
-      final WebClient client = this.createWebClient(url);
-
-      final Mono<ComicVineIssuesQueryResponse> request =
-          client.get().uri(url).retrieve().bodyToMono(ComicVineIssuesQueryResponse.class);
-
-      ComicVineIssuesQueryResponse response = null;
-
-      try {
-        response = request.block();
-      } catch (Exception error) {
-        throw new MetadataException("Failed to get response", error);
-      }
-
-      if (response == null) throw new MetadataException("No response received");
-
-      log.debug("Received: {} issue(s)", response.getIssues().size());
-
-      for (int index = 0; index < response.getIssues().size(); index++) {
-        final ComicVineIssue issue = response.getIssues().get(index);
-        final IssueMetadata entry = new IssueMetadata();
-        entry.setIssueNumber(issue.getIssueNumber());
-        entry.setId(issue.getId());
-        entry.setVolumeId(issue.getVolume().getId());
-        entry.setName(issue.getVolume().getName());
-        entry.setVolumeName(issue.getVolume().getName());
-        entry.setDescription(issue.getDescription());
-        entry.setCoverDate(issue.getCoverDate());
-        entry.setStoreDate(issue.getStoreDate());
-        entry.setCoverUrl(issue.getImage().getMediumUrl());
-        result.add(entry);
-      }
-
-      done =
-          response.getOffset() + response.getNumberOfPageResults()
-              >= response.getNumberOfTotalResults();
-    }
+    return this.doBlock(this.executeAsync());
+  }
+
+  @Override
+  public Mono<List<IssueMetadata>> executeAsync() {
+    if (!StringUtils.hasLength(this.getApiKey()))
+      return Mono.error(new MetadataException("Missing API key"));
+    if (this.volumeId == null) return Mono.error(new MetadataException("Missing volume id"));
+
+    final String volumeId = this.volumeId;
+    final String issueNumber = this.issueNumber;
+    final Mono<List<IssueMetadata>> query = this.doQueryIssues(volumeId, issueNumber);
+    if (!this.useIndex && !this.getClient().getIssueIndexCache().contains(volumeId))
+      return this.doWithinDeadline(query);
+
+    final String wanted = normalizeIssueNumber(issueNumber);
+    return this.doWithinDeadline(
+        this.doGetIndex(volumeId)
+            .map(
+                index ->
+                    index.stream()
+                        .filter(
+                            issue -> wanted.equals(normalizeIssueNumber(issue.getIssueNumber())))
+                        .map(this::doCreateIssue)
+                        .toList())
+            .filter(result -> !result.isEmpty())
+            .switchIfEmpty(
+                Mono.defer(
+                    () -> {
+                      log.debug("Issue not found in index: issue number={}", issueNumber);
+                      return query;
+                    })));
+  }
+
+  private Mono<List<IssueMetadata>> doQueryIssues(
+      final String volumeId, final String issueNumber) {
+    final ComicVineRequest request =
+        REQUEST.withFilter("volume", volumeId).withFilter("issue_number", issueNumber);
+
+    log.debug("Creating url for: API key=****{} volume id={}", this.getMaskedApiKey(), volumeId);
+    return this.doGetPages(request, ComicVineIssuesQueryResponse.class, 0)
+        .doOnNext(response -> log.debug("Received: {} issue(s)", response.getIssues().size()))
+        .concatMapIterable(ComicVineIssuesQueryResponse::getIssues)
+        .map(this::doCreateIssue)
+        .collectList();
+  }
+
+  private Mono<List<ComicVineIssue>> doGetIndex(final String volumeId) {
+    log.debug("Fetching the issue index: volume id={}", volumeId);
+    return this.doShareSettings(this.getIssueIndexAction).executeAsync(volumeId);
+  }
 
+  private IssueMetadata doCreateIssue(final ComicVineIssue issue) {
+    final IssueMetadata result = new IssueMetadata();
+    result.setIssueNumber(issue.getIssueNumber());
+    result.setId(issue.getId());
+    result.setVolumeId(issue.getVolume().getId());
+    result.setName(issue.getVolume().getName());
+    result.setVolumeName(issue.getVolume().getName());
+    result.setDescription(issue.getDescription());
+    result.setCoverDate(issue.getCoverDate());
+    result.setStoreDate(issue.getStoreDate());
+    result.setCoverUrl(issue.getImage().getMediumUrl());
     return result;
   }
 }
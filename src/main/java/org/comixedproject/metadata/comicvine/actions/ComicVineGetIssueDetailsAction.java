@@ -20,11 +20,12 @@ package org.comixedproject.metadata.comicvine.actions;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.log4j.Log4j2;
 import org.comixedproject.metadata.MetadataException;
-import org.comixedproject.metadata.comicvine.adaptors.ComicVineMetadataAdaptor;
 import org.comixedproject.metadata.comicvine.model.*;
 import org.comixedproject.metadata.model.IssueDetailsMetadata;
 import org.comixedproject.model.comicbooks.ComicBook;
@@ -32,11 +33,15 @@ import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
+import reactor.core.publisher.Mono;
 
 /**
  * <code>ComicVineScrapeComicAction</code> scrapes the details for a issue {@link ComicBook} and
  * returns the unsaved, updated object.
  *
+ * <p>The publisher name is taken from the volume details, so the publisher itself is only fetched
+ * when ComicVine does not embed its name in the volume.
+ *
  * @author Darryl L. Pierce
  */
 @Component
@@ -65,18 +70,49 @@ public class ComicVineGetIssueDetailsAction
 
   @Override
   public IssueDetailsMetadata execute() throws MetadataException {
-    if (!StringUtils.hasLength(this.apiKey)) throw new MetadataException("Missing API key");
-    if (this.issueId == null) throw new MetadataException("Missing issue id");
+    return this.doBlock(this.executeAsync());
+  }
 
-    final ComicVineIssue issueDetails = this.getIssueDetails();
-    final ComicVineVolume volumeDetails = this.getVolumeDetails(issueDetails.getVolume());
-    final ComicVinePublisher publisherDetails =
-        this.getPublisherDetails(volumeDetails.getPublisher());
+  @Override
+  public Mono<IssueDetailsMetadata> executeAsync() {
+    if (!StringUtils.hasLength(this.apiKey))
+      return Mono.error(new MetadataException("Missing API key"));
+    if (this.issueId == null) return Mono.error(new MetadataException("Missing issue id"));
+
+    return this.doWithinDeadline(
+        this.getIssueDetails(this.issueId)
+            .flatMap(
+                issueDetails ->
+                    this.getVolumeDetails(issueDetails.getVolume())
+                        .flatMap(
+                            volumeDetails ->
+                                this.getPublisherName(volumeDetails.getPublisher())
+                                    .map(Optional::of)
+                                    .defaultIfEmpty(Optional.empty())
+                                    .map(
+                                        publisherName ->
+                                            doCreateIssueDetails(
+                                                issueDetails,
+                                                volumeDetails,
+                                                publisherName.orElse(null))))));
+  }
 
+  /**
+   * Maps the decoded issue and volume details to the issue metadata.
+   *
+   * @param issueDetails the issue details
+   * @param volumeDetails the volume details
+   * @param publisherName the publisher name, or null
+   * @return the metadata
+   */
+  static IssueDetailsMetadata doCreateIssueDetails(
+      final ComicVineIssue issueDetails,
+      final ComicVineVolume volumeDetails,
+      final String publisherName) {
     log.debug("Populate the issue details");
     final IssueDetailsMetadata result = new IssueDetailsMetadata();
     result.setSourceId(issueDetails.getId());
-    result.setPublisher(publisherDetails.getName());
+    result.setPublisher(publisherName);
     result.setSeries(volumeDetails.getName());
     result.setVolume(volumeDetails.getStartYear());
     result.setIssueNumber(issueDetails.getIssueNumber());
@@ -98,46 +134,49 @@ public class ComicVineGetIssueDetailsAction
     return result;
   }
 
-  private List<IssueDetailsMetadata.CreditEntry> createCreditEntry(
+  private static List<IssueDetailsMetadata.CreditEntry> createCreditEntry(
       final String name, final String roles) {
     return doSplitString(roles).stream()
         .map(role -> new IssueDetailsMetadata.CreditEntry(name, role))
         .toList();
   }
 
-  private List<String> doSplitString(final String roles) {
+  private static List<String> doSplitString(final String roles) {
     return Arrays.stream(roles.split(","))
         .map(String::trim)
         .map(role -> ComicVineCreditType.forValue(role).getTagType().getValue())
         .toList();
   }
 
-  private ComicVinePublisher getPublisherDetails(final ComicVinePublisher publisher)
-      throws MetadataException {
-    log.debug("Setting up the publisher details request: {}", publisher.getName());
-    this.getPublisherDetailsAction.setApiKey(this.apiKey);
-    this.getPublisherDetailsAction.setApiUrl(publisher.getDetailUrl());
-
-    log.debug("Fetching the publisher details");
-    return this.getPublisherDetailsAction.execute();
+  private Mono<String> getPublisherName(final ComicVinePublisher publisher) {
+    if (Objects.isNull(publisher)) {
+      log.debug("Volume has no publisher");
+      return Mono.empty();
+    }
+    if (StringUtils.hasLength(publisher.getName())) {
+      log.debug("Using publisher embedded in volume: {}", publisher.getName());
+      return Mono.just(publisher.getName());
+    }
+    if (!StringUtils.hasLength(publisher.getDetailUrl())) {
+      log.debug("Volume publisher has no details URL");
+      return Mono.empty();
+    }
+    return this.getPublisherDetails(publisher).mapNotNull(ComicVinePublisher::getName);
   }
 
-  private ComicVineVolume getVolumeDetails(final ComicVineVolume volume) throws MetadataException {
-    log.debug("Setting up the volume details request: id={}", volume.getName());
-    this.getVolumeDetailsAction.setApiKey(this.apiKey);
-    this.getVolumeDetailsAction.setApiUrl(volume.getDetailUrl());
-
-    log.debug("Fetching the volume details");
-    return this.getVolumeDetailsAction.execute();
+  private Mono<ComicVinePublisher> getPublisherDetails(final ComicVinePublisher publisher) {
+    log.debug("Fetching the publisher details: {}", publisher.getName());
+    return this.doShareSettings(this.getPublisherDetailsAction)
+        .executeAsync(publisher.getDetailUrl());
   }
 
-  private ComicVineIssue getIssueDetails() throws MetadataException {
-    log.debug("Setting up the issue details request");
-    this.getIssueWithDetailsAction.setBaseUrl(ComicVineMetadataAdaptor.BASE_URL);
-    this.getIssueWithDetailsAction.setApiKey(this.apiKey);
-    this.getIssueWithDetailsAction.setIssueId(this.issueId);
+  private Mono<ComicVineVolume> getVolumeDetails(final ComicVineVolume volume) {
+    log.debug("Fetching the volume details: id={}", volume.getName());
+    return this.doShareSettings(this.getVolumeDetailsAction).executeAsync(volume.getDetailUrl());
+  }
 
-    log.debug("Fetching the issue details");
-    return this.getIssueWithDetailsAction.execute();
+  private Mono<ComicVineIssue> getIssueDetails(final String issueId) {
+    log.debug("Fetching the issue details: id={}", issueId);
+    return this.doShareSettings(this.getIssueWithDetailsAction).executeAsync(issueId);
   }
 }
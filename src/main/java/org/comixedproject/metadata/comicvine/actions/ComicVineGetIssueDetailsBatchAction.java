@@ -0,0 +1,176 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.actions;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.log4j.Log4j2;
+import org.comixedproject.metadata.MetadataException;
+import org.comixedproject.metadata.comicvine.model.ComicVineIssue;
+import org.comixedproject.metadata.comicvine.model.ComicVineIssuesQueryResponse;
+import org.comixedproject.metadata.comicvine.model.ComicVineVolume;
+import org.comixedproject.metadata.model.IssueDetailsMetadata;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * <code>ComicVineGetIssueDetailsBatchAction</code> retrieves the details for a set of issues. Up
+ * to 100 issues are fetched with each request, and the volumes for those issues are then fetched
+ * the same way.
+ *
+ * <p>The issue list endpoint does not return credits, characters, teams, locations or story arcs,
+ * so those are not populated. Use {@link ComicVineGetIssueDetailsAction} when they are needed.
+ *
+ * @author Darryl L. Pierce
+ */
+@Log4j2
+public class ComicVineGetIssueDetailsBatchAction
+    extends AbstractComicVineScrapingAction<List<IssueDetailsMetadata>> {
+  static final String ENDPOINT = "issues";
+  static final ComicVineRequest REQUEST =
+      ComicVineRequest.forEndpoint(ENDPOINT)
+          .withFields(
+              "id",
+              "volume",
+              "issue_number",
+              "cover_date",
+              "store_date",
+              "name",
+              "description",
+              "site_detail_url");
+
+  @Getter @Setter private List<String> issueIds = new ArrayList<>();
+
+  /** The action to fetch the volume details. */
+  ComicVineGetVolumeDetailsBatchAction getVolumeDetailsBatchAction =
+      new ComicVineGetVolumeDetailsBatchAction();
+
+  @Override
+  public List<IssueDetailsMetadata> execute() throws MetadataException {
+    return this.doBlock(this.executeAsync());
+  }
+
+  @Override
+  public Mono<List<IssueDetailsMetadata>> executeAsync() {
+    return this.executeAsync(this.issueIds);
+  }
+
+  /**
+   * Retrieves the details for the given issues.
+   *
+   * @param issueIds the issue ids
+   * @return the issue details
+   */
+  public Mono<List<IssueDetailsMetadata>> executeAsync(final List<String> issueIds) {
+    if (!StringUtils.hasLength(this.baseUrl))
+      return Mono.error(new MetadataException("Missing base URL"));
+    if (!StringUtils.hasLength(this.getApiKey()))
+      return Mono.error(new MetadataException("Missing API key"));
+    if (issueIds == null) return Mono.error(new MetadataException("Missing issue ids"));
+
+    final List<String> ids = new ArrayList<>(issueIds);
+    return this.doGetIssues(ids)
+        .flatMap(
+            issues ->
+                this.doGetVolumes(issues.values())
+                    .map(volumes -> this.doCreateResult(ids, issues, volumes)));
+  }
+
+  private List<IssueDetailsMetadata> doCreateResult(
+      final List<String> ids,
+      final Map<String, ComicVineIssue> issues,
+      final Map<String, ComicVineVolume> volumes) {
+    log.debug("Populating the issue details");
+    final List<IssueDetailsMetadata> result = new ArrayList<>();
+    for (String issueId : ids) {
+      final ComicVineIssue issue = issues.get(issueId);
+      if (Objects.isNull(issue)) {
+        log.debug("No details returned for issue: id={}", issueId);
+        continue;
+      }
+      ComicVineVolume volume = issue.getVolume();
+      if (Objects.isNull(volume)) volume = new ComicVineVolume();
+      result.add(this.doCreateIssueDetails(issue, volumes.getOrDefault(volume.getId(), volume)));
+    }
+    return result;
+  }
+
+  private Mono<Map<String, ComicVineIssue>> doGetIssues(final List<String> ids) {
+    final List<String> urls = new ArrayList<>();
+    for (int start = 0; start < ids.size(); start += MAX_IDS_PER_REQUEST) {
+      final List<String> batch =
+          ids.subList(start, Math.min(start + MAX_IDS_PER_REQUEST, ids.size()));
+      log.debug(
+          "Querying ComicVine for issues: count={} API key={}",
+          batch.size(),
+          this.getMaskedApiKey());
+      urls.add(
+          this.createUrl(
+              this.baseUrl, REQUEST.withFilter(ID_FILTER, String.join(ID_SEPARATOR, batch))));
+    }
+
+    return Flux.fromIterable(urls)
+        .concatMap(url -> this.doGetResponseAsync(url, ComicVineIssuesQueryResponse.class))
+        .doOnNext(response -> log.debug("Received: {} issue(s)", response.getIssues().size()))
+        .concatMapIterable(ComicVineIssuesQueryResponse::getIssues)
+        .collectMap(ComicVineIssue::getId);
+  }
+
+  private Mono<Map<String, ComicVineVolume>> doGetVolumes(final Iterable<ComicVineIssue> issues) {
+    final LinkedHashSet<String> volumeIds = new LinkedHashSet<>();
+    issues.forEach(
+        issue -> {
+          if (Objects.nonNull(issue.getVolume()) && Objects.nonNull(issue.getVolume().getId()))
+            volumeIds.add(issue.getVolume().getId());
+        });
+
+    if (volumeIds.isEmpty()) return Mono.just(new HashMap<>());
+
+    log.debug("Fetching the volume details: count={}", volumeIds.size());
+    return this.doShareSettings(this.getVolumeDetailsBatchAction)
+        .executeAsync(new ArrayList<>(volumeIds))
+        .flatMapIterable(volumes -> volumes)
+        .collectMap(ComicVineVolume::getId);
+  }
+
+  private IssueDetailsMetadata doCreateIssueDetails(
+      final ComicVineIssue issue, final ComicVineVolume volume) {
+    final IssueDetailsMetadata result = new IssueDetailsMetadata();
+    result.setSourceId(issue.getId());
+    if (Objects.nonNull(volume.getPublisher())) {
+      result.setPublisher(volume.getPublisher().getName());
+    }
+    result.setSeries(volume.getName());
+    result.setVolume(volume.getStartYear());
+    result.setIssueNumber(issue.getIssueNumber());
+    result.setCoverDate(issue.getCoverDate());
+    result.setStoreDate(issue.getStoreDate());
+    result.setTitle(issue.getTitle());
+    result.setDescription(issue.getDescription());
+    result.setWebAddress(issue.getSiteDetailURL());
+    return result;
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.actions;
+
+import java.util.List;
+import java.util.Objects;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.log4j.Log4j2;
+import org.comixedproject.metadata.MetadataException;
+import org.comixedproject.metadata.comicvine.model.ComicVineIssue;
+import org.comixedproject.metadata.comicvine.model.ComicVineIssuesQueryResponse;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Mono;
+
+/**
+ * <code>ComicVineGetIssueIndexAction</code> retrieves the id, number, dates and cover of every
+ * issue in a volume, a hundred issues with each request. The index is kept by the client so that it
+ * is only loaded once per volume.
+ *
+ * @author Darryl L. Pierce
+ */
+@Log4j2
+public class ComicVineGetIssueIndexAction
+    extends AbstractComicVineScrapingAction<List<ComicVineIssue>> {
+  static final String ENDPOINT = "issues";
+  static final ComicVineRequest REQUEST =
+      ComicVineRequest.forEndpoint(ENDPOINT)
+          .withFields("id", "volume", "issue_number", "cover_date", "store_date", "image")
+          .withParameter(SORT_PARAMETER, "id:asc");
+
+  @Getter @Setter private String volumeId;
+
+  @Override
+  public List<ComicVineIssue> execute() throws MetadataException {
+    return this.doBlock(this.executeAsync());
+  }
+
+  @Override
+  public Mono<List<ComicVineIssue>> executeAsync() {
+    return this.executeAsync(this.volumeId);
+  }
+
+  /**
+   * Retrieves the issue index for the given volume.
+   *
+   * @param volumeId the volume id
+   * @return the issue index
+   */
+  public Mono<List<ComicVineIssue>> executeAsync(final String volumeId) {
+    if (!StringUtils.hasLength(this.getApiKey()))
+      return Mono.error(new MetadataException("Missing API key"));
+    if (volumeId == null) return Mono.error(new MetadataException("Missing volume id"));
+
+    final List<ComicVineIssue> cached = this.getClient().getIssueIndexCache().get(volumeId);
+    if (Objects.nonNull(cached)) {
+      log.debug("Using cached issue index: volume id={}", volumeId);
+      this.doRecordCacheHit("issue");
+      return Mono.just(cached);
+    }
+
+    final ComicVineRequest request = REQUEST.withFilter("volume", volumeId);
+
+    log.debug(
+        "Loading issue index for: API key=****{} volume id={}", this.getMaskedApiKey(), volumeId);
+    final String url = this.createUrl(this.baseUrl, request);
+    return this.doShareRequest(
+        url,
+        this.getClass(),
+        () ->
+            this.doGetPages(request, ComicVineIssuesQueryResponse.class, 0)
+                .concatMapIterable(ComicVineIssuesQueryResponse::getIssues)
+                .collectList()
+                .<List<ComicVineIssue>>map(List::copyOf)
+                .doOnNext(index -> this.getClient().getIssueIndexCache().put(volumeId, index)));
+  }
+}
@@ -25,7 +25,6 @@ import org.comixedproject.metadata.MetadataException;
 import org.comixedproject.metadata.comicvine.model.ComicVineGetIssueDetailsResponse;
 import org.comixedproject.metadata.comicvine.model.ComicVineIssue;
 import org.springframework.util.StringUtils;
-import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
 /**
@@ -38,52 +37,52 @@ import reactor.core.publisher.Mono;
 public class ComicVineGetIssueWithDetailsAction
     extends AbstractComicVineScrapingAction<ComicVineIssue> {
   static final String ENDPOINT = "issue/4000-%s";
+  static final ComicVineRequest REQUEST =
+      ComicVineRequest.create()
+          .withFields(
+              "id",
+              "volume",
+              "issue_number",
+              "cover_date",
+              "store_date",
+              "name",
+              "description",
+              "site_detail_url",
+              "character_credits",
+              "team_credits",
+              "location_credits",
+              "story_arc_credits",
+              "person_credits");
 
   @Getter @Setter private String issueId;
 
-  public ComicVineGetIssueWithDetailsAction() {
-    this.addField("id");
-    this.addField("volume");
-    this.addField("issue_number");
-    this.addField("cover_date");
-    this.addField("store_date");
-    this.addField("name");
-    this.addField("description");
-    this.addField("site_detail_url");
-    this.addField("character_credits");
-    this.addField("team_credits");
-    this.addField("location_credits");
-    this.addField("story_arc_credits");
-    this.addField("person_credits");
-  }
-
   @Override
   public ComicVineIssue execute() throws MetadataException {
-    if (!StringUtils.hasLength(this.baseUrl)) throw new MetadataException("Missing base URL");
-    if (!StringUtils.hasLength(this.getApiKey())) throw new MetadataException("Missing API key");
-    if (this.issueId == null) throw new MetadataException("Missing issue id");
-
-    log.debug(
-        "Querying ComicVine for issue: id={} API key={}", this.issueId, this.getMaskedApiKey());
-    final String url = this.createUrl(this.baseUrl, this.getEndpoint());
-    final WebClient client = this.createWebClient(url);
-
-    final Mono<ComicVineGetIssueDetailsResponse> request =
-        client.get().uri(url).retrieve().bodyToMono(ComicVineGetIssueDetailsResponse.class);
-
-    ComicVineGetIssueDetailsResponse result;
-    try {
-      result = request.block();
-    } catch (Exception error) {
-      throw new MetadataException("failed to get story details", error);
-    }
-
-    if (result == null) throw new MetadataException("No response received");
+    return this.doBlock(this.executeAsync());
+  }
 
-    return result.getResults();
+  @Override
+  public Mono<ComicVineIssue> executeAsync() {
+    return this.executeAsync(this.issueId);
   }
 
-  private String getEndpoint() {
-    return String.format(ENDPOINT, this.issueId);
+  /**
+   * Retrieves the details for the given issue.
+   *
+   * @param issueId the issue id
+   * @return the issue details
+   */
+  public Mono<ComicVineIssue> executeAsync(final String issueId) {
+    if (!StringUtils.hasLength(this.baseUrl))
+      return Mono.error(new MetadataException("Missing base URL"));
+    if (!StringUtils.hasLength(this.getApiKey()))
+      return Mono.error(new MetadataException("Missing API key"));
+    if (issueId == null) return Mono.error(new MetadataException("Missing issue id"));
+
+    log.debug("Querying ComicVine for issue: id={} API key={}", issueId, this.getMaskedApiKey());
+    final String url =
+        this.createUrl(this.baseUrl, REQUEST.withEndpoint(String.format(ENDPOINT, issueId)));
+    return this.doGetResponseAsync(url, ComicVineGetIssueDetailsResponse.class)
+        .mapNotNull(ComicVineGetIssueDetailsResponse::getResults);
   }
 }
@@ -18,6 +18,7 @@
 
 package org.comixedproject.metadata.comicvine.actions;
 
+import java.util.Objects;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.log4j.Log4j2;
@@ -28,7 +29,6 @@ import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
-import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
 /**
@@ -41,37 +41,45 @@ import reactor.core.publisher.Mono;
 @Log4j2
 public class ComicVineGetPublisherDetailsAction
     extends AbstractComicVineScrapingAction<ComicVinePublisher> {
+  static final ComicVineRequest REQUEST =
+      ComicVineRequest.create().withFields("id", "name", "api_detail_url", "description", "image");
+
   @Getter @Setter private String apiUrl;
 
   @Override
   public ComicVinePublisher execute() throws MetadataException {
-    if (!StringUtils.hasLength(this.getApiKey())) throw new MetadataException("Missing API key");
-    if (!StringUtils.hasLength(this.apiUrl)) throw new MetadataException("Missing api URL");
-
-    this.addField("id");
-    this.addField("name");
-    this.addField("api_detail_url");
-    this.addField("description");
-    this.addField("image");
-
-    log.debug(
-        "Querying ComicVine for publisher: url={} API key={}", this.apiUrl, this.getMaskedApiKey());
+    return this.doBlock(this.executeAsync());
+  }
 
-    final String url = this.createUrl(this.apiUrl);
-    final WebClient client = this.createWebClient(url);
+  @Override
+  public Mono<ComicVinePublisher> executeAsync() {
+    return this.executeAsync(this.apiUrl);
+  }
 
-    final Mono<ComicVineGetPublisherDetailsResponse> request =
-        client.get().uri(url).retrieve().bodyToMono(ComicVineGetPublisherDetailsResponse.class);
-    ComicVineGetPublisherDetailsResponse response = null;
+  /**
+   * Retrieves the publisher found at the given API URL.
+   *
+   * @param apiUrl the publisher API URL
+   * @return the publisher
+   */
+  public Mono<ComicVinePublisher> executeAsync(final String apiUrl) {
+    if (!StringUtils.hasLength(this.getApiKey()))
+      return Mono.error(new MetadataException("Missing API key"));
+    if (!StringUtils.hasLength(apiUrl)) return Mono.error(new MetadataException("Missing api URL"));
 
-    try {
-      response = request.block();
-    } catch (Exception error) {
-      throw new MetadataException("failed to get issue details", error);
+    final ComicVinePublisher cached = this.getClient().getPublisherCache().get(apiUrl);
+    if (Objects.nonNull(cached)) {
+      log.debug("Using cached publisher: {}", apiUrl);
+      this.doRecordCacheHit("publisher");
+      return Mono.just(cached);
     }
 
-    if (response == null) throw new MetadataException("No response received");
+    log.debug(
+        "Querying ComicVine for publisher: url={} API key={}", apiUrl, this.getMaskedApiKey());
 
-    return response.getResults();
+    final String url = this.createUrl(apiUrl, REQUEST);
+    return this.doGetResponseAsync(url, ComicVineGetPublisherDetailsResponse.class)
+        .mapNotNull(ComicVineGetPublisherDetailsResponse::getResults)
+        .doOnNext(result -> this.getClient().getPublisherCache().put(apiUrl, result));
   }
 }
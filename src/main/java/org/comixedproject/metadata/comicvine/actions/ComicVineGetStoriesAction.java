@@ -28,7 +28,7 @@ import org.comixedproject.metadata.MetadataException;
 import org.comixedproject.metadata.comicvine.model.ComicVineGetStoryListResponse;
 import org.comixedproject.metadata.model.StoryMetadata;
 import org.springframework.util.StringUtils;
-import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -40,99 +40,75 @@ import reactor.core.publisher.Mono;
 @Log4j2
 public class ComicVineGetStoriesAction
     extends AbstractComicVineScrapingAction<List<StoryMetadata>> {
+  private static final ComicVineRequest REQUEST =
+      ComicVineRequest.forEndpoint("story_arcs")
+          .withFields("id", "name", "publisher", "image")
+          .withParameter(RESOURCES_PARAMETER, "volume");
+
   @Getter @Setter private String storyName;
   @Getter @Setter private Integer maxRecords;
-  private int page;
 
   @Override
   public List<StoryMetadata> execute() throws MetadataException {
-    this.doCheckSetup();
-
-    this.addFilter(NAME_FILTER, this.storyName);
-
-    this.addField("id");
-    this.addField("name");
-    this.addField("publisher");
-    this.addField("image");
-
-    this.addParameter(RESOURCES_PARAMETER, "volume");
-    this.addParameter(QUERY_PARAMETER, this.storyName);
-    if (maxRecords > 0) this.addParameter(RESULT_LIMIT_PARAMETER, String.valueOf(this.maxRecords));
-
-    List<StoryMetadata> result = new ArrayList<>();
-    boolean done = false;
-
-    while (!done) {
-      this.doIncrementPage();
-
-      log.debug(
-          "Creating url for: API key=****{} story name={}", this.getMaskedApiKey(), this.storyName);
-      final String url = this.createUrl(this.baseUrl, "story_arcs");
-      final WebClient client = this.createWebClient(url);
-      final Mono<ComicVineGetStoryListResponse> request =
-          client.get().uri(url).retrieve().bodyToMono(ComicVineGetStoryListResponse.class);
-      ComicVineGetStoryListResponse response = null;
-
-      try {
-        response = request.block();
-      } catch (Exception error) {
-        throw new MetadataException("Failed to get response", error);
-      }
-
-      if (response == null) {
-        throw new MetadataException("Failed to receive a response");
-      }
-      log.debug("Received: {} stories", response.getResults().size());
-
-      Integer totalRecords = maxRecords;
-      if (totalRecords == 0 || totalRecords >= response.getResults().size())
-        totalRecords = response.getResults().size();
-
-      response
-          .getResults()
-          .subList(0, totalRecords)
-          .forEach(
-              storyListEntry -> {
-                log.trace(
-                    "Processing story record: {} name={}",
-                    storyListEntry.getReferenceId(),
-                    storyListEntry.getName());
-                final StoryMetadata entry = new StoryMetadata();
-                entry.setReferenceId(storyListEntry.getReferenceId());
-                if (Objects.nonNull(storyListEntry.getPublisher())) {
-                  entry.setPublisher(storyListEntry.getPublisher().getName());
-                }
-                entry.setName(storyListEntry.getName());
-                entry.setImageUrl(storyListEntry.getImages().get("original_url"));
-                result.add(entry);
-              });
+    return this.doBlock(this.executeAsync());
+  }
 
-      done =
-          (hitMaxRecordLimit(result))
-              || (response.getOffset() + response.getNumberOfPageResults())
-                  >= response.getNumberOfTotalResults();
+  @Override
+  public Mono<List<StoryMetadata>> executeAsync() {
+    return this.executeStream().collectList();
+  }
 
-      if (!done) {
-        log.trace("Sleeping for {}s", this.getDelay());
-        try {
-          Thread.sleep(this.getDelay() * 1000L);
-        } catch (InterruptedException error) {
-          Thread.currentThread().interrupt();
-          throw new MetadataException("ComicVine get volumes action interrupted", error);
-        }
-      }
+  /**
+   * Emits the matching stories as each page of results arrives. Cancelling the stream cancels any
+   * pages still being fetched. When a deadline is set the stream ends once it is reached, with the
+   * stories received so far.
+   *
+   * @return the stories
+   */
+  public Flux<StoryMetadata> executeStream() {
+    try {
+      this.doCheckSetup();
+    } catch (MetadataException error) {
+      return Flux.error(error);
     }
 
-    return result;
+    final String storyName = this.storyName;
+    final int maxRecords = this.maxRecords;
+    ComicVineRequest request =
+        REQUEST.withFilter(NAME_FILTER, storyName).withParameter(QUERY_PARAMETER, storyName);
+    if (maxRecords > 0)
+      request = request.withParameter(RESULT_LIMIT_PARAMETER, String.valueOf(maxRecords));
+
+    log.debug("Creating url for: API key=****{} story name={}", this.getMaskedApiKey(), storyName);
+    return this.doWithinDeadline(
+        this.doGetPages(request, ComicVineGetStoryListResponse.class, maxRecords)
+            .concatMapIterable(this::doCreateStories)
+            .take(maxRecords > 0 ? maxRecords : Long.MAX_VALUE));
   }
 
-  private void doIncrementPage() {
-    log.trace("Incremented page value: {}", this.page);
-    this.page++;
-    if (this.page > 1) {
-      log.trace("Setting page: {}", this.page);
-      this.addParameter(PAGE_PARAMETER, String.valueOf(this.page));
-    }
+  private List<StoryMetadata> doCreateStories(final ComicVineGetStoryListResponse response) {
+    log.debug("Received: {} stories", response.getResults().size());
+
+    final List<StoryMetadata> result = new ArrayList<>();
+    response
+        .getResults()
+        .forEach(
+            storyListEntry -> {
+              log.trace(
+                  "Processing story record: {} name={}",
+                  storyListEntry.getReferenceId(),
+                  storyListEntry.getName());
+              final StoryMetadata entry = new StoryMetadata();
+              entry.setReferenceId(storyListEntry.getReferenceId());
+              if (Objects.nonNull(storyListEntry.getPublisher())) {
+                entry.setPublisher(storyListEntry.getPublisher().getName());
+              }
+              entry.setName(storyListEntry.getName());
+              entry.setImageUrl(storyListEntry.getImages().get("original_url"));
+              result.add(entry);
+            });
+
+    return result;
   }
 
   private void doCheckSetup() throws MetadataException {
@@ -140,8 +116,4 @@ public class ComicVineGetStoriesAction
     if (!StringUtils.hasLength(this.storyName)) throw new MetadataException("Missing story name");
     if (maxRecords == null) throw new MetadataException("Missing maximum records");
   }
-
-  private boolean hitMaxRecordLimit(final List<StoryMetadata> records) {
-    return this.maxRecords > 0 && records.size() == this.maxRecords;
-  }
 }
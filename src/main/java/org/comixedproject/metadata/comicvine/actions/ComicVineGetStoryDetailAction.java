@@ -18,6 +18,8 @@
 
 package org.comixedproject.metadata.comicvine.actions;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -30,72 +32,92 @@ import org.comixedproject.metadata.model.IssueDetailsMetadata;
 import org.comixedproject.metadata.model.StoryDetailMetadata;
 import org.comixedproject.metadata.model.StoryIssueMetadata;
 import org.springframework.util.StringUtils;
-import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
 /**
  * <code>ComicVineGetStoryDetailAction</code> fetches the metadata for a single story arc from
  * ComicVine.
  *
+ * <p>The details for every issue in the story arc are fetched with it. If ComicVine returns no
+ * details for any of them then the action fails, rather than returning the story arc with issues
+ * missing from its reading order.
+ *
  * @author Darryl L. Pierce
  */
 @NoArgsConstructor
 @Log4j2
 public class ComicVineGetStoryDetailAction
     extends AbstractComicVineScrapingAction<StoryDetailMetadata> {
+  private static final ComicVineRequest REQUEST =
+      ComicVineRequest.create().withFields("id", "publisher", "name", "description", "issues");
+
   @Getter @Setter private String referenceId;
 
-  ComicVineGetIssueDetailsAction getIssueDetailsAction = new ComicVineGetIssueDetailsAction();
+  ComicVineGetIssueDetailsBatchAction getIssueDetailsBatchAction =
+      new ComicVineGetIssueDetailsBatchAction();
 
   @Override
   public StoryDetailMetadata execute() throws MetadataException {
-    if (!StringUtils.hasLength(this.getApiKey())) throw new MetadataException("Missing API key");
-    if (this.referenceId == null) throw new MetadataException("Missing reference id");
+    return this.doBlock(this.executeAsync());
+  }
 
-    this.addField("id");
-    this.addField("publisher");
-    this.addField("name");
-    this.addField("description");
-    this.addField("issues");
+  @Override
+  public Mono<StoryDetailMetadata> executeAsync() {
+    if (!StringUtils.hasLength(this.getApiKey()))
+      return Mono.error(new MetadataException("Missing API key"));
+    if (this.referenceId == null) return Mono.error(new MetadataException("Missing reference id"));
 
-    final StoryDetailMetadata result = new StoryDetailMetadata();
+    final String storyReferenceId = this.referenceId;
     log.debug(
         "Creating url for: API key=****{} reference id={}",
         this.getMaskedApiKey(),
-        this.referenceId);
+        storyReferenceId);
     final String url =
-        this.createUrl(this.baseUrl, String.format("story_arc/4045-%s", this.referenceId));
-    final WebClient client = this.createWebClient(url);
-
-    final Mono<ComicVineGetStoryDetailResponse> request =
-        client.get().uri(url).retrieve().bodyToMono(ComicVineGetStoryDetailResponse.class);
-
-    ComicVineGetStoryDetailResponse response = null;
-
-    try {
-      response = request.block();
-    } catch (Exception error) {
-      throw new MetadataException("Failed to get response", error);
-    }
-
-    if (response == null) throw new MetadataException("No response received");
+        this.createUrl(
+            this.baseUrl,
+            REQUEST.withEndpoint(String.format("story_arc/4045-%s", storyReferenceId)));
+    return this.doWithinDeadline(
+        this.doGetResponseAsync(url, ComicVineGetStoryDetailResponse.class)
+            .flatMap(
+                response ->
+                    this.doGetIssueDetails(response.getResults().getIssues())
+                        .flatMap(
+                            issueDetails ->
+                                Mono.fromCallable(
+                                    () ->
+                                        this.doCreateStoryDetail(
+                                            storyReferenceId, response, issueDetails)))));
+  }
 
+  private StoryDetailMetadata doCreateStoryDetail(
+      final String storyReferenceId,
+      final ComicVineGetStoryDetailResponse response,
+      final Map<String, IssueDetailsMetadata> issueDetails)
+      throws MetadataException {
     log.debug("Received response with {} issue(s)", response.getResults().getIssues().size());
 
-    result.setReferenceId(this.referenceId);
+    final StoryDetailMetadata result = new StoryDetailMetadata();
+    result.setReferenceId(storyReferenceId);
     if (Objects.nonNull(response.getResults().getPublisher())) {
       result.setPublisher(response.getResults().getPublisher().getName().trim());
     }
     result.setName(response.getResults().getName());
     result.setDescription(response.getResults().getDescription());
-    this.getIssueDetailsAction.setBaseUrl(this.baseUrl);
-    this.getIssueDetailsAction.setApiKey(this.getApiKey());
+
+    final List<String> missing =
+        response.getResults().getIssues().stream()
+            .map(ComicVineIssue::getId)
+            .filter(id -> !issueDetails.containsKey(id))
+            .toList();
+    if (!missing.isEmpty()) {
+      log.debug("No details found for story issues: ids={}", missing);
+      throw new MetadataException("No details found for story issues: " + missing);
+    }
 
     for (int index = 0; index < response.getResults().getIssues().size(); index++) {
       final ComicVineIssue entry = response.getResults().getIssues().get(index);
-      this.getIssueDetailsAction.setIssueId(entry.getId());
+      final IssueDetailsMetadata issue = issueDetails.get(entry.getId());
 
-      final IssueDetailsMetadata issue = this.getIssueDetailsAction.execute();
       final StoryIssueMetadata issueMetadata = new StoryIssueMetadata();
       issueMetadata.setReadingOrder(index + 1);
       issueMetadata.setName(issue.getSeries());
@@ -107,4 +129,13 @@ public class ComicVineGetStoryDetailAction
 
     return result;
   }
+
+  private Mono<Map<String, IssueDetailsMetadata>> doGetIssueDetails(
+      final List<ComicVineIssue> issues) {
+    log.debug("Fetching the issue details: count={}", issues.size());
+    return this.doShareSettings(this.getIssueDetailsBatchAction)
+        .executeAsync(issues.stream().map(ComicVineIssue::getId).toList())
+        .flatMapIterable(details -> details)
+        .collectMap(IssueDetailsMetadata::getSourceId);
+  }
 }
@@ -18,6 +18,7 @@
 
 package org.comixedproject.metadata.comicvine.actions;
 
+import java.util.Objects;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.log4j.Log4j2;
@@ -28,7 +29,6 @@ import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
-import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
 /**
@@ -41,36 +41,45 @@ import reactor.core.publisher.Mono;
 @Log4j2
 public class ComicVineGetVolumeDetailsAction
     extends AbstractComicVineScrapingAction<ComicVineVolume> {
+  static final ComicVineRequest REQUEST =
+      ComicVineRequest.create().withFields("name", "start_year", "api_detail_url", "publisher");
+
   @Getter @Setter private String apiUrl;
 
   @Override
   public ComicVineVolume execute() throws MetadataException {
-    this.addField("name");
-    this.addField("start_year");
-    this.addField("api_detail_url");
-    this.addField("publisher");
-
-    if (!StringUtils.hasLength(this.getApiKey())) throw new MetadataException("Missing API key");
-    if (!StringUtils.hasLength(this.apiUrl)) throw new MetadataException("Missing details URL");
-
-    log.debug(
-        "Querying ComicVine for volume: url={} API key={}", this.apiUrl, this.getMaskedApiKey());
+    return this.doBlock(this.executeAsync());
+  }
 
-    final String url = this.createUrl(this.apiUrl);
-    final WebClient client = this.createWebClient(url);
+  @Override
+  public Mono<ComicVineVolume> executeAsync() {
+    return this.executeAsync(this.apiUrl);
+  }
 
-    final Mono<ComicVineGetVolumeDetailsResponse> request =
-        client.get().uri(url).retrieve().bodyToMono(ComicVineGetVolumeDetailsResponse.class);
-    ComicVineGetVolumeDetailsResponse response = null;
+  /**
+   * Retrieves the volume found at the given API URL.
+   *
+   * @param apiUrl the volume API URL
+   * @return the volume
+   */
+  public Mono<ComicVineVolume> executeAsync(final String apiUrl) {
+    if (!StringUtils.hasLength(this.getApiKey()))
+      return Mono.error(new MetadataException("Missing API key"));
+    if (!StringUtils.hasLength(apiUrl))
+      return Mono.error(new MetadataException("Missing details URL"));
 
-    try {
-      response = request.block();
-    } catch (Exception error) {
-      throw new MetadataException("failed to get issue details", error);
+    final ComicVineVolume cached = this.getClient().getVolumeCache().get(apiUrl);
+    if (Objects.nonNull(cached)) {
+      log.debug("Using cached volume: {}", apiUrl);
+      this.doRecordCacheHit("volume");
+      return Mono.just(cached);
     }
 
-    if (response == null) throw new MetadataException("No response received");
+    log.debug("Querying ComicVine for volume: url={} API key={}", apiUrl, this.getMaskedApiKey());
 
-    return response.getResults();
+    final String url = this.createUrl(apiUrl, REQUEST);
+    return this.doGetResponseAsync(url, ComicVineGetVolumeDetailsResponse.class)
+        .mapNotNull(ComicVineGetVolumeDetailsResponse::getResults)
+        .doOnNext(result -> this.getClient().getVolumeCache().put(apiUrl, result));
   }
 }
@@ -0,0 +1,92 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.actions;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.log4j.Log4j2;
+import org.comixedproject.metadata.MetadataException;
+import org.comixedproject.metadata.comicvine.model.ComicVineVolume;
+import org.comixedproject.metadata.comicvine.model.ComicVineVolumesQueryResponse;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * <code>ComicVineGetVolumeDetailsBatchAction</code> retrieves the details for a set of volumes,
+ * fetching up to 100 volumes with each request.
+ *
+ * @author Darryl L. Pierce
+ */
+@Log4j2
+public class ComicVineGetVolumeDetailsBatchAction
+    extends AbstractComicVineScrapingAction<List<ComicVineVolume>> {
+  static final String ENDPOINT = "volumes";
+  static final ComicVineRequest REQUEST =
+      ComicVineRequest.forEndpoint(ENDPOINT)
+          .withFields("id", "name", "start_year", "api_detail_url", "publisher");
+
+  @Getter @Setter private List<String> volumeIds = new ArrayList<>();
+
+  @Override
+  public List<ComicVineVolume> execute() throws MetadataException {
+    return this.doBlock(this.executeAsync());
+  }
+
+  @Override
+  public Mono<List<ComicVineVolume>> executeAsync() {
+    return this.executeAsync(this.volumeIds);
+  }
+
+  /**
+   * Retrieves the details for the given volumes.
+   *
+   * @param volumeIds the volume ids
+   * @return the volume details
+   */
+  public Mono<List<ComicVineVolume>> executeAsync(final List<String> volumeIds) {
+    if (!StringUtils.hasLength(this.baseUrl))
+      return Mono.error(new MetadataException("Missing base URL"));
+    if (!StringUtils.hasLength(this.getApiKey()))
+      return Mono.error(new MetadataException("Missing API key"));
+    if (volumeIds == null) return Mono.error(new MetadataException("Missing volume ids"));
+
+    final List<String> ids = new ArrayList<>(volumeIds);
+    final List<String> urls = new ArrayList<>();
+    for (int start = 0; start < ids.size(); start += MAX_IDS_PER_REQUEST) {
+      final List<String> batch =
+          ids.subList(start, Math.min(start + MAX_IDS_PER_REQUEST, ids.size()));
+      log.debug(
+          "Querying ComicVine for volumes: count={} API key={}",
+          batch.size(),
+          this.getMaskedApiKey());
+      urls.add(
+          this.createUrl(
+              this.baseUrl, REQUEST.withFilter(ID_FILTER, String.join(ID_SEPARATOR, batch))));
+    }
+
+    return Flux.fromIterable(urls)
+        .concatMap(url -> this.doGetResponseAsync(url, ComicVineVolumesQueryResponse.class))
+        .doOnNext(response -> log.debug("Received: {} volume(s)", response.getVolumes().size()))
+        .concatMapIterable(ComicVineVolumesQueryResponse::getVolumes)
+        .collectList();
+  }
+}
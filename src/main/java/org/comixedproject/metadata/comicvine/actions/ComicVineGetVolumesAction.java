@@ -27,115 +27,93 @@ import org.comixedproject.metadata.MetadataException;
 import org.comixedproject.metadata.comicvine.model.ComicVineVolumesQueryResponse;
 import org.comixedproject.metadata.model.VolumeMetadata;
 import org.springframework.util.StringUtils;
-import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
  * <code>ComicVineGetVolumesAction</code> retrieves the list of volumes from ComicVine for the given
  * search criteria.
  *
+ * <p>Unlike the issues of a volume, each page of search results is decoded whole. A search page
+ * holds at most a handful of volumes, and its totals are needed to request the remaining pages, so
+ * streaming it would save little.
+ *
  * @author Darryl L. Pierce
  */
 @Log4j2
 public class ComicVineGetVolumesAction
     extends AbstractComicVineScrapingAction<List<VolumeMetadata>> {
+  private static final ComicVineRequest REQUEST =
+      ComicVineRequest.forEndpoint(SEARCH_ENDPOINT)
+          .withFields("id", "name", "count_of_issues", "publisher", "start_year", "image")
+          .withParameter(RESOURCES_PARAMETER, "volume");
 
   @Getter @Setter private String series;
   @Getter @Setter private Integer maxRecords;
-  private int page;
 
   @Override
   public List<VolumeMetadata> execute() throws MetadataException {
-    this.doCheckSetup();
-
-    this.addFilter(NAME_FILTER, this.series);
-
-    this.addField("id");
-    this.addField("name");
-    this.addField("count_of_issues");
-    this.addField("publisher");
-    this.addField("start_year");
-    this.addField("image");
-
-    this.addParameter(RESOURCES_PARAMETER, "volume");
-    this.addParameter(QUERY_PARAMETER, this.series);
-    if (maxRecords > 0) this.addParameter(RESULT_LIMIT_PARAMETER, String.valueOf(this.maxRecords));
-
-    List<VolumeMetadata> result = new ArrayList<>();
-    boolean done = false;
-
-    while (!done) {
-      this.doIncrementPage();
-
-      log.debug("Creating url for: API key=****{} series={}", this.getMaskedApiKey(), this.series);
-      final String url = this.createUrl(this.baseUrl, "search");
-      final WebClient client = this.createWebClient(url);
-      final Mono<ComicVineVolumesQueryResponse> request =
-          client.get().uri(url).retrieve().bodyToMono(ComicVineVolumesQueryResponse.class);
-      ComicVineVolumesQueryResponse response = null;
-
-      try {
-        response = request.block();
-      } catch (Exception error) {
-        throw new MetadataException("Failed to get response", error);
-      }
-
-      if (response == null) {
-        throw new MetadataException("Failed to receive a response");
-      }
-      log.debug(
-          "Received: {} volume{}",
-          response.getVolumes().size(),
-          response.getVolumes().size() == 1 ? "" : "s");
-
-      Integer totalRecords = maxRecords;
-      if (totalRecords == 0 || totalRecords >= response.getVolumes().size())
-        totalRecords = response.getVolumes().size();
-
-      response
-          .getVolumes()
-          .subList(0, totalRecords)
-          .forEach(
-              volume -> {
-                log.trace("Processing volume record: {} name={}", volume.getId(), volume.getName());
-                final VolumeMetadata entry = new VolumeMetadata();
-                entry.setId(volume.getId());
-                entry.setName(volume.getName());
-                entry.setIssueCount(volume.getIssueCount());
-                if (volume.getPublisher() != null
-                    && StringUtils.hasLength(volume.getPublisher().getName()))
-                  entry.setPublisher(volume.getPublisher().getName());
-                entry.setStartYear(volume.getStartYear());
-                entry.setImageURL(volume.getImage().getOriginalUrl());
-                result.add(entry);
-              });
+    return this.doBlock(this.executeAsync());
+  }
 
-      done =
-          (hitMaxRecordLimit(result))
-              || (response.getOffset() + response.getNumberOfPageResults())
-                  >= response.getNumberOfTotalResults();
+  @Override
+  public Mono<List<VolumeMetadata>> executeAsync() {
+    return this.executeStream().collectList();
+  }
 
-      if (!done) {
-        log.trace("Sleeping for {}s", this.getDelay());
-        try {
-          Thread.sleep(this.getDelay() * 1000L);
-        } catch (InterruptedException error) {
-          Thread.currentThread().interrupt();
-          throw new MetadataException("ComicVine get volumes action interrupted", error);
-        }
-      }
+  /**
+   * Emits the matching volumes as each page of results arrives. Cancelling the stream cancels any
+   * pages still being fetched. When a deadline is set the stream ends once it is reached, with the
+   * volumes received so far.
+   *
+   * @return the volumes
+   */
+  public Flux<VolumeMetadata> executeStream() {
+    try {
+      this.doCheckSetup();
+    } catch (MetadataException error) {
+      return Flux.error(error);
     }
 
-    return result;
+    final String series = this.series;
+    final int maxRecords = this.maxRecords;
+    ComicVineRequest request =
+        REQUEST.withFilter(NAME_FILTER, series).withParameter(QUERY_PARAMETER, series);
+    if (maxRecords > 0)
+      request = request.withParameter(RESULT_LIMIT_PARAMETER, String.valueOf(maxRecords));
+
+    log.debug("Creating url for: API key=****{} series={}", this.getMaskedApiKey(), series);
+    return this.doWithinDeadline(
+        this.doGetPages(request, ComicVineVolumesQueryResponse.class, maxRecords)
+            .concatMapIterable(this::doCreateVolumes)
+            .take(maxRecords > 0 ? maxRecords : Long.MAX_VALUE));
   }
 
-  private void doIncrementPage() {
-    log.trace("Incremented page value: {}", this.page);
-    this.page++;
-    if (this.page > 1) {
-      log.trace("Setting page: {}", this.page);
-      this.addParameter(PAGE_PARAMETER, String.valueOf(this.page));
-    }
+  private List<VolumeMetadata> doCreateVolumes(final ComicVineVolumesQueryResponse response) {
+    log.debug(
+        "Received: {} volume{}",
+        response.getVolumes().size(),
+        response.getVolumes().size() == 1 ? "" : "s");
+
+    final List<VolumeMetadata> result = new ArrayList<>();
+    response
+        .getVolumes()
+        .forEach(
+            volume -> {
+              log.trace("Processing volume record: {} name={}", volume.getId(), volume.getName());
+              final VolumeMetadata entry = new VolumeMetadata();
+              entry.setId(volume.getId());
+              entry.setName(volume.getName());
+              entry.setIssueCount(volume.getIssueCount());
+              if (volume.getPublisher() != null
+                  && StringUtils.hasLength(volume.getPublisher().getName()))
+                entry.setPublisher(volume.getPublisher().getName());
+              entry.setStartYear(volume.getStartYear());
+              entry.setImageURL(volume.getImage().getOriginalUrl());
+              result.add(entry);
+            });
+
+    return result;
   }
 
   private void doCheckSetup() throws MetadataException {
@@ -143,8 +121,4 @@ public class ComicVineGetVolumesAction
     if (!StringUtils.hasLength(this.series)) throw new MetadataException("Missing series name");
     if (maxRecords == null) throw new MetadataException("Missing maximum records");
   }
-
-  private boolean hitMaxRecordLimit(final List<VolumeMetadata> records) {
-    return this.maxRecords > 0 && records.size() == this.maxRecords;
-  }
 }
@@ -0,0 +1,239 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.actions;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * <code>ComicVineRequest</code> describes a single request to ComicVine: the endpoint, and the
+ * filters, parameters and fields sent with it.
+ *
+ * <p>A request can not be changed once created. Each <code>with</code> method returns a new
+ * request, so an action can keep the parts of its request that never change in a constant and add
+ * the values for each call to a copy. One request can be shared by any number of threads. Filters,
+ * parameters and fields are sent in the order they were added.
+ *
+ * @param endpoint the endpoint, or null if the base URL is the resource's API detail URL
+ * @param filters the filters
+ * @param parameters the parameters
+ * @param fields the fields to be returned
+ * @author Darryl L. Pierce
+ */
+public record ComicVineRequest(
+    String endpoint,
+    Map<String, String> filters,
+    Map<String, String> parameters,
+    List<String> fields) {
+  /** The default limit on results returned. */
+  public static final String DEFAULT_RESULT_LIMIT = "100";
+
+  /*
+   * {0} is the server hostname (and port)
+   * {1} is the endpoint
+   * {2} the API key
+   * {3} the filters
+   * {4] the search parameters
+   * {5} the field list
+   */
+  private static final String COMICVINE_URL_PATTERN_1 =
+      "{0}/api/{1}/?api_key={2}&format=json{3}{4}{5}";
+  private static final String COMICVINE_URL_PATTERN_2 = "{0}?api_key={1}&format=json{2}{3}{4}";
+
+  /**
+   * Creates a request, copying the given filters, parameters and fields.
+   *
+   * @param endpoint the endpoint
+   * @param filters the filters
+   * @param parameters the parameters
+   * @param fields the fields
+   */
+  public ComicVineRequest {
+    filters = Collections.unmodifiableMap(new LinkedHashMap<>(filters));
+    parameters = Collections.unmodifiableMap(new LinkedHashMap<>(parameters));
+    fields = List.copyOf(fields);
+  }
+
+  /**
+   * Creates a request without an endpoint, returning up to {@link #DEFAULT_RESULT_LIMIT} results.
+   * Until an endpoint is given, the request is sent to the URL passed to {@link #toUrl(String,
+   * String)}, such as a resource's API detail URL.
+   *
+   * @return the request
+   */
+  public static ComicVineRequest create() {
+    return new ComicVineRequest(
+        null,
+        Map.of(),
+        Map.of(AbstractComicVineScrapingAction.RESULT_LIMIT_PARAMETER, DEFAULT_RESULT_LIMIT),
+        List.of());
+  }
+
+  /**
+   * Creates a request for the given endpoint, returning up to {@link #DEFAULT_RESULT_LIMIT}
+   * results.
+   *
+   * @param endpoint the endpoint
+   * @return the request
+   */
+  public static ComicVineRequest forEndpoint(final String endpoint) {
+    return create().withEndpoint(endpoint);
+  }
+
+  /**
+   * Returns a copy of this request sent to the given endpoint.
+   *
+   * @param endpoint the endpoint
+   * @return the request
+   */
+  public ComicVineRequest withEndpoint(final String endpoint) {
+    return new ComicVineRequest(endpoint, this.filters, this.parameters, this.fields);
+  }
+
+  /**
+   * Returns a copy of this request with the given filter. Any value already set for the filter is
+   * replaced.
+   *
+   * @param name the filter name
+   * @param value the filter value
+   * @return the request
+   */
+  public ComicVineRequest withFilter(final String name, final String value) {
+    final Map<String, String> result = new LinkedHashMap<>(this.filters);
+    result.put(name, value);
+    return new ComicVineRequest(this.endpoint, result, this.parameters, this.fields);
+  }
+
+  /**
+   * Returns a copy of this request with the given parameter. Any value already set for the
+   * parameter is replaced.
+   *
+   * @param name the parameter name
+   * @param value the parameter value
+   * @return the request
+   */
+  public ComicVineRequest withParameter(final String name, final String value) {
+    final Map<String, String> result = new LinkedHashMap<>(this.parameters);
+    result.put(name, value);
+    return new ComicVineRequest(this.endpoint, this.filters, result, this.fields);
+  }
+
+  /**
+   * Returns a copy of this request without the given parameter.
+   *
+   * @param name the parameter name
+   * @return the request
+   */
+  public ComicVineRequest withoutParameter(final String name) {
+    if (!this.parameters.containsKey(name)) return this;
+    final Map<String, String> result = new LinkedHashMap<>(this.parameters);
+    result.remove(name);
+    return new ComicVineRequest(this.endpoint, this.filters, result, this.fields);
+  }
+
+  /**
+   * Returns a copy of this request that also returns the given fields. Fields already requested are
+   * not added again.
+   *
+   * @param names the field names
+   * @return the request
+   */
+  public ComicVineRequest withFields(final String... names) {
+    final List<String> result =
+        Stream.concat(this.fields.stream(), Stream.of(names)).distinct().toList();
+    return new ComicVineRequest(this.endpoint, this.filters, this.parameters, result);
+  }
+
+  /**
+   * Returns a copy of this request for the given page of a multi-page response set.
+   *
+   * <p>At ComicVine, pages start with 1, and the first page is returned when no page is given.
+   *
+   * @param page the page
+   * @return the request
+   */
+  public ComicVineRequest withPage(final Integer page) {
+    if (page != null && page > 1)
+      return this.withParameter(
+          AbstractComicVineScrapingAction.PAGE_PARAMETER, String.valueOf(page));
+    return this.withoutParameter(AbstractComicVineScrapingAction.PAGE_PARAMETER);
+  }
+
+  /**
+   * Generates the URL for this request.
+   *
+   * @param baseUrl the server URL, or the API detail URL if the request has no endpoint
+   * @param apiKey the API key
+   * @return the URL
+   */
+  public String toUrl(final String baseUrl, final String apiKey) {
+    final String filterText = this.generateFilters();
+    final String parameterText = this.generateParameters();
+    final String fieldListText = this.generateFieldList();
+
+    if (this.endpoint != null) {
+      return MessageFormat.format(
+          COMICVINE_URL_PATTERN_1,
+          baseUrl,
+          this.endpoint,
+          apiKey,
+          filterText,
+          parameterText,
+          fieldListText);
+    } else {
+      return MessageFormat.format(
+          COMICVINE_URL_PATTERN_2, baseUrl, apiKey, filterText, parameterText, fieldListText);
+    }
+  }
+
+  private String generateFieldList() {
+    if (this.fields.isEmpty()) return "";
+    return "&field_list=" + String.join(",", this.fields);
+  }
+
+  private String generateParameters() {
+    final StringBuilder builder = new StringBuilder();
+    for (Map.Entry<String, String> entry : this.parameters.entrySet()) {
+      builder.append("&").append(entry.getKey()).append("=").append(encode(entry.getValue()));
+    }
+    return builder.toString();
+  }
+
+  private String generateFilters() {
+    if (this.filters.isEmpty()) return "";
+
+    final StringBuilder builder = new StringBuilder("&filter=");
+    int filterCount = 0;
+    for (Map.Entry<String, String> entry : this.filters.entrySet()) {
+      if (filterCount++ > 0) builder.append(",");
+      builder.append(entry.getKey()).append(":").append(encode(entry.getValue()));
+    }
+    return builder.toString();
+  }
+
+  private static String encode(final String value) {
+    return URLEncoder.encode(value, StandardCharsets.UTF_8);
+  }
+}
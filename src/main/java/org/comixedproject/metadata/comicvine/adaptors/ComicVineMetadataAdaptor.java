@@ -20,8 +20,14 @@ package org.comixedproject.metadata.comicvine.adaptors;
 
 import static org.comixedproject.metadata.comicvine.adaptors.ComicVineMetadataAdaptorProvider.*;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import lombok.extern.log4j.Log4j2;
@@ -29,13 +35,38 @@ import org.comixedproject.metadata.MetadataException;
 import org.comixedproject.metadata.adaptors.AbstractMetadataAdaptor;
 import org.comixedproject.metadata.adaptors.MetadataAdaptor;
 import org.comixedproject.metadata.comicvine.actions.*;
+import org.comixedproject.metadata.comicvine.client.ComicVineCircuitBreaker;
+import org.comixedproject.metadata.comicvine.client.ComicVineClient;
+import org.comixedproject.metadata.comicvine.client.ComicVineResponseCache;
+import org.comixedproject.metadata.comicvine.events.ComicVineOperationEvent;
+import org.comixedproject.metadata.comicvine.model.ComicVineBulkScrapeResult;
+import org.comixedproject.metadata.comicvine.model.ComicVineIssueReference;
 import org.comixedproject.metadata.model.*;
 import org.comixedproject.model.metadata.MetadataSource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 /**
  * <code>ComicVineMetadataAdaptor</code> provides an implementation of {@link MetadataAdaptor} for
  * ComicVine.
  *
+ * <p>Along with the blocking methods required by {@link MetadataAdaptor}, non-blocking variants
+ * returning a {@link Mono} are provided so that many lookups can be outstanding without holding a
+ * thread for each. Searches can also be streamed as a {@link Flux}, which emits candidates as each
+ * page of results arrives.
+ *
+ * <p>Issues are looked up in an index of their volume's issues, which is loaded once and then kept,
+ * so scraping a run of issues from one volume only sends a single request. Many issues can also be
+ * scraped together, with their details fetched a hundred at a time.
+ *
+ * <p>Searches and lookups of issues and stories can be given a deadline. A search that reaches its
+ * deadline returns the results received so far, while a lookup fails with a {@link
+ * MetadataException}. Every request is composed without blocking, so reaching the deadline cancels
+ * the requests in flight rather than leaving a thread waiting on them.
+ *
+ * <p>Each call is recorded as a {@link ComicVineOperationEvent} for Flight Recorder, which costs
+ * next to nothing when the event is not enabled.
+ *
  * @author Darryl L. Pierce
  */
 @Log4j2
@@ -43,30 +74,79 @@ public class ComicVineMetadataAdaptor extends AbstractMetadataAdaptor {
   static final String REFERENCE_ID_PATTERN =
       "^https?\\:\\/\\/(www\\.comicvine\\.com|comicvine\\.gamespot\\.com)\\/.*\\/4000-([\\d]+).*";
   /** The base URL for ComicVine. */
-  public static final String BASE_URL = "https://comicvine.gamespot.com";
+  public static final String BASE_URL = ComicVineClient.DEFAULT_BASE_URL;
 
-  public static final long MINIMUM_DELAY_VALUE = 1L;
+  public static final long MINIMUM_DELAY_VALUE = ComicVineClient.DEFAULT_MINIMUM_DELAY;
   public static final int REFERENCE_ID_POSITION = 2;
-
+  static final long BYTES_PER_MEGABYTE = 1024L * 1024L;
+  static final Map<String, String> CACHE_TIME_TO_LIVE_PROPERTIES =
+      Map.of(
+          "publisher", PROPERTY_CACHE_PUBLISHER_TTL,
+          "volume", PROPERTY_CACHE_VOLUME_TTL,
+          "issue", PROPERTY_CACHE_ISSUE_TTL,
+          "story_arc", PROPERTY_CACHE_STORY_ARC_TTL,
+          "search", PROPERTY_CACHE_SEARCH_TTL);
+
+  private final ComicVineClient client;
+
+  /** Creates an adaptor with its own connection pool. */
   public ComicVineMetadataAdaptor() {
+    this(new ComicVineClient());
+  }
+
+  /**
+   * Creates an adaptor that shares the given client with other adaptors.
+   *
+   * @param client the client
+   */
+  public ComicVineMetadataAdaptor(final ComicVineClient client) {
     super("ComiXed ComicVine Scraper", PROVIDER_NAME);
+    this.client = client;
   }
 
   @Override
   public List<StoryMetadata> getStories(
       final String storyName, final Integer maxRecords, final MetadataSource metadataSource)
       throws MetadataException {
-    log.debug("Fetching stories from ComicVine: storyName={}", storyName);
+    return this.doGetStories(
+        storyName, maxRecords, metadataSource, new ComicVineGetStoriesAction());
+  }
+
+  /**
+   * Retrieves the stories matching the given name, returning those received before the deadline.
+   *
+   * @param storyName the story name
+   * @param maxRecords the maximum records to return
+   * @param metadataSource the metadata source
+   * @param deadline the longest time to wait
+   * @return the stories
+   * @throws MetadataException if an error occurs
+   */
+  public List<StoryMetadata> getStories(
+      final String storyName,
+      final Integer maxRecords,
+      final MetadataSource metadataSource,
+      final Duration deadline)
+      throws MetadataException {
     final ComicVineGetStoriesAction action = new ComicVineGetStoriesAction();
-    action.setBaseUrl(BASE_URL);
-    action.setApiKey(
-        this.getSourcePropertyByName(metadataSource.getProperties(), PROPERTY_API_KEY, true));
-    action.setDelay(this.doGetDelayValue(metadataSource));
+    action.setDeadline(deadline);
+    return this.doGetStories(storyName, maxRecords, metadataSource, action);
+  }
+
+  List<StoryMetadata> doGetStories(
+      final String storyName,
+      final Integer maxRecords,
+      final MetadataSource metadataSource,
+      final ComicVineGetStoriesAction action)
+      throws MetadataException {
+    log.debug("Fetching stories from ComicVine: storyName={}", storyName);
+    this.doConfigureAction(action, metadataSource);
     action.setStoryName(storyName);
     action.setMaxRecords(maxRecords);
 
     log.debug("Executing action");
-    final List<StoryMetadata> result = action.execute();
+    final List<StoryMetadata> result =
+        this.doRecordOperation("getStories", storyName, action::execute);
 
     log.debug("Returning {} stories", result.size());
     return result;
@@ -75,16 +155,39 @@ public class ComicVineMetadataAdaptor extends AbstractMetadataAdaptor {
   @Override
   public StoryDetailMetadata getStory(final String referenceId, final MetadataSource metadataSource)
       throws MetadataException {
-    log.debug("Fetching story details: referenceId={}", referenceId);
+    return this.doGetStory(referenceId, metadataSource, new ComicVineGetStoryDetailAction());
+  }
+
+  /**
+   * Retrieves the details for a single story, failing if they are not received before the
+   * deadline.
+   *
+   * @param referenceId the story reference id
+   * @param metadataSource the metadata source
+   * @param deadline the longest time to wait
+   * @return the story details
+   * @throws MetadataException if an error occurs
+   */
+  public StoryDetailMetadata getStory(
+      final String referenceId, final MetadataSource metadataSource, final Duration deadline)
+      throws MetadataException {
     final ComicVineGetStoryDetailAction action = new ComicVineGetStoryDetailAction();
-    action.setBaseUrl(BASE_URL);
-    action.setApiKey(
-        this.getSourcePropertyByName(metadataSource.getProperties(), PROPERTY_API_KEY, true));
-    action.setDelay(this.doGetDelayValue(metadataSource));
+    action.setDeadline(deadline);
+    return this.doGetStory(referenceId, metadataSource, action);
+  }
+
+  StoryDetailMetadata doGetStory(
+      final String referenceId,
+      final MetadataSource metadataSource,
+      final ComicVineGetStoryDetailAction action)
+      throws MetadataException {
+    log.debug("Fetching story details: referenceId={}", referenceId);
+    this.doConfigureAction(action, metadataSource);
     action.setReferenceId(referenceId);
 
     log.debug("Executing action");
-    final StoryDetailMetadata result = action.execute();
+    final StoryDetailMetadata result =
+        this.doRecordOperation("getStory", referenceId, action::execute);
 
     log.debug("Returning one story with {} issues", result.getIssues().size());
     return result;
@@ -98,6 +201,28 @@ public class ComicVineMetadataAdaptor extends AbstractMetadataAdaptor {
         seriesName, maxRecords, metadataSource, new ComicVineGetVolumesAction());
   }
 
+  /**
+   * Retrieves the volumes matching the given series name, returning those received before the
+   * deadline.
+   *
+   * @param seriesName the series name
+   * @param maxRecords the maximum records to return
+   * @param metadataSource the metadata source
+   * @param deadline the longest time to wait
+   * @return the volumes
+   * @throws MetadataException if an error occurs
+   */
+  public List<VolumeMetadata> getVolumes(
+      final String seriesName,
+      final Integer maxRecords,
+      final MetadataSource metadataSource,
+      final Duration deadline)
+      throws MetadataException {
+    final ComicVineGetVolumesAction action = new ComicVineGetVolumesAction();
+    action.setDeadline(deadline);
+    return this.doGetVolumes(seriesName, maxRecords, metadataSource, action);
+  }
+
   List<VolumeMetadata> doGetVolumes(
       final String seriesName,
       final Integer maxRecords,
@@ -106,15 +231,13 @@ public class ComicVineMetadataAdaptor extends AbstractMetadataAdaptor {
       throws MetadataException {
     log.debug("Fetching volumes from ComicVine: seriesName={}", seriesName);
 
-    action.setBaseUrl(BASE_URL);
-    action.setApiKey(
-        this.getSourcePropertyByName(metadataSource.getProperties(), PROPERTY_API_KEY, true));
-    action.setDelay(this.doGetDelayValue(metadataSource));
+    this.doConfigureAction(action, metadataSource);
     action.setSeries(seriesName);
     action.setMaxRecords(maxRecords);
 
     log.debug("Executing action");
-    final List<VolumeMetadata> result = action.execute();
+    final List<VolumeMetadata> result =
+        this.doRecordOperation("getVolumes", seriesName, action::execute);
 
     log.debug("Returning {} volume{}", result.size(), result.size() == 1 ? "" : "s");
     return result;
@@ -126,6 +249,23 @@ public class ComicVineMetadataAdaptor extends AbstractMetadataAdaptor {
     return this.doGetAllIssues(volume, metadataSource, new ComicVineGetAllIssuesAction());
   }
 
+  /**
+   * Retrieves every issue for a volume, failing if they are not received before the deadline.
+   *
+   * @param volume the volume id
+   * @param metadataSource the metadata source
+   * @param deadline the longest time to wait
+   * @return the issues
+   * @throws MetadataException if an error occurs
+   */
+  public List<IssueDetailsMetadata> getAllIssues(
+      final String volume, final MetadataSource metadataSource, final Duration deadline)
+      throws MetadataException {
+    final ComicVineGetAllIssuesAction action = new ComicVineGetAllIssuesAction();
+    action.setDeadline(deadline);
+    return this.doGetAllIssues(volume, metadataSource, action);
+  }
+
   List<IssueDetailsMetadata> doGetAllIssues(
       final String volume,
       final MetadataSource metadataSource,
@@ -133,14 +273,13 @@ public class ComicVineMetadataAdaptor extends AbstractMetadataAdaptor {
       throws MetadataException {
     log.debug("Fetching the list of all issues from ComicVine: volume={}", volume);
 
-    action.setBaseUrl(BASE_URL);
-    action.setApiKey(
-        this.getSourcePropertyByName(metadataSource.getProperties(), PROPERTY_API_KEY, true));
-    action.setDelay(this.doGetDelayValue(metadataSource));
+    this.doConfigureAction(action, metadataSource);
     action.setVolumeId(volume);
+    action.setListIssues(this.doGetFlag(metadataSource, PROPERTY_LIST_ISSUES));
 
     log.debug("Executing action");
-    final List<IssueDetailsMetadata> result = action.execute();
+    final List<IssueDetailsMetadata> result =
+        this.doRecordOperation("getAllIssues", volume, action::execute);
 
     log.debug("Returning {} issue{}", result.size(), result.size() == 1 ? "" : "s");
     return result;
@@ -153,6 +292,27 @@ public class ComicVineMetadataAdaptor extends AbstractMetadataAdaptor {
     return this.doGetIssue(volume, issueNumber, metadataSource, new ComicVineGetIssueAction());
   }
 
+  /**
+   * Retrieves a single issue by its number, failing if it is not received before the deadline.
+   *
+   * @param volume the volume id
+   * @param issueNumber the issue number
+   * @param metadataSource the metadata source
+   * @param deadline the longest time to wait
+   * @return the issue, or null if it was not found
+   * @throws MetadataException if an error occurs
+   */
+  public IssueMetadata doGetIssue(
+      final String volume,
+      final String issueNumber,
+      final MetadataSource metadataSource,
+      final Duration deadline)
+      throws MetadataException {
+    final ComicVineGetIssueAction action = new ComicVineGetIssueAction();
+    action.setDeadline(deadline);
+    return this.doGetIssue(volume, issueNumber, metadataSource, action);
+  }
+
   IssueMetadata doGetIssue(
       final String volume,
       final String issueNumber,
@@ -161,13 +321,13 @@ public class ComicVineMetadataAdaptor extends AbstractMetadataAdaptor {
       throws MetadataException {
     log.debug("Fetching issue from ComicVine: volume={} issueNumber={}", volume, issueNumber);
 
-    action.setBaseUrl(BASE_URL);
-    action.setApiKey(
-        this.getSourcePropertyByName(metadataSource.getProperties(), PROPERTY_API_KEY, true));
+    this.doConfigureAction(action, metadataSource);
     action.setVolumeId(volume);
     action.setIssueNumber(issueNumber);
+    action.setUseIndex(this.doGetFlag(metadataSource, PROPERTY_ISSUE_INDEX));
 
-    final List<IssueMetadata> result = action.execute();
+    final List<IssueMetadata> result =
+        this.doRecordOperation("getIssue", volume + "#" + issueNumber, action::execute);
 
     return result.isEmpty() ? null : result.get(0);
   }
@@ -178,6 +338,24 @@ public class ComicVineMetadataAdaptor extends AbstractMetadataAdaptor {
     return this.doGetIssueDetails(issueId, metadataSource, new ComicVineGetIssueDetailsAction());
   }
 
+  /**
+   * Retrieves the details for a single issue, failing if they are not received before the
+   * deadline.
+   *
+   * @param issueId the issue id
+   * @param metadataSource the metadata source
+   * @param deadline the longest time to wait
+   * @return the issue details
+   * @throws MetadataException if an error occurs
+   */
+  public IssueDetailsMetadata getIssueDetails(
+      final String issueId, final MetadataSource metadataSource, final Duration deadline)
+      throws MetadataException {
+    final ComicVineGetIssueDetailsAction action = new ComicVineGetIssueDetailsAction();
+    action.setDeadline(deadline);
+    return this.doGetIssueDetails(issueId, metadataSource, action);
+  }
+
   IssueDetailsMetadata doGetIssueDetails(
       final String issueId,
       final MetadataSource metadataSource,
@@ -185,12 +363,317 @@ public class ComicVineMetadataAdaptor extends AbstractMetadataAdaptor {
       throws MetadataException {
     log.debug("Fetching issue details: issueId={}", issueId);
 
-    action.setBaseUrl(BASE_URL);
-    action.setApiKey(
-        this.getSourcePropertyByName(metadataSource.getProperties(), PROPERTY_API_KEY, true));
+    this.doConfigureAction(action, metadataSource);
+    action.setIssueId(issueId);
+
+    return this.doRecordOperation("getIssueDetails", issueId, action::execute);
+  }
+
+  /**
+   * Retrieves the stories matching the given name without blocking.
+   *
+   * @param storyName the story name
+   * @param maxRecords the maximum records to return
+   * @param metadataSource the metadata source
+   * @return the stories
+   */
+  public Mono<List<StoryMetadata>> getStoriesAsync(
+      final String storyName, final Integer maxRecords, final MetadataSource metadataSource) {
+    return this.doGetStoriesAsync(
+        storyName, maxRecords, metadataSource, new ComicVineGetStoriesAction());
+  }
+
+  Mono<List<StoryMetadata>> doGetStoriesAsync(
+      final String storyName,
+      final Integer maxRecords,
+      final MetadataSource metadataSource,
+      final ComicVineGetStoriesAction action) {
+    log.debug("Fetching stories from ComicVine asynchronously: storyName={}", storyName);
+    action.setStoryName(storyName);
+    action.setMaxRecords(maxRecords);
+    return this.doExecuteAsync("getStoriesAsync", storyName, action, metadataSource);
+  }
+
+  /**
+   * Retrieves the details for a single story without blocking.
+   *
+   * @param referenceId the story reference id
+   * @param metadataSource the metadata source
+   * @return the story details
+   */
+  public Mono<StoryDetailMetadata> getStoryAsync(
+      final String referenceId, final MetadataSource metadataSource) {
+    return this.doGetStoryAsync(referenceId, metadataSource, new ComicVineGetStoryDetailAction());
+  }
+
+  Mono<StoryDetailMetadata> doGetStoryAsync(
+      final String referenceId,
+      final MetadataSource metadataSource,
+      final ComicVineGetStoryDetailAction action) {
+    log.debug("Fetching story details asynchronously: referenceId={}", referenceId);
+    action.setReferenceId(referenceId);
+    return this.doExecuteAsync("getStoryAsync", referenceId, action, metadataSource);
+  }
+
+  /**
+   * Streams the stories matching the given name, emitting them as each page of results arrives.
+   *
+   * @param storyName the story name
+   * @param maxRecords the maximum records to return
+   * @param metadataSource the metadata source
+   * @return the stories
+   */
+  public Flux<StoryMetadata> streamStories(
+      final String storyName, final Integer maxRecords, final MetadataSource metadataSource) {
+    return this.doStreamStories(
+        storyName, maxRecords, metadataSource, new ComicVineGetStoriesAction());
+  }
+
+  Flux<StoryMetadata> doStreamStories(
+      final String storyName,
+      final Integer maxRecords,
+      final MetadataSource metadataSource,
+      final ComicVineGetStoriesAction action) {
+    log.debug("Streaming stories from ComicVine: storyName={}", storyName);
+    try {
+      this.doConfigureAction(action, metadataSource);
+    } catch (MetadataException error) {
+      return Flux.error(error);
+    }
+    action.setStoryName(storyName);
+    action.setMaxRecords(maxRecords);
+    return this.doRecordOperation("streamStories", storyName, action.executeStream());
+  }
+
+  /**
+   * Retrieves the volumes matching the given series name without blocking.
+   *
+   * @param seriesName the series name
+   * @param maxRecords the maximum records to return
+   * @param metadataSource the metadata source
+   * @return the volumes
+   */
+  public Mono<List<VolumeMetadata>> getVolumesAsync(
+      final String seriesName, final Integer maxRecords, final MetadataSource metadataSource) {
+    return this.doGetVolumesAsync(
+        seriesName, maxRecords, metadataSource, new ComicVineGetVolumesAction());
+  }
+
+  /**
+   * Retrieves the volumes matching the given series name without blocking, emitting those received
+   * before the deadline.
+   *
+   * @param seriesName the series name
+   * @param maxRecords the maximum records to return
+   * @param metadataSource the metadata source
+   * @param deadline the longest time to wait
+   * @return the volumes
+   */
+  public Mono<List<VolumeMetadata>> getVolumesAsync(
+      final String seriesName,
+      final Integer maxRecords,
+      final MetadataSource metadataSource,
+      final Duration deadline) {
+    final ComicVineGetVolumesAction action = new ComicVineGetVolumesAction();
+    action.setDeadline(deadline);
+    return this.doGetVolumesAsync(seriesName, maxRecords, metadataSource, action);
+  }
+
+  Mono<List<VolumeMetadata>> doGetVolumesAsync(
+      final String seriesName,
+      final Integer maxRecords,
+      final MetadataSource metadataSource,
+      final ComicVineGetVolumesAction action) {
+    log.debug("Fetching volumes from ComicVine asynchronously: seriesName={}", seriesName);
+    action.setSeries(seriesName);
+    action.setMaxRecords(maxRecords);
+    return this.doExecuteAsync("getVolumesAsync", seriesName, action, metadataSource);
+  }
+
+  /**
+   * Streams the volumes matching the given series name, emitting them as each page of results
+   * arrives.
+   *
+   * @param seriesName the series name
+   * @param maxRecords the maximum records to return
+   * @param metadataSource the metadata source
+   * @return the volumes
+   */
+  public Flux<VolumeMetadata> streamVolumes(
+      final String seriesName, final Integer maxRecords, final MetadataSource metadataSource) {
+    return this.doStreamVolumes(
+        seriesName, maxRecords, metadataSource, new ComicVineGetVolumesAction());
+  }
+
+  /**
+   * Streams the volumes matching the given series name, ending the stream when the deadline is
+   * reached.
+   *
+   * @param seriesName the series name
+   * @param maxRecords the maximum records to return
+   * @param metadataSource the metadata source
+   * @param deadline the longest time to wait
+   * @return the volumes
+   */
+  public Flux<VolumeMetadata> streamVolumes(
+      final String seriesName,
+      final Integer maxRecords,
+      final MetadataSource metadataSource,
+      final Duration deadline) {
+    final ComicVineGetVolumesAction action = new ComicVineGetVolumesAction();
+    action.setDeadline(deadline);
+    return this.doStreamVolumes(seriesName, maxRecords, metadataSource, action);
+  }
+
+  Flux<VolumeMetadata> doStreamVolumes(
+      final String seriesName,
+      final Integer maxRecords,
+      final MetadataSource metadataSource,
+      final ComicVineGetVolumesAction action) {
+    log.debug("Streaming volumes from ComicVine: seriesName={}", seriesName);
+    try {
+      this.doConfigureAction(action, metadataSource);
+    } catch (MetadataException error) {
+      return Flux.error(error);
+    }
+    action.setSeries(seriesName);
+    action.setMaxRecords(maxRecords);
+    return this.doRecordOperation("streamVolumes", seriesName, action.executeStream());
+  }
+
+  /**
+   * Retrieves every issue for a volume without blocking.
+   *
+   * @param volume the volume id
+   * @param metadataSource the metadata source
+   * @return the issues
+   */
+  public Mono<List<IssueDetailsMetadata>> getAllIssuesAsync(
+      final String volume, final MetadataSource metadataSource) {
+    return this.doGetAllIssuesAsync(volume, metadataSource, new ComicVineGetAllIssuesAction());
+  }
+
+  /**
+   * Retrieves every issue for a volume without blocking, failing if they are not received before
+   * the deadline.
+   *
+   * @param volume the volume id
+   * @param metadataSource the metadata source
+   * @param deadline the longest time to wait
+   * @return the issues
+   */
+  public Mono<List<IssueDetailsMetadata>> getAllIssuesAsync(
+      final String volume, final MetadataSource metadataSource, final Duration deadline) {
+    final ComicVineGetAllIssuesAction action = new ComicVineGetAllIssuesAction();
+    action.setDeadline(deadline);
+    return this.doGetAllIssuesAsync(volume, metadataSource, action);
+  }
+
+  Mono<List<IssueDetailsMetadata>> doGetAllIssuesAsync(
+      final String volume,
+      final MetadataSource metadataSource,
+      final ComicVineGetAllIssuesAction action) {
+    log.debug("Fetching all issues from ComicVine asynchronously: volume={}", volume);
+    action.setVolumeId(volume);
+    action.setListIssues(this.doGetFlag(metadataSource, PROPERTY_LIST_ISSUES));
+    return this.doExecuteAsync("getAllIssuesAsync", volume, action, metadataSource);
+  }
+
+  /**
+   * Retrieves the details for a single issue without blocking.
+   *
+   * @param issueId the issue id
+   * @param metadataSource the metadata source
+   * @return the issue details
+   */
+  public Mono<IssueDetailsMetadata> getIssueDetailsAsync(
+      final String issueId, final MetadataSource metadataSource) {
+    return this.doGetIssueDetailsAsync(
+        issueId, metadataSource, new ComicVineGetIssueDetailsAction());
+  }
+
+  /**
+   * Retrieves the details for a single issue without blocking, failing if they are not received
+   * before the deadline.
+   *
+   * @param issueId the issue id
+   * @param metadataSource the metadata source
+   * @param deadline the longest time to wait
+   * @return the issue details
+   */
+  public Mono<IssueDetailsMetadata> getIssueDetailsAsync(
+      final String issueId, final MetadataSource metadataSource, final Duration deadline) {
+    final ComicVineGetIssueDetailsAction action = new ComicVineGetIssueDetailsAction();
+    action.setDeadline(deadline);
+    return this.doGetIssueDetailsAsync(issueId, metadataSource, action);
+  }
+
+  Mono<IssueDetailsMetadata> doGetIssueDetailsAsync(
+      final String issueId,
+      final MetadataSource metadataSource,
+      final ComicVineGetIssueDetailsAction action) {
+    log.debug("Fetching issue details asynchronously: issueId={}", issueId);
     action.setIssueId(issueId);
+    return this.doExecuteAsync("getIssueDetailsAsync", issueId, action, metadataSource);
+  }
+
+  /**
+   * Scrapes the details for many issues at once. Each issue appears in the result either with its
+   * details or with the reason it could not be scraped.
+   *
+   * @param issues the issues
+   * @param metadataSource the metadata source
+   * @return the result
+   * @throws MetadataException if an error occurs
+   */
+  public ComicVineBulkScrapeResult scrapeIssues(
+      final Collection<ComicVineIssueReference> issues, final MetadataSource metadataSource)
+      throws MetadataException {
+    return this.doScrapeIssues(issues, metadataSource, new ComicVineBulkScrapeAction());
+  }
+
+  ComicVineBulkScrapeResult doScrapeIssues(
+      final Collection<ComicVineIssueReference> issues,
+      final MetadataSource metadataSource,
+      final ComicVineBulkScrapeAction action)
+      throws MetadataException {
+    log.debug("Scraping issues in bulk: count={}", issues.size());
+
+    this.doConfigureAction(action, metadataSource);
+    action.setIssues(issues);
+
+    log.debug("Executing action");
+    final ComicVineBulkScrapeResult result =
+        this.doRecordOperation(
+            "scrapeIssues", String.valueOf(issues.size()), action::execute);
+
+    log.debug(
+        "Scraped {} issue(s) with {} failure(s)",
+        result.getResults().size(),
+        result.getFailures().size());
+    return result;
+  }
 
-    return action.execute();
+  /**
+   * Scrapes the details for many issues at once without blocking.
+   *
+   * @param issues the issues
+   * @param metadataSource the metadata source
+   * @return the result
+   */
+  public Mono<ComicVineBulkScrapeResult> scrapeIssuesAsync(
+      final Collection<ComicVineIssueReference> issues, final MetadataSource metadataSource) {
+    return this.doScrapeIssuesAsync(issues, metadataSource, new ComicVineBulkScrapeAction());
+  }
+
+  Mono<ComicVineBulkScrapeResult> doScrapeIssuesAsync(
+      final Collection<ComicVineIssueReference> issues,
+      final MetadataSource metadataSource,
+      final ComicVineBulkScrapeAction action) {
+    log.debug("Scraping issues in bulk asynchronously: count={}", issues.size());
+    action.setIssues(issues);
+    return this.doExecuteAsync(
+        "scrapeIssuesAsync", String.valueOf(issues.size()), action, metadataSource);
   }
 
   @Override
@@ -204,8 +687,216 @@ public class ComicVineMetadataAdaptor extends AbstractMetadataAdaptor {
     return referenceId;
   }
 
+  private <T> Mono<T> doExecuteAsync(
+      final String operation,
+      final String subject,
+      final AbstractComicVineScrapingAction<T> action,
+      final MetadataSource metadataSource) {
+    try {
+      this.doConfigureAction(action, metadataSource);
+    } catch (MetadataException error) {
+      return Mono.error(error);
+    }
+    log.debug("Executing action");
+    return this.doRecordOperation(operation, subject, action.executeAsync());
+  }
+
+  private <T> T doRecordOperation(
+      final String operation, final String subject, final Operation<T> call)
+      throws MetadataException {
+    final ComicVineOperationEvent event = new ComicVineOperationEvent();
+    event.begin();
+    boolean success = false;
+    try {
+      final T result = call.execute();
+      success = true;
+      return result;
+    } finally {
+      this.doCommitOperationEvent(event, operation, subject, success);
+    }
+  }
+
+  private <T> Mono<T> doRecordOperation(
+      final String operation, final String subject, final Mono<T> request) {
+    return Mono.defer(
+        () -> {
+          final ComicVineOperationEvent event = new ComicVineOperationEvent();
+          final AtomicBoolean success = new AtomicBoolean(false);
+          event.begin();
+          return request
+              .doOnSuccess(result -> success.set(true))
+              .doFinally(
+                  signal -> this.doCommitOperationEvent(event, operation, subject, success.get()));
+        });
+  }
+
+  private <T> Flux<T> doRecordOperation(
+      final String operation, final String subject, final Flux<T> request) {
+    return Flux.defer(
+        () -> {
+          final ComicVineOperationEvent event = new ComicVineOperationEvent();
+          final AtomicBoolean success = new AtomicBoolean(false);
+          event.begin();
+          return request
+              .doOnComplete(() -> success.set(true))
+              .doFinally(
+                  signal -> this.doCommitOperationEvent(event, operation, subject, success.get()));
+        });
+  }
+
+  private void doCommitOperationEvent(
+      final ComicVineOperationEvent event,
+      final String operation,
+      final String subject,
+      final boolean success) {
+    event.end();
+    if (!event.shouldCommit()) return;
+    event.setOperation(operation);
+    event.setSubject(subject);
+    event.setSuccess(success);
+    event.commit();
+  }
+
+  private void doConfigureAction(
+      final AbstractComicVineScrapingAction<?> action, final MetadataSource metadataSource)
+      throws MetadataException {
+    final ComicVineClient client = this.doGetClient(metadataSource);
+    action.setBaseUrl(client.getBaseUrl());
+    action.setClient(client);
+    final String apiKey =
+        this.getSourcePropertyByName(metadataSource.getProperties(), PROPERTY_API_KEY, true);
+    action.setApiKey(apiKey);
+    client.getRateLimiter(apiKey).setDelay(this.doGetDelayValue(metadataSource));
+  }
+
+  /**
+   * Applies the source's settings to the shared client. The client ignores settings it already has,
+   * and a setting missing from the source is returned to its default, so the client always matches
+   * the most recently used source.
+   */
+  private ComicVineClient doGetClient(final MetadataSource metadataSource) {
+    this.client.configure(
+        Objects.requireNonNullElse(
+            this.doGetCount(metadataSource, PROPERTY_MAX_CONNECTIONS),
+            ComicVineClient.DEFAULT_MAX_CONNECTIONS),
+        Objects.requireNonNullElse(
+            this.doGetDuration(metadataSource, PROPERTY_CONNECT_TIMEOUT, ChronoUnit.SECONDS),
+            ComicVineClient.DEFAULT_CONNECT_TIMEOUT),
+        Objects.requireNonNullElse(
+            this.doGetDuration(metadataSource, PROPERTY_RESPONSE_TIMEOUT, ChronoUnit.SECONDS),
+            ComicVineClient.DEFAULT_RESPONSE_TIMEOUT));
+    this.doConfigureCircuitBreaker(metadataSource);
+    this.doConfigureResponseCache(metadataSource);
+    this.doConfigureQuotaTracker(metadataSource);
+    return this.client;
+  }
+
+  private void doConfigureCircuitBreaker(final MetadataSource metadataSource) {
+    final ComicVineCircuitBreaker circuitBreaker = this.client.getCircuitBreaker();
+    circuitBreaker.setFailureThreshold(
+        Objects.requireNonNullElse(
+            this.doGetCount(metadataSource, PROPERTY_BREAKER_FAILURE_THRESHOLD),
+            ComicVineCircuitBreaker.DEFAULT_FAILURE_THRESHOLD));
+    circuitBreaker.setSlowCallThreshold(
+        Objects.requireNonNullElse(
+            this.doGetDuration(
+                metadataSource, PROPERTY_BREAKER_SLOW_CALL_THRESHOLD, ChronoUnit.SECONDS),
+            ComicVineCircuitBreaker.DEFAULT_SLOW_CALL_THRESHOLD));
+    circuitBreaker.setOpenDuration(
+        Objects.requireNonNullElse(
+            this.doGetDuration(metadataSource, PROPERTY_BREAKER_OPEN_DURATION, ChronoUnit.SECONDS),
+            ComicVineCircuitBreaker.DEFAULT_OPEN_DURATION));
+    circuitBreaker.setTrialCalls(
+        Objects.requireNonNullElse(
+            this.doGetCount(metadataSource, PROPERTY_BREAKER_TRIAL_CALLS),
+            ComicVineCircuitBreaker.DEFAULT_TRIAL_CALLS));
+  }
+
+  private void doConfigureResponseCache(final MetadataSource metadataSource) {
+    String enabled = null;
+    String directory = null;
+    try {
+      enabled =
+          this.getSourcePropertyByName(
+              metadataSource.getProperties(), PROPERTY_CACHE_ENABLED, false);
+      directory =
+          this.getSourcePropertyByName(
+              metadataSource.getProperties(), PROPERTY_CACHE_DIRECTORY, false);
+    } catch (MetadataException error) {
+      log.error("Failed to load response cache properties", error);
+    }
+    final ComicVineResponseCache responseCache = this.client.getResponseCache();
+    if (!Objects.isNull(enabled) && !Boolean.parseBoolean(enabled)) {
+      responseCache.setDirectory(null);
+    } else if (!Objects.isNull(directory)) {
+      responseCache.setDirectory(Path.of(directory));
+    } else {
+      responseCache.setDirectory(RESPONSE_CACHE);
+    }
+    final Integer maxSize = this.doGetCount(metadataSource, PROPERTY_CACHE_MAX_SIZE);
+    responseCache.setMaxSize(
+        Objects.isNull(maxSize)
+            ? ComicVineResponseCache.DEFAULT_MAX_SIZE
+            : maxSize * BYTES_PER_MEGABYTE);
+    ComicVineResponseCache.DEFAULT_TIMES_TO_LIVE.forEach(
+        (resource, timeToLive) -> {
+          final Duration defined =
+              this.doGetDuration(
+                  metadataSource, CACHE_TIME_TO_LIVE_PROPERTIES.get(resource), ChronoUnit.MINUTES);
+          responseCache.setTimeToLive(
+              resource, Objects.isNull(defined) ? timeToLive : defined.toMillis());
+        });
+  }
+
+  private void doConfigureQuotaTracker(final MetadataSource metadataSource) {
+    String storage = null;
+    try {
+      storage =
+          this.getSourcePropertyByName(metadataSource.getProperties(), PROPERTY_QUOTA_FILE, false);
+    } catch (MetadataException error) {
+      log.error("Failed to load property: " + PROPERTY_QUOTA_FILE, error);
+    }
+    this.client
+        .getQuotaTracker()
+        .setStorage(Objects.isNull(storage) ? QUOTA_STORAGE : Path.of(storage));
+  }
+
+  private Integer doGetCount(final MetadataSource metadataSource, final String property) {
+    try {
+      final String defined =
+          this.getSourcePropertyByName(metadataSource.getProperties(), property, false);
+      if (!Objects.isNull(defined)) return Integer.parseInt(defined);
+    } catch (MetadataException | NumberFormatException error) {
+      log.error("Failed to load property: " + property, error);
+    }
+    return null;
+  }
+
+  private Duration doGetDuration(
+      final MetadataSource metadataSource, final String property, final ChronoUnit unit) {
+    try {
+      final String defined =
+          this.getSourcePropertyByName(metadataSource.getProperties(), property, false);
+      if (!Objects.isNull(defined)) return Duration.of(Long.parseLong(defined), unit);
+    } catch (MetadataException | NumberFormatException error) {
+      log.error("Failed to load property: " + property, error);
+    }
+    return null;
+  }
+
+  private boolean doGetFlag(final MetadataSource metadataSource, final String property) {
+    try {
+      return Boolean.parseBoolean(
+          this.getSourcePropertyByName(metadataSource.getProperties(), property, false));
+    } catch (MetadataException error) {
+      log.error("Failed to load property: " + property, error);
+      return false;
+    }
+  }
+
   private long doGetDelayValue(final MetadataSource metadataSource) {
-    long result = MINIMUM_DELAY_VALUE;
+    final long minimumDelay = this.client.getMinimumDelay();
+    long result = minimumDelay;
     try {
       final String defined =
           this.getSourcePropertyByName(metadataSource.getProperties(), PROPERTY_DELAY, false);
@@ -215,10 +906,16 @@ public class ComicVineMetadataAdaptor extends AbstractMetadataAdaptor {
     } catch (MetadataException | NumberFormatException error) {
       log.error("Failed to load property: " + PROPERTY_DELAY, error);
     }
-    if (result < MINIMUM_DELAY_VALUE) {
-      result = MINIMUM_DELAY_VALUE;
+    if (result < minimumDelay) {
+      result = minimumDelay;
     }
     log.trace("Returning delay value: {}", result);
     return result;
   }
+
+  @FunctionalInterface
+  private interface Operation<T> {
+    T execute() throws MetadataException;
+  }
+
 }
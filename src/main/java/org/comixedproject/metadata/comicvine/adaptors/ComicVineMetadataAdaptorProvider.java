@@ -18,10 +18,14 @@
 
 package org.comixedproject.metadata.comicvine.adaptors;
 
+import java.nio.file.Path;
 import lombok.extern.log4j.Log4j2;
 import org.comixedproject.metadata.AbstractMetadataAdaptorProvider;
 import org.comixedproject.metadata.MetadataAdaptorProvider;
 import org.comixedproject.metadata.adaptors.MetadataAdaptor;
+import org.comixedproject.metadata.comicvine.client.ComicVineClient;
+import org.comixedproject.metadata.comicvine.client.ComicVineMetrics;
+import org.comixedproject.metadata.comicvine.client.ComicVineMicrometerMetrics;
 
 /**
  * <code>ComicVineMetadataAdaptorProvider</code> defines a {@link MetadataAdaptorProvider} for the
@@ -40,6 +44,32 @@ public class ComicVineMetadataAdaptorProvider extends AbstractMetadataAdaptorPro
   private static final String VERSION = "3.1-SNAPSHOT";
   private static final String HOMEPAGE = "http://www.github.com/comixed/comixed-metadata-comicvine";
   static final String PROPERTY_DELAY = "comic-vine.delay";
+  static final String PROPERTY_MAX_CONNECTIONS = "comic-vine.max-connections";
+  static final String PROPERTY_LIST_ISSUES = "comic-vine.list-issues";
+  static final String PROPERTY_ISSUE_INDEX = "comic-vine.issue-index";
+  static final String PROPERTY_CONNECT_TIMEOUT = "comic-vine.connect-timeout";
+  static final String PROPERTY_RESPONSE_TIMEOUT = "comic-vine.response-timeout";
+  static final String PROPERTY_BREAKER_FAILURE_THRESHOLD = "comic-vine.breaker.failure-threshold";
+  static final String PROPERTY_BREAKER_SLOW_CALL_THRESHOLD =
+      "comic-vine.breaker.slow-call-threshold";
+  static final String PROPERTY_BREAKER_OPEN_DURATION = "comic-vine.breaker.open-duration";
+  static final String PROPERTY_BREAKER_TRIAL_CALLS = "comic-vine.breaker.trial-calls";
+  static final String PROPERTY_CACHE_ENABLED = "comic-vine.cache-enabled";
+  static final String PROPERTY_CACHE_DIRECTORY = "comic-vine.cache-directory";
+  static final String PROPERTY_CACHE_MAX_SIZE = "comic-vine.cache-max-size";
+  static final String PROPERTY_CACHE_PUBLISHER_TTL = "comic-vine.cache-ttl.publisher";
+  static final String PROPERTY_CACHE_VOLUME_TTL = "comic-vine.cache-ttl.volume";
+  static final String PROPERTY_CACHE_ISSUE_TTL = "comic-vine.cache-ttl.issue";
+  static final String PROPERTY_CACHE_STORY_ARC_TTL = "comic-vine.cache-ttl.story-arc";
+  static final String PROPERTY_CACHE_SEARCH_TTL = "comic-vine.cache-ttl.search";
+  static final String PROPERTY_QUOTA_FILE = "comic-vine.quota-file";
+  static final String MICROMETER_CLASS = "io.micrometer.core.instrument.Metrics";
+  static final Path QUOTA_STORAGE =
+      Path.of(System.getProperty("user.home"), ".comixed", "comicvine-quota.json");
+  static final Path RESPONSE_CACHE =
+      Path.of(System.getProperty("user.home"), ".comixed", "comicvine-cache");
+
+  private final ComicVineClient client = new ComicVineClient();
 
   /** Creates a default instance. */
   public ComicVineMetadataAdaptorProvider() {
@@ -47,16 +77,47 @@ public class ComicVineMetadataAdaptorProvider extends AbstractMetadataAdaptorPro
 
     this.addProperty(PROPERTY_API_KEY);
     this.addProperty(PROPERTY_DELAY);
+    this.addProperty(PROPERTY_MAX_CONNECTIONS);
+    this.addProperty(PROPERTY_LIST_ISSUES);
+    this.addProperty(PROPERTY_ISSUE_INDEX);
+    this.addProperty(PROPERTY_CONNECT_TIMEOUT);
+    this.addProperty(PROPERTY_RESPONSE_TIMEOUT);
+    this.addProperty(PROPERTY_BREAKER_FAILURE_THRESHOLD);
+    this.addProperty(PROPERTY_BREAKER_SLOW_CALL_THRESHOLD);
+    this.addProperty(PROPERTY_BREAKER_OPEN_DURATION);
+    this.addProperty(PROPERTY_BREAKER_TRIAL_CALLS);
+    this.addProperty(PROPERTY_CACHE_ENABLED);
+    this.addProperty(PROPERTY_CACHE_DIRECTORY);
+    this.addProperty(PROPERTY_CACHE_MAX_SIZE);
+    this.addProperty(PROPERTY_CACHE_PUBLISHER_TTL);
+    this.addProperty(PROPERTY_CACHE_VOLUME_TTL);
+    this.addProperty(PROPERTY_CACHE_ISSUE_TTL);
+    this.addProperty(PROPERTY_CACHE_STORY_ARC_TTL);
+    this.addProperty(PROPERTY_CACHE_SEARCH_TTL);
+    this.addProperty(PROPERTY_QUOTA_FILE);
+
+    this.client.setMetrics(this.doCreateMetrics());
   }
 
   @Override
   public MetadataAdaptor create() {
     log.debug("Creating an instance of the ComicVine metadata adaptor");
-    return new ComicVineMetadataAdaptor();
+    return new ComicVineMetadataAdaptor(this.client);
   }
 
   @Override
   public boolean supportedReference(final String reference) {
     return reference.matches(ComicVineMetadataAdaptor.REFERENCE_ID_PATTERN);
   }
+
+  private ComicVineMetrics doCreateMetrics() {
+    try {
+      Class.forName(MICROMETER_CLASS, false, this.getClass().getClassLoader());
+    } catch (ClassNotFoundException error) {
+      log.debug("Micrometer not found, ComicVine metrics are disabled");
+      return ComicVineMetrics.NONE;
+    }
+    log.debug("Recording ComicVine metrics to the global Micrometer registry");
+    return ComicVineMicrometerMetrics.forGlobalRegistry();
+  }
 }
@@ -0,0 +1,190 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.client;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * <code>ComicVineCache</code> is a bounded, in-memory cache for records loaded from ComicVine.
+ *
+ * <p>Entries expire once they are older than the time to live, and the least recently used entry
+ * is evicted when the cache is full. The number of hits and misses is counted so the cache's
+ * usefulness can be checked.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ * @author Darryl L. Pierce
+ */
+@Log4j2
+public class ComicVineCache<K, V> {
+  /** The default number of entries held. */
+  public static final int DEFAULT_MAX_SIZE = 1000;
+
+  /** The default time to live, in milliseconds. */
+  public static final long DEFAULT_TIME_TO_LIVE = TimeUnit.HOURS.toMillis(24L);
+
+  private final String name;
+  private final LongSupplier clock;
+  private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+  @Getter private int maxSize = DEFAULT_MAX_SIZE;
+  @Getter private long timeToLive = DEFAULT_TIME_TO_LIVE;
+  private long hits = 0L;
+  private long misses = 0L;
+
+  /**
+   * Creates an empty cache.
+   *
+   * @param name the cache name, used when logging
+   */
+  public ComicVineCache(final String name) {
+    this(name, System::currentTimeMillis);
+  }
+
+  ComicVineCache(final String name, final LongSupplier clock) {
+    this.name = name;
+    this.clock = clock;
+  }
+
+  /**
+   * Sets the maximum number of entries, evicting the least recently used entries if needed.
+   *
+   * @param maxSize the maximum number of entries
+   */
+  public synchronized void setMaxSize(final int maxSize) {
+    if (maxSize < 0) {
+      log.debug("Ignoring invalid {} cache size: {}", this.name, maxSize);
+      return;
+    }
+    this.maxSize = maxSize;
+    this.doEvict();
+  }
+
+  /**
+   * Sets how long entries are kept. A value of zero disables caching.
+   *
+   * @param timeToLive the time to live in milliseconds
+   */
+  public synchronized void setTimeToLive(final long timeToLive) {
+    this.timeToLive = Math.max(timeToLive, 0L);
+  }
+
+  /**
+   * Returns the value for the given key, or null if it is not cached or has expired.
+   *
+   * @param key the key
+   * @return the value
+   */
+  public synchronized V get(final K key) {
+    final Entry<V> entry = this.entries.get(key);
+    if (entry != null && entry.expires() > this.clock.getAsLong()) {
+      this.hits++;
+      log.trace("{} cache hit: {}", this.name, key);
+      return entry.value();
+    }
+    if (entry != null) this.entries.remove(key);
+    this.misses++;
+    log.trace("{} cache miss: {}", this.name, key);
+    return null;
+  }
+
+  /**
+   * Returns whether an unexpired value is held for the given key. Unlike {@link #get(Object)}, this
+   * is not counted as a hit or a miss.
+   *
+   * @param key the key
+   * @return true if the value is cached
+   */
+  public synchronized boolean contains(final K key) {
+    final Entry<V> entry = this.entries.get(key);
+    return entry != null && entry.expires() > this.clock.getAsLong();
+  }
+
+  /**
+   * Stores a value.
+   *
+   * @param key the key
+   * @param value the value
+   */
+  public synchronized void put(final K key, final V value) {
+    if (key == null || value == null || this.maxSize == 0 || this.timeToLive == 0L) return;
+    this.entries.put(key, new Entry<>(value, this.clock.getAsLong() + this.timeToLive));
+    this.doEvict();
+  }
+
+  /**
+   * Removes a single entry.
+   *
+   * @param key the key
+   */
+  public synchronized void invalidate(final K key) {
+    log.debug("Invalidating {} cache entry: {}", this.name, key);
+    this.entries.remove(key);
+  }
+
+  /** Removes every entry. */
+  public synchronized void invalidateAll() {
+    log.debug("Invalidating {} cache", this.name);
+    this.entries.clear();
+  }
+
+  /**
+   * Returns the number of entries held, including expired entries not yet removed.
+   *
+   * @return the entry count
+   */
+  public synchronized int getSize() {
+    return this.entries.size();
+  }
+
+  /**
+   * Returns the number of lookups that found a value.
+   *
+   * @return the hit count
+   */
+  public synchronized long getHits() {
+    return this.hits;
+  }
+
+  /**
+   * Returns the number of lookups that did not find a value.
+   *
+   * @return the miss count
+   */
+  public synchronized long getMisses() {
+    return this.misses;
+  }
+
+  private void doEvict() {
+    final Iterator<Map.Entry<K, Entry<V>>> iterator = this.entries.entrySet().iterator();
+    while (this.entries.size() > this.maxSize && iterator.hasNext()) {
+      final K key = iterator.next().getKey();
+      log.trace("Evicting {} cache entry: {}", this.name, key);
+      iterator.remove();
+    }
+  }
+
+  private record Entry<V>(V value, long expires) {}
+}
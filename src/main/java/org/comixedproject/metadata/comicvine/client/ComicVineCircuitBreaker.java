@@ -0,0 +1,251 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.client;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * <code>ComicVineCircuitBreaker</code> stops requests from being sent to ComicVine while it is down
+ * or too slow to answer.
+ *
+ * <p>Requests flow normally while the breaker is closed. Once enough requests in a row fail with a
+ * transport error, a timeout or a server error, or take longer than the slow call threshold, the
+ * breaker opens and new requests fail straight away instead of waiting on ComicVine. After the open
+ * duration the breaker is half open and lets a few trial requests through. If they succeed it
+ * closes again, and if any of them fails it opens for another period.
+ *
+ * <p>Errors that show ComicVine is answering, such as a missing record, a bad API key or a rate
+ * limit response, do not count as failures.
+ *
+ * @author Darryl L. Pierce
+ */
+@Log4j2
+public class ComicVineCircuitBreaker {
+  /** The default number of failures in a row that opens the breaker. */
+  public static final int DEFAULT_FAILURE_THRESHOLD = 5;
+
+  /** The default time after which a successful request still counts as a failure. */
+  public static final Duration DEFAULT_SLOW_CALL_THRESHOLD = Duration.ofSeconds(30L);
+
+  /** The default time the breaker stays open before trial requests are let through. */
+  public static final Duration DEFAULT_OPEN_DURATION = Duration.ofSeconds(30L);
+
+  /** The default number of trial requests let through while half open. */
+  public static final int DEFAULT_TRIAL_CALLS = 1;
+
+  /** The states of the breaker. */
+  public enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  private final LongSupplier clock;
+
+  @Getter private int failureThreshold = DEFAULT_FAILURE_THRESHOLD;
+  @Getter private Duration slowCallThreshold = DEFAULT_SLOW_CALL_THRESHOLD;
+  @Getter private Duration openDuration = DEFAULT_OPEN_DURATION;
+  @Getter private int trialCalls = DEFAULT_TRIAL_CALLS;
+
+  private State state = State.CLOSED;
+  private int failures = 0;
+  private int trials = 0;
+  private long openedAt = 0L;
+
+  /** Creates a closed breaker. */
+  public ComicVineCircuitBreaker() {
+    this(System::nanoTime);
+  }
+
+  ComicVineCircuitBreaker(final LongSupplier clock) {
+    this.clock = clock;
+  }
+
+  /**
+   * Returns whether the given error shows that ComicVine could not be reached or failed to answer.
+   *
+   * @param error the error
+   * @return true if the error counts as a failure
+   */
+  public static boolean isFailure(final Throwable error) {
+    return ComicVineRetryPolicy.isRetryable(error) && !ComicVineRetryPolicy.isRateLimited(error);
+  }
+
+  /**
+   * Returns the current state.
+   *
+   * @return the state
+   */
+  public synchronized State getState() {
+    this.doUpdateState();
+    return this.state;
+  }
+
+  /**
+   * Returns whether a request could be sent now, without reserving a trial request.
+   *
+   * @return true if requests are allowed
+   */
+  public synchronized boolean isCallPermitted() {
+    this.doUpdateState();
+    return this.state != State.OPEN;
+  }
+
+  /**
+   * Asks to send a request. While half open only the allowed number of trial requests are let
+   * through, and each must be reported with {@link #onSuccess(long)}, {@link #onError(Throwable,
+   * long)} or {@link #release()}.
+   *
+   * @return true if the request can be sent
+   */
+  public synchronized boolean tryAcquire() {
+    this.doUpdateState();
+    return switch (this.state) {
+      case CLOSED -> true;
+      case OPEN -> false;
+      case HALF_OPEN -> {
+        if (this.trials >= this.trialCalls) yield false;
+        this.trials++;
+        yield true;
+      }
+    };
+  }
+
+  /**
+   * Records a request that completed. A request slower than the slow call threshold counts as a
+   * failure.
+   *
+   * @param elapsed the time taken in nanoseconds
+   */
+  public synchronized void onSuccess(final long elapsed) {
+    if (elapsed > this.slowCallThreshold.toNanos()) {
+      log.debug("Slow ComicVine request: {}ms", TimeUnit.NANOSECONDS.toMillis(elapsed));
+      this.doRecordFailure();
+      return;
+    }
+    if (this.state == State.HALF_OPEN) {
+      log.info("Closing ComicVine circuit breaker");
+      this.state = State.CLOSED;
+      this.trials = 0;
+    }
+    this.failures = 0;
+  }
+
+  /**
+   * Records a request that failed. Errors that do not count as failures are recorded as a
+   * completed request.
+   *
+   * @param error the error
+   * @param elapsed the time taken in nanoseconds
+   */
+  public synchronized void onError(final Throwable error, final long elapsed) {
+    if (isFailure(error)) this.doRecordFailure();
+    else this.onSuccess(elapsed);
+  }
+
+  /** Records a request that was cancelled, freeing its trial slot without changing the state. */
+  public synchronized void release() {
+    if (this.state == State.HALF_OPEN && this.trials > 0) this.trials--;
+  }
+
+  /**
+   * Sets the number of failures in a row that opens the breaker.
+   *
+   * @param failureThreshold the number of failures
+   */
+  public synchronized void setFailureThreshold(final int failureThreshold) {
+    if (failureThreshold < 1) {
+      log.debug("Ignoring invalid failure threshold: {}", failureThreshold);
+      return;
+    }
+    this.failureThreshold = failureThreshold;
+  }
+
+  /**
+   * Sets the time after which a successful request still counts as a failure.
+   *
+   * @param slowCallThreshold the time
+   */
+  public synchronized void setSlowCallThreshold(final Duration slowCallThreshold) {
+    if (slowCallThreshold == null || slowCallThreshold.isNegative()) {
+      log.debug("Ignoring invalid slow call threshold: {}", slowCallThreshold);
+      return;
+    }
+    this.slowCallThreshold = slowCallThreshold;
+  }
+
+  /**
+   * Sets the time the breaker stays open before trial requests are let through.
+   *
+   * @param openDuration the time
+   */
+  public synchronized void setOpenDuration(final Duration openDuration) {
+    if (openDuration == null || openDuration.isNegative()) {
+      log.debug("Ignoring invalid open duration: {}", openDuration);
+      return;
+    }
+    this.openDuration = openDuration;
+  }
+
+  /**
+   * Sets the number of trial requests let through while half open.
+   *
+   * @param trialCalls the number of trial requests
+   */
+  public synchronized void setTrialCalls(final int trialCalls) {
+    if (trialCalls < 1) {
+      log.debug("Ignoring invalid trial call count: {}", trialCalls);
+      return;
+    }
+    this.trialCalls = trialCalls;
+  }
+
+  private void doRecordFailure() {
+    if (this.state == State.HALF_OPEN) {
+      this.doOpen();
+      return;
+    }
+    this.failures++;
+    if (this.state == State.CLOSED && this.failures >= this.failureThreshold) this.doOpen();
+  }
+
+  private void doOpen() {
+    log.warn(
+        "Opening ComicVine circuit breaker for {}s after {} failure(s)",
+        this.openDuration.toSeconds(),
+        Math.max(this.failures, 1));
+    this.state = State.OPEN;
+    this.openedAt = this.clock.getAsLong();
+    this.failures = 0;
+    this.trials = 0;
+  }
+
+  private void doUpdateState() {
+    if (this.state == State.OPEN
+        && this.clock.getAsLong() - this.openedAt >= this.openDuration.toNanos()) {
+      log.info("ComicVine circuit breaker is half open");
+      this.state = State.HALF_OPEN;
+      this.trials = 0;
+    }
+  }
+}
@@ -0,0 +1,322 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.client;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.channel.ChannelOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.comixedproject.metadata.comicvine.model.ComicVineIssue;
+import org.comixedproject.metadata.comicvine.model.ComicVinePublisher;
+import org.comixedproject.metadata.comicvine.model.ComicVineVolume;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * <code>ComicVineClient</code> owns the long-lived, connection-pooled {@link WebClient} used by
+ * every ComicVine action.
+ *
+ * <p>Connections are kept alive and returned to the pool between requests, so consecutive requests
+ * to ComicVine reuse an open connection rather than performing a new TCP and TLS handshake. Since
+ * every connection is created from the same client, the default SSL context is shared and TLS
+ * sessions are resumed when a pooled connection does need to be replaced. Opening a connection and
+ * waiting for each part of a response are both limited in time, so a stalled connection fails
+ * rather than holding its caller forever.
+ *
+ * <p>It also holds the publisher and volume details already loaded, keyed by their API detail URL,
+ * so that scraping many issues from one volume only loads the volume and its publisher once. The
+ * index of each volume's issues is kept the same way, keyed by volume id. Raw responses can also
+ * be kept on disk with the {@link ComicVineResponseCache}, and identical requests sent at the same
+ * time share one call through the {@link ComicVineSingleFlight}. Requests that fail for a passing
+ * reason are sent again as decided by the {@link ComicVineRetryPolicy}, and the {@link
+ * ComicVineCircuitBreaker} stops requests from being sent at all while ComicVine is down. Every
+ * request is measured through the {@link ComicVineMetrics}.
+ *
+ * <p>Every action composes its requests reactively, so a lookup waiting on ComicVine does not hold
+ * a thread. Blocking work, such as decoding responses, runs on a bounded elastic thread pool.
+ *
+ * @author Darryl L. Pierce
+ */
+@Log4j2
+public class ComicVineClient {
+  /** The default server that requests are sent to. */
+  public static final String DEFAULT_BASE_URL = "https://comicvine.gamespot.com";
+
+  /** The default shortest delay, in seconds, allowed between requests. */
+  public static final long DEFAULT_MINIMUM_DELAY = 1L;
+
+  /** The default number of pooled connections. */
+  public static final int DEFAULT_MAX_CONNECTIONS = 16;
+
+  /** The default time allowed to open a connection. */
+  public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(10L);
+
+  /** The default time allowed between sending a request and each read of its response. */
+  public static final Duration DEFAULT_RESPONSE_TIMEOUT = Duration.ofSeconds(30L);
+
+  static final String POOL_NAME = "comicvine";
+  static final int MAX_IN_MEMORY_SIZE = 16 * 1024 * 1024;
+  static final Duration MAX_IDLE_TIME = Duration.ofSeconds(60L);
+  static final Duration MAX_LIFE_TIME = Duration.ofMinutes(10L);
+  static final Duration EVICTION_INTERVAL = Duration.ofSeconds(30L);
+  static final Duration POOL_DRAIN_TIMEOUT = Duration.ofMinutes(2L);
+
+  @Getter private String baseUrl = DEFAULT_BASE_URL;
+  @Getter private long minimumDelay = DEFAULT_MINIMUM_DELAY;
+  @Getter private int maxConnections;
+  @Getter private Duration connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+  @Getter private Duration responseTimeout = DEFAULT_RESPONSE_TIMEOUT;
+  @Getter private final ComicVineQuotaTracker quotaTracker = new ComicVineQuotaTracker();
+  @Getter private final ComicVineRetryPolicy retryPolicy = new ComicVineRetryPolicy();
+  @Getter private final ComicVineCircuitBreaker circuitBreaker = new ComicVineCircuitBreaker();
+  @Getter private ComicVineMetrics metrics = ComicVineMetrics.NONE;
+
+  @Getter private final ComicVineResponseCache responseCache = new ComicVineResponseCache();
+  @Getter private final ComicVineSingleFlight singleFlight = new ComicVineSingleFlight();
+
+  @Getter
+  private final ObjectMapper objectMapper =
+      new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+  @Getter
+  private final ComicVineCache<String, ComicVinePublisher> publisherCache =
+      new ComicVineCache<>("publisher");
+
+  @Getter
+  private final ComicVineCache<String, ComicVineVolume> volumeCache =
+      new ComicVineCache<>("volume");
+
+  @Getter
+  private final ComicVineCache<String, List<ComicVineIssue>> issueIndexCache =
+      new ComicVineCache<>("issue index");
+
+  private final Map<String, ComicVineRateLimiter> rateLimiters = new ConcurrentHashMap<>();
+  private ConnectionProvider connectionProvider;
+  private WebClient webClient;
+
+  /** Creates a client with the default connection pool size. */
+  public ComicVineClient() {
+    this(DEFAULT_MAX_CONNECTIONS);
+  }
+
+  /**
+   * Creates a client with the given connection pool size.
+   *
+   * @param maxConnections the maximum number of pooled connections
+   */
+  public ComicVineClient(final int maxConnections) {
+    this.maxConnections = maxConnections;
+  }
+
+  /**
+   * Sets the server that requests are sent to, such as a mirror or a simulated ComicVine server.
+   * Passing null restores the default.
+   *
+   * @param baseUrl the base URL
+   */
+  public void setBaseUrl(final String baseUrl) {
+    this.baseUrl = baseUrl != null ? baseUrl : DEFAULT_BASE_URL;
+  }
+
+  /**
+   * Sets the shortest delay, in seconds, allowed between requests. Any delay configured for a
+   * metadata source that is shorter is raised to this value.
+   *
+   * @param minimumDelay the delay
+   */
+  public void setMinimumDelay(final long minimumDelay) {
+    this.minimumDelay = Math.max(minimumDelay, 0L);
+  }
+
+  /**
+   * Sets the maximum number of pooled connections. If the value changes then a new pool is created
+   * on the next request and the current one is retired.
+   *
+   * @param maxConnections the maximum number of pooled connections
+   */
+  public synchronized void setMaxConnections(final int maxConnections) {
+    this.configure(maxConnections, this.connectTimeout, this.responseTimeout);
+  }
+
+  /**
+   * Sets the time allowed to open a connection. If the value changes then a new pool is created on
+   * the next request and the current one is retired.
+   *
+   * @param connectTimeout the timeout
+   */
+  public synchronized void setConnectTimeout(final Duration connectTimeout) {
+    this.configure(this.maxConnections, connectTimeout, this.responseTimeout);
+  }
+
+  /**
+   * Sets the time allowed between sending a request and each read of its response. If the value
+   * changes then a new pool is created on the next request and the current one is retired.
+   *
+   * @param responseTimeout the timeout
+   */
+  public synchronized void setResponseTimeout(final Duration responseTimeout) {
+    this.configure(this.maxConnections, this.connectTimeout, responseTimeout);
+  }
+
+  /**
+   * Sets the connection pool size and timeouts together. Invalid values are ignored. If any value
+   * changes then a new pool is created on the next request, and the current one is retired: it
+   * stops handing out connections but requests already using one are allowed to finish, for up to
+   * two minutes, before its connections are closed.
+   *
+   * @param maxConnections the maximum number of pooled connections
+   * @param connectTimeout the time allowed to open a connection
+   * @param responseTimeout the time allowed between sending a request and each read of its response
+   */
+  public synchronized void configure(
+      final int maxConnections, final Duration connectTimeout, final Duration responseTimeout) {
+    boolean changed = false;
+    if (maxConnections < 1) {
+      log.debug("Ignoring invalid connection pool size: {}", maxConnections);
+    } else if (this.maxConnections != maxConnections) {
+      log.debug("Changing connection pool size: {} => {}", this.maxConnections, maxConnections);
+      this.maxConnections = maxConnections;
+      changed = true;
+    }
+    if (!this.isValidTimeout(connectTimeout)) {
+      log.debug("Ignoring invalid connect timeout: {}", connectTimeout);
+    } else if (!this.connectTimeout.equals(connectTimeout)) {
+      log.debug("Changing connect timeout: {} => {}", this.connectTimeout, connectTimeout);
+      this.connectTimeout = connectTimeout;
+      changed = true;
+    }
+    if (!this.isValidTimeout(responseTimeout)) {
+      log.debug("Ignoring invalid response timeout: {}", responseTimeout);
+    } else if (!this.responseTimeout.equals(responseTimeout)) {
+      log.debug("Changing response timeout: {} => {}", this.responseTimeout, responseTimeout);
+      this.responseTimeout = responseTimeout;
+      changed = true;
+    }
+    if (changed) this.doRetirePool();
+  }
+
+  /**
+   * Sets where request measurements are recorded. Passing null stops recording them.
+   *
+   * @param metrics the metrics
+   */
+  public void setMetrics(final ComicVineMetrics metrics) {
+    this.metrics = metrics != null ? metrics : ComicVineMetrics.NONE;
+  }
+
+  /**
+   * Returns the shared web client, creating the connection pool if needed.
+   *
+   * @return the web client
+   */
+  public synchronized WebClient getWebClient() {
+    if (this.webClient == null) {
+      log.debug("Creating ComicVine connection pool: max connections={}", this.maxConnections);
+      this.connectionProvider =
+          ConnectionProvider.builder(POOL_NAME)
+              .maxConnections(this.maxConnections)
+              .maxIdleTime(MAX_IDLE_TIME)
+              .maxLifeTime(MAX_LIFE_TIME)
+              .evictInBackground(EVICTION_INTERVAL)
+              .disposeTimeout(POOL_DRAIN_TIMEOUT)
+              .build();
+      final HttpClient httpClient =
+          HttpClient.create(this.connectionProvider)
+              .keepAlive(true)
+              .compress(true)
+              .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) this.connectTimeout.toMillis())
+              .responseTimeout(this.responseTimeout);
+      this.webClient =
+          WebClient.builder()
+              .clientConnector(new ReactorClientHttpConnector(httpClient))
+              .exchangeStrategies(
+                  ExchangeStrategies.builder()
+                      .codecs(
+                          configurer ->
+                              configurer.defaultCodecs().maxInMemorySize(MAX_IN_MEMORY_SIZE))
+                      .build())
+              .build();
+    }
+    return this.webClient;
+  }
+
+  /**
+   * Returns the scheduler used for blocking work.
+   *
+   * @return the scheduler
+   */
+  public Scheduler getScheduler() {
+    return Schedulers.boundedElastic();
+  }
+
+  /**
+   * Returns the rate limiter shared by all requests sent through this client with the given API
+   * key.
+   *
+   * @param apiKey the API key
+   * @return the rate limiter
+   */
+  public ComicVineRateLimiter getRateLimiter(final String apiKey) {
+    return this.rateLimiters.computeIfAbsent(
+        apiKey, key -> new ComicVineRateLimiter(ComicVineRateLimiter.DEFAULT_CAPACITY));
+  }
+
+  /** Removes every cached publisher, volume, issue index and response. */
+  public void invalidateCaches() {
+    this.publisherCache.invalidateAll();
+    this.volumeCache.invalidateAll();
+    this.issueIndexCache.invalidateAll();
+    this.responseCache.invalidateAll();
+  }
+
+  /** Retires the connection pool and writes the request history. */
+  public synchronized void shutdown() {
+    log.debug("Shutting down ComicVine client");
+    this.quotaTracker.flush();
+    this.doRetirePool();
+  }
+
+  private boolean isValidTimeout(final Duration timeout) {
+    return timeout != null && !timeout.isNegative() && !timeout.isZero();
+  }
+
+  private void doRetirePool() {
+    if (this.connectionProvider != null) {
+      log.trace("Retiring ComicVine connection pool");
+      this.connectionProvider
+          .disposeLater()
+          .subscribe(
+              ignored -> {},
+              error -> log.debug("Failed to close ComicVine connection pool", error),
+              () -> log.trace("ComicVine connection pool closed"));
+    }
+    this.connectionProvider = null;
+    this.webClient = null;
+  }
+}
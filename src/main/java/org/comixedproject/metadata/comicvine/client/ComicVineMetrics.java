@@ -0,0 +1,100 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.client;
+
+/**
+ * <code>ComicVineMetrics</code> receives measurements of the requests sent to ComicVine.
+ *
+ * <p>Each measurement names the action that made the request, such as <code>
+ * ComicVineGetVolumesAction</code>, and the ComicVine resource requested, as returned by {@link
+ * ComicVineQuotaTracker#getResource(String)}. By default nothing is recorded. Measurements are
+ * only kept when Micrometer is available, using {@link ComicVineMicrometerMetrics}.
+ *
+ * @author Darryl L. Pierce
+ */
+public interface ComicVineMetrics {
+  /** Records nothing. */
+  ComicVineMetrics NONE = new ComicVineMetrics() {};
+
+  /**
+   * Returns whether measurements are kept. Measurements that are costly to take are skipped when
+   * they are not.
+   *
+   * @return true if measurements are kept
+   */
+  default boolean isEnabled() {
+    return false;
+  }
+
+  /**
+   * Records a request sent to ComicVine.
+   *
+   * @param action the action name
+   * @param resource the resource
+   * @param nanos the time taken in nanoseconds
+   * @param success true if a response was received
+   */
+  default void recordRequest(
+      final String action, final String resource, final long nanos, final boolean success) {}
+
+  /**
+   * Records the size of a response received from ComicVine.
+   *
+   * @param action the action name
+   * @param resource the resource
+   * @param bytes the size in bytes
+   */
+  default void recordResponseSize(final String action, final String resource, final long bytes) {}
+
+  /**
+   * Records the time spent decoding a response.
+   *
+   * @param action the action name
+   * @param resource the resource
+   * @param nanos the time taken in nanoseconds
+   */
+  default void recordDecode(final String action, final String resource, final long nanos) {}
+
+  /**
+   * Records a request being sent again after it failed.
+   *
+   * @param action the action name
+   * @param resource the resource
+   */
+  default void recordRetry(final String action, final String resource) {}
+
+  /**
+   * Records a response or record found in a cache, so no request was sent.
+   *
+   * @param action the action name
+   * @param resource the resource
+   */
+  default void recordCacheHit(final String action, final String resource) {}
+
+  /**
+   * Records the time a request waited before being sent.
+   *
+   * @param action the action name
+   * @param resource the resource
+   * @param limiter the limiter waited for, either <code>quota</code> or <code>rate</code>
+   * @param nanos the time waited in nanoseconds
+   */
+  default void recordWait(
+      final String action, final String resource, final String limiter, final long nanos) {}
+}
@@ -0,0 +1,152 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import lombok.Getter;
+
+/**
+ * <code>ComicVineMicrometerMetrics</code> records the measurements of ComicVine requests in a
+ * Micrometer {@link MeterRegistry}.
+ *
+ * <p>Every meter is tagged with the action and the resource. The following meters are recorded:
+ *
+ * <ul>
+ *   <li><code>comicvine.requests</code>: a timer of the requests sent, also tagged with their
+ *       outcome
+ *   <li><code>comicvine.response.size</code>: the size of each response received, in bytes
+ *   <li><code>comicvine.decode</code>: a timer of the time spent decoding responses
+ *   <li><code>comicvine.retries</code>: the number of requests sent again
+ *   <li><code>comicvine.cache.hits</code>: the number of requests answered from a cache
+ *   <li><code>comicvine.wait</code>: a timer of the time spent waiting for the hourly quota or the
+ *       rate limiter, also tagged with the limiter
+ * </ul>
+ *
+ * <p>Timers and the response size publish a histogram, so percentiles can be computed by the
+ * monitoring system.
+ *
+ * @author Darryl L. Pierce
+ */
+public class ComicVineMicrometerMetrics implements ComicVineMetrics {
+  static final String REQUESTS = "comicvine.requests";
+  static final String RESPONSE_SIZE = "comicvine.response.size";
+  static final String DECODE = "comicvine.decode";
+  static final String RETRIES = "comicvine.retries";
+  static final String CACHE_HITS = "comicvine.cache.hits";
+  static final String WAIT = "comicvine.wait";
+  static final String ACTION_TAG = "action";
+  static final String RESOURCE_TAG = "resource";
+  static final String OUTCOME_TAG = "outcome";
+  static final String LIMITER_TAG = "limiter";
+
+  @Getter private final MeterRegistry registry;
+
+  /**
+   * Creates an instance that records to the given registry.
+   *
+   * @param registry the registry
+   */
+  public ComicVineMicrometerMetrics(final MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  /**
+   * Returns an instance that records to Micrometer's global registry, which the application's own
+   * registries are normally added to. The return type does not name any Micrometer class, so
+   * callers can check that Micrometer is available before calling this method.
+   *
+   * @return the metrics
+   */
+  public static ComicVineMetrics forGlobalRegistry() {
+    return new ComicVineMicrometerMetrics(Metrics.globalRegistry);
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return true;
+  }
+
+  @Override
+  public void recordRequest(
+      final String action, final String resource, final long nanos, final boolean success) {
+    Timer.builder(REQUESTS)
+        .description("Requests sent to ComicVine")
+        .tags(ACTION_TAG, action, RESOURCE_TAG, resource)
+        .tag(OUTCOME_TAG, success ? "success" : "failure")
+        .publishPercentileHistogram()
+        .register(this.registry)
+        .record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public void recordResponseSize(final String action, final String resource, final long bytes) {
+    DistributionSummary.builder(RESPONSE_SIZE)
+        .description("Size of the responses received from ComicVine")
+        .baseUnit("bytes")
+        .tags(ACTION_TAG, action, RESOURCE_TAG, resource)
+        .publishPercentileHistogram()
+        .register(this.registry)
+        .record(bytes);
+  }
+
+  @Override
+  public void recordDecode(final String action, final String resource, final long nanos) {
+    Timer.builder(DECODE)
+        .description("Time spent decoding ComicVine responses")
+        .tags(ACTION_TAG, action, RESOURCE_TAG, resource)
+        .publishPercentileHistogram()
+        .register(this.registry)
+        .record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public void recordRetry(final String action, final String resource) {
+    Counter.builder(RETRIES)
+        .description("Requests sent to ComicVine again after failing")
+        .tags(ACTION_TAG, action, RESOURCE_TAG, resource)
+        .register(this.registry)
+        .increment();
+  }
+
+  @Override
+  public void recordCacheHit(final String action, final String resource) {
+    Counter.builder(CACHE_HITS)
+        .description("Requests answered from a cache")
+        .tags(ACTION_TAG, action, RESOURCE_TAG, resource)
+        .register(this.registry)
+        .increment();
+  }
+
+  @Override
+  public void recordWait(
+      final String action, final String resource, final String limiter, final long nanos) {
+    Timer.builder(WAIT)
+        .description("Time spent waiting before sending requests to ComicVine")
+        .tags(ACTION_TAG, action, RESOURCE_TAG, resource)
+        .tag(LIMITER_TAG, limiter)
+        .publishPercentileHistogram()
+        .register(this.registry)
+        .record(nanos, TimeUnit.NANOSECONDS);
+  }
+}
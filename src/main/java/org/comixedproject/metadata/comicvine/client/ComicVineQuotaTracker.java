@@ -0,0 +1,296 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.log4j.Log4j2;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * <code>ComicVineQuotaTracker</code> counts the requests sent to each ComicVine resource during the
+ * last hour.
+ *
+ * <p>ComicVine limits the number of requests per resource (issue, volume, publisher, story arc,
+ * search, ...) per hour. Each resource has its own history, so when one resource runs out of
+ * requests only requests for that resource are delayed. The history can be written to a file so
+ * that restarting the server does not forget requests that still count against the limit.
+ *
+ * <p>Reserving a request only marks the history as changed. It is written shortly afterwards in the
+ * background, so no request waits for the file, and many requests are saved with a single write.
+ * The history can also be written at once with {@link #flush()}.
+ *
+ * @author Darryl L. Pierce
+ */
+@Log4j2
+public class ComicVineQuotaTracker {
+  /** The default number of requests allowed per resource per hour. */
+  public static final int DEFAULT_HOURLY_LIMIT = 200;
+
+  /** The default longest time, in milliseconds, a request will wait for its resource's quota. */
+  public static final long DEFAULT_MAX_WAIT = TimeUnit.MINUTES.toMillis(5L);
+
+  /** The default time to wait after a change before the history is written. */
+  public static final Duration DEFAULT_FLUSH_DELAY = Duration.ofSeconds(5L);
+
+  /** The resource name used for URLs that do not name a ComicVine resource. */
+  public static final String UNKNOWN_RESOURCE = "other";
+
+  static final long WINDOW = TimeUnit.HOURS.toMillis(1L);
+
+  private static final Pattern RESOURCE_PATTERN = Pattern.compile(".*/api/([a-z_]+)/.*");
+  private static final TypeReference<Map<String, Map<String, List<Long>>>> STORAGE_TYPE =
+      new TypeReference<>() {};
+
+  private final Map<String, Map<String, List<Long>>> history = new HashMap<>();
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final Object writeLock = new Object();
+  private final LongSupplier clock;
+  private boolean dirty = false;
+  private boolean flushScheduled = false;
+
+  @Getter @Setter private int hourlyLimit = DEFAULT_HOURLY_LIMIT;
+  @Getter @Setter private long maxWait = DEFAULT_MAX_WAIT;
+  @Getter @Setter private Duration flushDelay = DEFAULT_FLUSH_DELAY;
+  @Getter private Path storage;
+
+  /** Creates a tracker that keeps its history in memory. */
+  public ComicVineQuotaTracker() {
+    this(System::currentTimeMillis);
+  }
+
+  ComicVineQuotaTracker(final LongSupplier clock) {
+    this.clock = clock;
+  }
+
+  /**
+   * Returns the ComicVine resource requested by the given URL. Plural list resources are counted
+   * with their single item resource.
+   *
+   * @param url the request URL
+   * @return the resource name
+   */
+  public static String getResource(final String url) {
+    final Matcher matcher = RESOURCE_PATTERN.matcher(url);
+    if (!matcher.matches()) return UNKNOWN_RESOURCE;
+    final String result = matcher.group(1);
+    return result.endsWith("s") ? result.substring(0, result.length() - 1) : result;
+  }
+
+  /**
+   * Sets the file where the request history is stored, and loads any history already saved there.
+   * Setting the file already in use does nothing.
+   *
+   * @param storage the file
+   */
+  public synchronized void setStorage(final Path storage) {
+    if (Objects.equals(this.storage, storage)) return;
+
+    this.storage = storage;
+    this.doLoad();
+  }
+
+  /**
+   * Reserves a request for the given resource. The reservation says how long the caller must wait
+   * before sending it. If the wait would be longer than the maximum wait then nothing is reserved
+   * and null is returned.
+   *
+   * @param apiKey the API key
+   * @param resource the resource
+   * @return the reservation, or null if the quota is exhausted
+   */
+  public synchronized Reservation reserve(final String apiKey, final String resource) {
+    final long now = this.clock.getAsLong();
+    final List<Long> requests = this.doGetRequests(apiKey, resource, now);
+
+    long sendAt = now;
+    if (requests.size() >= this.hourlyLimit) {
+      sendAt = Math.max(now, requests.get(requests.size() - this.hourlyLimit) + WINDOW);
+    }
+    final long waitTime = sendAt - now;
+    if (waitTime > this.maxWait) {
+      log.debug("Hourly quota exhausted: resource={} wait={}ms", resource, waitTime);
+      return null;
+    }
+
+    requests.add(sendAt);
+    this.doMarkDirty();
+    log.trace("Reserved request: resource={} wait={}ms", resource, waitTime);
+    return new Reservation(apiKey, resource, sendAt, waitTime);
+  }
+
+  /**
+   * Gives back a request that was reserved but never sent, such as one rejected because ComicVine
+   * is unavailable, so that it does not count against the limit. Only the entry recorded for that
+   * reservation is removed.
+   *
+   * @param reservation the reservation
+   */
+  public synchronized void release(final Reservation reservation) {
+    final List<Long> requests =
+        this.doGetRequests(reservation.apiKey(), reservation.resource(), this.clock.getAsLong());
+    if (!requests.remove(Long.valueOf(reservation.sentAt()))) return;
+
+    this.doMarkDirty();
+    log.trace("Released request: resource={}", reservation.resource());
+  }
+
+  /** Writes the history to its file now if it has changed since it was last written. */
+  public void flush() {
+    synchronized (this.writeLock) {
+      final Path target;
+      final Map<String, Map<String, List<Long>>> snapshot = new HashMap<>();
+      synchronized (this) {
+        this.flushScheduled = false;
+        if (!this.dirty || this.storage == null) return;
+        this.dirty = false;
+        target = this.storage;
+        this.history.forEach(
+            (key, resources) -> {
+              final Map<String, List<Long>> copy = new HashMap<>();
+              resources.forEach((resource, requests) -> copy.put(resource, List.copyOf(requests)));
+              snapshot.put(key, copy);
+            });
+      }
+      this.doSave(target, snapshot);
+    }
+  }
+
+  /**
+   * Returns the number of requests that can still be sent for the given resource this hour.
+   *
+   * @param apiKey the API key
+   * @param resource the resource
+   * @return the remaining requests
+   */
+  public synchronized int getRemaining(final String apiKey, final String resource) {
+    final long now = this.clock.getAsLong();
+    return Math.max(0, this.hourlyLimit - this.doGetRequests(apiKey, resource, now).size());
+  }
+
+  /**
+   * Returns the remaining requests for every resource used with the given API key.
+   *
+   * @param apiKey the API key
+   * @return the remaining requests, by resource
+   */
+  public synchronized Map<String, Integer> getRemaining(final String apiKey) {
+    final Map<String, Integer> result = new HashMap<>();
+    this.history
+        .getOrDefault(this.doHashApiKey(apiKey), new HashMap<>())
+        .keySet()
+        .forEach(resource -> result.put(resource, this.getRemaining(apiKey, resource)));
+    return result;
+  }
+
+  private List<Long> doGetRequests(final String apiKey, final String resource, final long now) {
+    final List<Long> result =
+        this.history
+            .computeIfAbsent(this.doHashApiKey(apiKey), key -> new HashMap<>())
+            .computeIfAbsent(resource, key -> new ArrayList<>());
+    result.removeIf(sentAt -> sentAt <= now - WINDOW);
+    return result;
+  }
+
+  private String doHashApiKey(final String apiKey) {
+    try {
+      final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(apiKey.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException error) {
+      return String.valueOf(apiKey.hashCode());
+    }
+  }
+
+  private void doLoad() {
+    if (this.storage == null || !Files.exists(this.storage)) return;
+
+    log.debug("Loading ComicVine request history: {}", this.storage);
+    try {
+      final Map<String, Map<String, List<Long>>> saved =
+          this.objectMapper.readValue(this.storage.toFile(), STORAGE_TYPE);
+      saved.forEach(
+          (key, resources) ->
+              resources.forEach(
+                  (resource, requests) ->
+                      this.history
+                          .computeIfAbsent(key, entry -> new HashMap<>())
+                          .computeIfAbsent(resource, entry -> new ArrayList<>())
+                          .addAll(requests)));
+    } catch (IOException error) {
+      log.error("Failed to load ComicVine request history", error);
+    }
+  }
+
+  private void doMarkDirty() {
+    this.dirty = true;
+    if (this.storage == null || this.flushScheduled) return;
+
+    this.flushScheduled = true;
+    Mono.delay(this.flushDelay, Schedulers.boundedElastic()).subscribe(ignored -> this.flush());
+  }
+
+  private void doSave(final Path target, final Map<String, Map<String, List<Long>>> snapshot) {
+    log.trace("Saving ComicVine request history: {}", target);
+    try {
+      final Path parent = target.toAbsolutePath().getParent();
+      Files.createDirectories(parent);
+      final Path temporary = Files.createTempFile(parent, "comicvine-quota", ".tmp");
+      this.objectMapper.writeValue(temporary.toFile(), snapshot);
+      Files.move(
+          temporary,
+          target,
+          StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException error) {
+      log.error("Failed to save ComicVine request history", error);
+    }
+  }
+
+  /**
+   * <code>Reservation</code> is a request reserved for a resource, and the time it was recorded
+   * as sent.
+   *
+   * @param apiKey the API key
+   * @param resource the resource
+   * @param sentAt when the request counts as sent, in milliseconds
+   * @param waitTime how long to wait before sending it, in milliseconds
+   */
+  public record Reservation(String apiKey, String resource, long sentAt, long waitTime) {}
+}
@@ -0,0 +1,157 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.client;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * <code>ComicVineRateLimiter</code> is a token bucket that paces all requests sent to ComicVine
+ * with the same API key.
+ *
+ * <p>Each {@link ComicVineClient} holds one limiter per API key, so concurrent scrapes through that
+ * client share a single budget. A token is added every <code>delay</code> seconds, up to the
+ * bucket's capacity. When no token is available the caller reserves the next one and waits until it
+ * is due, which keeps waiting callers in the order they arrived.
+ *
+ * <p>When ComicVine reports that the rate limit was exceeded, the limiter can be paused. No token
+ * is handed out until the pause ends, and waiting callers then resume at the usual pace.
+ *
+ * @author Darryl L. Pierce
+ */
+@Log4j2
+public class ComicVineRateLimiter {
+  /** The default number of requests that can be sent back to back. */
+  public static final int DEFAULT_CAPACITY = 1;
+
+  private final LongSupplier clock;
+  @Getter private final int capacity;
+  private long intervalNanos = 0L;
+  private double tokens;
+  private long lastRefill;
+  private long pausedUntil;
+
+  /**
+   * Creates a limiter with the given capacity.
+   *
+   * @param capacity the number of requests that can be sent back to back
+   */
+  public ComicVineRateLimiter(final int capacity) {
+    this(capacity, System::nanoTime);
+  }
+
+  ComicVineRateLimiter(final int capacity, final LongSupplier clock) {
+    this.capacity = capacity;
+    this.clock = clock;
+    this.tokens = capacity;
+    this.lastRefill = clock.getAsLong();
+    this.pausedUntil = this.lastRefill;
+  }
+
+  /**
+   * Sets the number of seconds between requests. A delay of zero disables pacing.
+   *
+   * @param delay the delay in seconds
+   */
+  public synchronized void setDelay(final long delay) {
+    final long interval = TimeUnit.SECONDS.toNanos(Math.max(delay, 0L));
+    if (interval != this.intervalNanos) {
+      log.debug("Setting rate limiter delay: {}s", delay);
+      this.doRefill();
+      this.intervalNanos = interval;
+    }
+  }
+
+  /**
+   * Returns the number of seconds between requests.
+   *
+   * @return the delay in seconds
+   */
+  public synchronized long getDelay() {
+    return TimeUnit.NANOSECONDS.toSeconds(this.intervalNanos);
+  }
+
+  /**
+   * Reserves the next token and returns how long the caller must wait before using it.
+   *
+   * @return the wait in nanoseconds
+   */
+  public synchronized long reserve() {
+    final long paused = Math.max(0L, this.pausedUntil - this.clock.getAsLong());
+    if (this.intervalNanos == 0L) return paused;
+
+    this.doRefill();
+    long result = paused;
+    if (this.tokens < 1.0d) {
+      result += (long) Math.ceil((1.0d - this.tokens) * this.intervalNanos);
+    }
+    this.tokens -= 1.0d;
+    log.trace("Reserved rate limiter token: wait={}ms", TimeUnit.NANOSECONDS.toMillis(result));
+    return result;
+  }
+
+  /**
+   * Stops handing out tokens for the given time. A pause that would end sooner than the current one
+   * is ignored.
+   *
+   * @param nanos the pause in nanoseconds
+   */
+  public synchronized void pause(final long nanos) {
+    final long until = this.clock.getAsLong() + Math.max(nanos, 0L);
+    if (until > this.pausedUntil) {
+      log.debug("Pausing rate limiter: {}ms", TimeUnit.NANOSECONDS.toMillis(nanos));
+      this.pausedUntil = until;
+    }
+  }
+
+  /**
+   * Returns how long the limiter remains paused.
+   *
+   * @return the remaining pause in nanoseconds
+   */
+  public synchronized long getPause() {
+    return Math.max(0L, this.pausedUntil - this.clock.getAsLong());
+  }
+
+  /**
+   * Blocks until the caller is allowed to send a request.
+   *
+   * @throws InterruptedException if the wait is interrupted
+   */
+  public void acquire() throws InterruptedException {
+    final long wait = this.reserve();
+    if (wait > 0L) {
+      log.trace("Waiting for rate limiter: {}ms", TimeUnit.NANOSECONDS.toMillis(wait));
+      TimeUnit.NANOSECONDS.sleep(wait);
+    }
+  }
+
+  private void doRefill() {
+    final long now = this.clock.getAsLong();
+    if (this.intervalNanos > 0L) {
+      final double earned = (double) (now - this.lastRefill) / this.intervalNanos;
+      this.tokens = Math.min(this.capacity, this.tokens + earned);
+    } else {
+      this.tokens = this.capacity;
+    }
+    this.lastRefill = now;
+  }
+}
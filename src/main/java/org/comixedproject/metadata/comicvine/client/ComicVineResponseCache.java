@@ -0,0 +1,465 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * <code>ComicVineResponseCache</code> stores the raw responses received from ComicVine on disk so
+ * they survive a restart of the server.
+ *
+ * <p>Responses are keyed by their request URL, with the API key removed and the query parameters
+ * sorted, so the same request made with a different key shares the cached response. Each resource
+ * has its own time to live, and the oldest responses are removed once the cache grows beyond its
+ * size limit. Responses are written to a temporary file that is then moved into place, so a crash
+ * never leaves a partial response behind. The cache is disabled until a directory is set.
+ *
+ * <p>No lock is shared by every request. Each cached file is guarded by one of a fixed set of
+ * locks while it is checked, replaced or removed, so requests for different responses never wait
+ * on each other's disk access. A separate lock is only held while the directory changes or the
+ * oldest responses are evicted.
+ *
+ * @author Darryl L. Pierce
+ */
+@Log4j2
+public class ComicVineResponseCache {
+  /** The default size limit, in bytes. */
+  public static final long DEFAULT_MAX_SIZE = 256L * 1024L * 1024L;
+
+  /** The default time to live, in milliseconds, for resources without their own. */
+  public static final long DEFAULT_TIME_TO_LIVE = TimeUnit.DAYS.toMillis(1L);
+
+  /** The default time to live, in milliseconds, for each resource. */
+  public static final Map<String, Long> DEFAULT_TIMES_TO_LIVE =
+      Map.of(
+          "publisher", TimeUnit.DAYS.toMillis(30L),
+          "volume", TimeUnit.DAYS.toMillis(7L),
+          "issue", TimeUnit.DAYS.toMillis(7L),
+          "story_arc", TimeUnit.DAYS.toMillis(7L),
+          "search", TimeUnit.HOURS.toMillis(1L));
+
+  static final String API_KEY_PARAMETER = "api_key";
+  static final String FILE_SUFFIX = ".json";
+  static final String TEMPORARY_PREFIX = "response";
+  static final String TEMPORARY_SUFFIX = ".tmp";
+  static final int FILE_LOCK_COUNT = 64;
+
+  private final LongSupplier clock;
+  private final Map<String, Long> timesToLive = new ConcurrentHashMap<>(DEFAULT_TIMES_TO_LIVE);
+  private final ReentrantLock lock = new ReentrantLock();
+  private final ReentrantLock[] fileLocks =
+      Stream.generate(ReentrantLock::new).limit(FILE_LOCK_COUNT).toArray(ReentrantLock[]::new);
+  private final AtomicLong size = new AtomicLong(0L);
+
+  @Getter private volatile Path directory;
+  @Getter private volatile long maxSize = DEFAULT_MAX_SIZE;
+
+  /** Creates a disabled cache with the default times to live. */
+  public ComicVineResponseCache() {
+    this(System::currentTimeMillis);
+  }
+
+  ComicVineResponseCache(final LongSupplier clock) {
+    this.clock = clock;
+  }
+
+  /**
+   * Returns the key used to store the response for the given URL.
+   *
+   * @param url the request URL
+   * @return the key
+   */
+  public static String getKey(final String url) {
+    final int start = url.indexOf('?');
+    if (start < 0) return url;
+    final String query =
+        Arrays.stream(url.substring(start + 1).split("&"))
+            .filter(parameter -> !parameter.startsWith(API_KEY_PARAMETER + "="))
+            .sorted()
+            .collect(Collectors.joining("&"));
+    return url.substring(0, start) + "?" + query;
+  }
+
+  /**
+   * Sets the directory where responses are stored. A null directory disables the cache. Setting the
+   * directory already in use does nothing. Any partial responses left behind by an earlier run are
+   * removed.
+   *
+   * @param directory the directory
+   */
+  public void setDirectory(final Path directory) {
+    this.lock.lock();
+    try {
+      if (Objects.equals(this.directory, directory)) return;
+
+      this.directory = directory;
+      this.size.set(0L);
+      if (directory == null || !Files.isDirectory(directory)) return;
+
+      this.doDeleteTemporaryFiles(directory);
+      this.size.set(this.doGetFiles(directory).stream().mapToLong(this::doGetSize).sum());
+      log.debug("Using ComicVine response cache: {} ({} bytes)", directory, this.size.get());
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Sets the size limit, removing the oldest responses if needed.
+   *
+   * @param maxSize the limit in bytes
+   */
+  public void setMaxSize(final long maxSize) {
+    this.lock.lock();
+    try {
+      if (this.maxSize == Math.max(maxSize, 0L)) return;
+
+      this.maxSize = Math.max(maxSize, 0L);
+      this.doEvict();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Sets how long responses for the given resource are kept. A value of zero disables caching for
+   * that resource.
+   *
+   * @param resource the resource
+   * @param timeToLive the time to live in milliseconds
+   */
+  public void setTimeToLive(final String resource, final long timeToLive) {
+    this.timesToLive.put(resource, Math.max(timeToLive, 0L));
+  }
+
+  /**
+   * Returns how long responses for the given resource are kept.
+   *
+   * @param resource the resource
+   * @return the time to live in milliseconds
+   */
+  public long getTimeToLive(final String resource) {
+    return this.timesToLive.getOrDefault(resource, DEFAULT_TIME_TO_LIVE);
+  }
+
+  /**
+   * Returns the cached response for the given URL, or null if there is none or it has expired.
+   *
+   * @param url the request URL
+   * @return the response
+   */
+  public String get(final String url) {
+    final InputStream input = this.open(url);
+    if (input == null) return null;
+    try (input) {
+      return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+    } catch (IOException error) {
+      log.error("Failed to read cached response", error);
+      return null;
+    }
+  }
+
+  /**
+   * Opens the cached response for the given URL so it can be read without loading all of it into
+   * memory. Returns null if there is no response or it has expired.
+   *
+   * @param url the request URL
+   * @return the response stream
+   */
+  public InputStream open(final String url) {
+    final Path file = this.doGetFile(url);
+    if (file == null) return null;
+
+    final ReentrantLock fileLock = this.doGetFileLock(file);
+    fileLock.lock();
+    try {
+      if (!Files.exists(file)) return null;
+      final long age = this.clock.getAsLong() - this.doGetModified(file);
+      if (age >= this.getTimeToLive(ComicVineQuotaTracker.getResource(url))) {
+        log.trace("Removing expired response: {}", file);
+        this.doDelete(file);
+        return null;
+      }
+      log.trace("Found cached response: {}", file);
+      return Files.newInputStream(file);
+    } catch (IOException error) {
+      log.error("Failed to read cached response", error);
+      return null;
+    } finally {
+      fileLock.unlock();
+    }
+  }
+
+  /**
+   * Stores the response for the given URL.
+   *
+   * @param url the request URL
+   * @param response the response
+   */
+  public void put(final String url, final String response) {
+    if (response == null) return;
+
+    final Writer writer = this.begin(url);
+    final byte[] content = response.getBytes(StandardCharsets.UTF_8);
+    writer.write(content, 0, content.length);
+    writer.commit();
+  }
+
+  /**
+   * Starts storing the response for the given URL as it is received. Nothing is cached until the
+   * writer is committed, and an aborted writer leaves any earlier response in place.
+   *
+   * @param url the request URL
+   * @return the writer
+   */
+  public Writer begin(final String url) {
+    if (this.getTimeToLive(ComicVineQuotaTracker.getResource(url)) == 0L)
+      return new Writer(this, null);
+    return new Writer(this, this.doGetFile(url));
+  }
+
+  /** Removes every cached response. */
+  public void invalidateAll() {
+    final Path directory = this.directory;
+    if (directory == null || !Files.isDirectory(directory)) return;
+
+    log.debug("Removing all cached ComicVine responses");
+    this.doGetFiles(directory).forEach(this::doDelete);
+  }
+
+  /**
+   * Returns the total size of the cached responses.
+   *
+   * @return the size in bytes
+   */
+  public long getSize() {
+    return this.size.get();
+  }
+
+  private void doEvict() {
+    final Path directory = this.directory;
+    if (directory == null || this.size.get() <= this.maxSize) return;
+    if (!this.lock.tryLock()) return;
+    try {
+      if (!Files.isDirectory(directory)) return;
+
+      log.debug("Evicting cached responses: size={} limit={}", this.size.get(), this.maxSize);
+      final List<Path> files = this.doGetFiles(directory);
+      files.sort(
+          (first, second) -> Long.compare(this.doGetModified(first), this.doGetModified(second)));
+      for (Path file : files) {
+        if (this.size.get() <= this.maxSize) break;
+        this.doDelete(file);
+      }
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  private void doStore(final Path temporary, final Path file) {
+    final ReentrantLock fileLock = this.doGetFileLock(file);
+    fileLock.lock();
+    try {
+      Files.setLastModifiedTime(temporary, FileTime.fromMillis(this.clock.getAsLong()));
+      this.size.addAndGet(-this.doGetSize(file));
+      Files.move(
+          temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      this.size.addAndGet(this.doGetSize(file));
+      log.trace("Cached response: {}", file);
+    } catch (IOException error) {
+      log.error("Failed to cache response", error);
+    } finally {
+      fileLock.unlock();
+    }
+    this.doEvict();
+  }
+
+  private Path doGetFile(final String url) {
+    final Path directory = this.directory;
+    if (directory == null) return null;
+    return directory.resolve(this.doHash(getKey(url)) + FILE_SUFFIX);
+  }
+
+  private ReentrantLock doGetFileLock(final Path file) {
+    return this.fileLocks[Math.floorMod(file.getFileName().hashCode(), this.fileLocks.length)];
+  }
+
+  private List<Path> doGetFiles(final Path directory) {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files
+          .filter(file -> file.getFileName().toString().endsWith(FILE_SUFFIX))
+          .collect(Collectors.toList());
+    } catch (IOException error) {
+      log.error("Failed to list cached responses", error);
+      return new ArrayList<>();
+    }
+  }
+
+  private void doDeleteTemporaryFiles(final Path directory) {
+    try (Stream<Path> files = Files.list(directory)) {
+      files
+          .filter(
+              file -> {
+                final String name = file.getFileName().toString();
+                return name.startsWith(TEMPORARY_PREFIX) && name.endsWith(TEMPORARY_SUFFIX);
+              })
+          .forEach(
+              file -> {
+                log.debug("Removing partial response: {}", file);
+                try {
+                  Files.deleteIfExists(file);
+                } catch (IOException error) {
+                  log.error("Failed to remove partial response", error);
+                }
+              });
+    } catch (IOException error) {
+      log.error("Failed to list partial responses", error);
+    }
+  }
+
+  private void doDelete(final Path file) {
+    final ReentrantLock fileLock = this.doGetFileLock(file);
+    fileLock.lock();
+    try {
+      final long fileSize = this.doGetSize(file);
+      if (Files.deleteIfExists(file)) this.size.addAndGet(-fileSize);
+    } catch (IOException error) {
+      log.error("Failed to remove cached response", error);
+    } finally {
+      fileLock.unlock();
+    }
+  }
+
+  private long doGetSize(final Path file) {
+    try {
+      return Files.exists(file) ? Files.size(file) : 0L;
+    } catch (IOException error) {
+      return 0L;
+    }
+  }
+
+  private long doGetModified(final Path file) {
+    try {
+      return Files.getLastModifiedTime(file).toMillis();
+    } catch (IOException error) {
+      return 0L;
+    }
+  }
+
+  private String doHash(final String key) {
+    try {
+      final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(key.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException error) {
+      return Integer.toHexString(key.hashCode());
+    }
+  }
+
+  /**
+   * <code>Writer</code> writes a response to a temporary file as it is received, and moves it into
+   * the cache once it is committed.
+   *
+   * @author Darryl L. Pierce
+   */
+  public static class Writer {
+    private final ComicVineResponseCache cache;
+    private final Path file;
+    private Path temporary;
+    private OutputStream output;
+    private boolean failed = false;
+
+    Writer(final ComicVineResponseCache cache, final Path file) {
+      this.cache = cache;
+      this.file = file;
+    }
+
+    /**
+     * Writes the next part of the response.
+     *
+     * @param content the content
+     * @param offset the offset of the first byte
+     * @param length the number of bytes
+     */
+    public void write(final byte[] content, final int offset, final int length) {
+      if (this.file == null || this.failed) return;
+      try {
+        if (this.output == null) {
+          Files.createDirectories(this.file.getParent());
+          this.temporary =
+              Files.createTempFile(this.file.getParent(), TEMPORARY_PREFIX, TEMPORARY_SUFFIX);
+          this.output = Files.newOutputStream(this.temporary);
+        }
+        this.output.write(content, offset, length);
+      } catch (IOException error) {
+        log.error("Failed to cache response", error);
+        this.failed = true;
+        this.abort();
+      }
+    }
+
+    /** Moves the response into the cache. */
+    public void commit() {
+      if (this.output == null || this.failed) return;
+      try {
+        this.output.close();
+        this.output = null;
+        this.cache.doStore(this.temporary, this.file);
+      } catch (IOException error) {
+        log.error("Failed to cache response", error);
+        this.abort();
+      }
+    }
+
+    /** Discards the response. */
+    public void abort() {
+      try {
+        if (this.output != null) this.output.close();
+        if (this.temporary != null) Files.deleteIfExists(this.temporary);
+      } catch (IOException error) {
+        log.error("Failed to discard cached response", error);
+      }
+      this.output = null;
+      this.temporary = null;
+    }
+  }
+}
@@ -0,0 +1,190 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.client;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.function.Consumer;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * <code>ComicVineResponseParser</code> decodes a response as it is received, handing each element
+ * of one array to a consumer as soon as that element has been read.
+ *
+ * <p>The array is found by the names of the fields leading to it, such as <code>results</code> or
+ * <code>results.issues</code>. Its elements are never held together in memory, and neither is the
+ * response body. Everything else in the response is decoded into the response type once the end
+ * of the response is reached, with the streamed array left out.
+ *
+ * @param <E> the element type
+ * @param <R> the response type
+ * @author Darryl L. Pierce
+ */
+@Log4j2
+public class ComicVineResponseParser<E, R> {
+  static final int BUFFER_SIZE = 8192;
+
+  private final ObjectMapper objectMapper;
+  private final List<String> path;
+  private final Class<E> elementType;
+  private final Consumer<E> consumer;
+  private final Class<R> responseType;
+  private final JsonParser parser;
+  private final ByteArrayFeeder feeder;
+  private final TokenBuffer envelope;
+
+  private TokenBuffer element;
+  private int elementDepth = 0;
+  private boolean inArray = false;
+  private String heldFieldName;
+  @Getter private int count = 0;
+
+  /**
+   * Creates a parser.
+   *
+   * @param objectMapper the object mapper
+   * @param path the names of the fields leading to the streamed array
+   * @param elementType the element type
+   * @param consumer receives each element
+   * @param responseType the response type
+   * @throws IOException if the parser cannot be created
+   */
+  public ComicVineResponseParser(
+      final ObjectMapper objectMapper,
+      final List<String> path,
+      final Class<E> elementType,
+      final Consumer<E> consumer,
+      final Class<R> responseType)
+      throws IOException {
+    this.objectMapper = objectMapper;
+    this.path = path;
+    this.elementType = elementType;
+    this.consumer = consumer;
+    this.responseType = responseType;
+    this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+    this.feeder = (ByteArrayFeeder) this.parser.getNonBlockingInputFeeder();
+    this.envelope = new TokenBuffer(objectMapper, false);
+  }
+
+  /**
+   * Decodes the next part of the response.
+   *
+   * @param content the content
+   * @param offset the offset of the first byte
+   * @param length the number of bytes
+   * @throws IOException if the content is not valid
+   */
+  public void feed(final byte[] content, final int offset, final int length) throws IOException {
+    this.feeder.feedInput(content, offset, offset + length);
+    this.doParse();
+  }
+
+  /**
+   * Decodes all of the content of the given stream.
+   *
+   * @param input the stream
+   * @throws IOException if the content is not valid or cannot be read
+   */
+  public void feed(final InputStream input) throws IOException {
+    final byte[] buffer = new byte[BUFFER_SIZE];
+    int read;
+    while ((read = input.read(buffer)) >= 0) {
+      if (read > 0) this.feed(buffer, 0, read);
+    }
+  }
+
+  /**
+   * Finishes decoding and returns the response, without the streamed array.
+   *
+   * @return the response
+   * @throws IOException if the response is incomplete or not valid
+   */
+  public R finish() throws IOException {
+    this.feeder.endOfInput();
+    this.doParse();
+    if (this.inArray || this.element != null || this.heldFieldName != null)
+      throw new JsonParseException(this.parser, "Unexpected end of response");
+    this.parser.close();
+    log.debug("Decoded {} streamed element{}", this.count, this.count == 1 ? "" : "s");
+    return this.objectMapper.readValue(
+        this.envelope.asParser(this.objectMapper), this.responseType);
+  }
+
+  private void doParse() throws IOException {
+    JsonToken token;
+    while ((token = this.parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+      if (this.element != null) {
+        this.doCopyElementToken(token);
+      } else if (this.inArray) {
+        if (token == JsonToken.END_ARRAY) {
+          this.inArray = false;
+        } else {
+          this.element = new TokenBuffer(this.objectMapper, false);
+          this.doCopyElementToken(token);
+        }
+      } else if (this.heldFieldName != null) {
+        final String name = this.heldFieldName;
+        this.heldFieldName = null;
+        if (token == JsonToken.START_ARRAY) {
+          this.inArray = true;
+        } else {
+          this.envelope.writeFieldName(name);
+          this.envelope.copyCurrentEvent(this.parser);
+        }
+      } else if (token == JsonToken.FIELD_NAME && this.doIsStreamedField()) {
+        this.heldFieldName = this.parser.getCurrentName();
+      } else {
+        this.envelope.copyCurrentEvent(this.parser);
+      }
+    }
+  }
+
+  private void doCopyElementToken(final JsonToken token) throws IOException {
+    this.element.copyCurrentEvent(this.parser);
+    if (token.isStructStart()) this.elementDepth++;
+    if (token.isStructEnd()) this.elementDepth--;
+    if (this.elementDepth == 0) {
+      final E value =
+          this.objectMapper.readValue(this.element.asParser(this.objectMapper), this.elementType);
+      this.element = null;
+      this.count++;
+      this.consumer.accept(value);
+    }
+  }
+
+  private boolean doIsStreamedField() {
+    JsonStreamContext context = this.parser.getParsingContext();
+    for (int index = this.path.size() - 1; index >= 0; index--) {
+      if (context == null
+          || !context.inObject()
+          || !this.path.get(index).equals(context.getCurrentName())) return false;
+      context = context.getParent();
+    }
+    return context != null && context.inRoot();
+  }
+}
@@ -0,0 +1,217 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.comixedproject.metadata.comicvine.model.ComicVineStatusCode;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.util.retry.Retry;
+import reactor.util.retry.RetryBackoffSpec;
+
+/**
+ * <code>ComicVineRetryPolicy</code> decides which failed requests to ComicVine are sent again, and
+ * how long to wait before each attempt.
+ *
+ * <p>Server errors, timeouts, dropped connections and ComicVine's rate limit responses (420 and
+ * 429, or a body with status code 107) are retried. Any other response, such as 401 for a bad API
+ * key or 404 for a missing record, fails straight away. The wait doubles with each attempt, up to
+ * a maximum, and is randomly spread so that many failed requests are not all sent again at the
+ * same moment. After a rate limit response, requests are paused for the time given by its
+ * Retry-After header, or else for the rate limit pause.
+ *
+ * @author Darryl L. Pierce
+ */
+@Log4j2
+public class ComicVineRetryPolicy {
+  /** The default number of times a request is retried. */
+  public static final int DEFAULT_MAX_RETRIES = 3;
+
+  /** The default wait before the first retry. */
+  public static final Duration DEFAULT_MIN_BACKOFF = Duration.ofSeconds(1L);
+
+  /** The default longest wait before a retry. */
+  public static final Duration DEFAULT_MAX_BACKOFF = Duration.ofSeconds(30L);
+
+  /** The default fraction of each wait that is randomized. */
+  public static final double DEFAULT_JITTER = 0.5d;
+
+  /** The default pause after ComicVine reports that the rate limit was exceeded. */
+  public static final Duration DEFAULT_RATE_LIMIT_PAUSE = Duration.ofMinutes(1L);
+
+  static final int STATUS_ENHANCE_YOUR_CALM = 420;
+  static final int STATUS_TOO_MANY_REQUESTS = 429;
+
+  @Getter private int maxRetries = DEFAULT_MAX_RETRIES;
+  @Getter private Duration minBackoff = DEFAULT_MIN_BACKOFF;
+  @Getter private Duration maxBackoff = DEFAULT_MAX_BACKOFF;
+  @Getter private double jitter = DEFAULT_JITTER;
+  @Getter private Duration rateLimitPause = DEFAULT_RATE_LIMIT_PAUSE;
+
+  /**
+   * Returns whether a request that failed with the given error can be sent again.
+   *
+   * @param error the error
+   * @return true if the request can be retried
+   */
+  public static boolean isRetryable(final Throwable error) {
+    if (isRateLimited(error)) return true;
+    if (error instanceof WebClientResponseException responseError) {
+      return responseError.getStatusCode().is5xxServerError();
+    }
+    if (error instanceof JsonProcessingException) return false;
+    return error instanceof WebClientRequestException
+        || error instanceof TimeoutException
+        || error instanceof IOException;
+  }
+
+  /**
+   * Returns whether the given error reports that ComicVine's rate limit was exceeded.
+   *
+   * @param error the error
+   * @return true if the rate limit was exceeded
+   */
+  public static boolean isRateLimited(final Throwable error) {
+    if (error instanceof ComicVineStatusException statusError) {
+      return statusError.getStatus() == ComicVineStatusCode.RATE_LIMIT_EXCEEDED;
+    }
+    if (error instanceof WebClientResponseException responseError) {
+      final int status = responseError.getStatusCode().value();
+      return status == STATUS_ENHANCE_YOUR_CALM || status == STATUS_TOO_MANY_REQUESTS;
+    }
+    return false;
+  }
+
+  /**
+   * Returns how long requests are paused after the given rate limit error. The Retry-After header
+   * of the response is used when it gives a number of seconds.
+   *
+   * @param error the error
+   * @return the pause
+   */
+  public synchronized Duration getRateLimitPause(final Throwable error) {
+    if (error instanceof WebClientResponseException responseError) {
+      final String retryAfter = responseError.getHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+      if (retryAfter != null) {
+        try {
+          return Duration.ofSeconds(Math.max(Long.parseLong(retryAfter.trim()), 0L));
+        } catch (NumberFormatException ignored) {
+          log.trace("Ignoring Retry-After header: {}", retryAfter);
+        }
+      }
+    }
+    return this.rateLimitPause;
+  }
+
+  /**
+   * Sets the number of times a request is retried. Zero disables retries.
+   *
+   * @param maxRetries the number of retries
+   */
+  public synchronized void setMaxRetries(final int maxRetries) {
+    if (maxRetries < 0) {
+      log.debug("Ignoring invalid retry count: {}", maxRetries);
+      return;
+    }
+    this.maxRetries = maxRetries;
+  }
+
+  /**
+   * Sets the wait before the first retry.
+   *
+   * @param minBackoff the wait
+   */
+  public synchronized void setMinBackoff(final Duration minBackoff) {
+    if (minBackoff == null || minBackoff.isNegative()) {
+      log.debug("Ignoring invalid minimum backoff: {}", minBackoff);
+      return;
+    }
+    this.minBackoff = minBackoff;
+  }
+
+  /**
+   * Sets the longest wait before a retry.
+   *
+   * @param maxBackoff the wait
+   */
+  public synchronized void setMaxBackoff(final Duration maxBackoff) {
+    if (maxBackoff == null || maxBackoff.isNegative()) {
+      log.debug("Ignoring invalid maximum backoff: {}", maxBackoff);
+      return;
+    }
+    this.maxBackoff = maxBackoff;
+  }
+
+  /**
+   * Sets the fraction of each wait that is randomized, between 0 and 1.
+   *
+   * @param jitter the jitter
+   */
+  public synchronized void setJitter(final double jitter) {
+    if (jitter < 0.0d || jitter > 1.0d) {
+      log.debug("Ignoring invalid jitter: {}", jitter);
+      return;
+    }
+    this.jitter = jitter;
+  }
+
+  /**
+   * Sets how long requests are paused after ComicVine reports that the rate limit was exceeded.
+   *
+   * @param rateLimitPause the pause
+   */
+  public synchronized void setRateLimitPause(final Duration rateLimitPause) {
+    if (rateLimitPause == null || rateLimitPause.isNegative()) {
+      log.debug("Ignoring invalid rate limit pause: {}", rateLimitPause);
+      return;
+    }
+    this.rateLimitPause = rateLimitPause;
+  }
+
+  /**
+   * Returns the retry strategy for a request. The last error is passed on once the retries are used
+   * up.
+   *
+   * @param url the request URL, used when logging
+   * @return the retry strategy
+   */
+  public synchronized RetryBackoffSpec getRetry(final String url) {
+    final String resource = ComicVineQuotaTracker.getResource(url);
+    final Duration cap =
+        this.maxBackoff.compareTo(this.minBackoff) < 0 ? this.minBackoff : this.maxBackoff;
+    return Retry.backoff(this.maxRetries, this.minBackoff)
+        .maxBackoff(cap)
+        .jitter(this.jitter)
+        .filter(ComicVineRetryPolicy::isRetryable)
+        .doBeforeRetry(
+            signal ->
+                log.debug(
+                    "Retrying ComicVine request: resource={} attempt={} error={}",
+                    resource,
+                    signal.totalRetries() + 1,
+                    signal.failure().getMessage()))
+        .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+  }
+}
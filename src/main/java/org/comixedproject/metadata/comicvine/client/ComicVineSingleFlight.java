@@ -0,0 +1,91 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.client;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import lombok.extern.log4j.Log4j2;
+import reactor.core.publisher.Mono;
+
+/**
+ * <code>ComicVineSingleFlight</code> lets concurrent identical requests share a single call.
+ *
+ * <p>The first caller for a key starts the request. Anyone asking for the same key before that
+ * request finishes is given the same result, or the same error, instead of starting another one.
+ * Once the request finishes the key is forgotten, so later callers start a new request.
+ *
+ * @author Darryl L. Pierce
+ */
+@Log4j2
+public class ComicVineSingleFlight {
+  private final Map<String, Mono<?>> inFlight = new ConcurrentHashMap<>();
+  private final AtomicLong shared = new AtomicLong(0L);
+
+  /**
+   * Returns the request in flight for the given key, or starts a new one.
+   *
+   * @param key the request key
+   * @param request creates the request when none is in flight
+   * @return the result
+   * @param <T> the result type
+   */
+  @SuppressWarnings("unchecked")
+  public <T> Mono<T> execute(final String key, final Supplier<Mono<T>> request) {
+    return Mono.defer(
+        () -> {
+          final boolean[] started = {false};
+          final Mono<T> result =
+              (Mono<T>)
+                  this.inFlight.computeIfAbsent(
+                      key,
+                      entry -> {
+                        started[0] = true;
+                        return request
+                            .get()
+                            .doFinally(signal -> this.inFlight.remove(entry))
+                            .cache();
+                      });
+          if (!started[0]) {
+            log.debug("Joining request already in flight: {}", key);
+            this.shared.incrementAndGet();
+          }
+          return result;
+        });
+  }
+
+  /**
+   * Returns the number of requests in flight.
+   *
+   * @return the request count
+   */
+  public int getInFlight() {
+    return this.inFlight.size();
+  }
+
+  /**
+   * Returns the number of times a caller joined a request already in flight.
+   *
+   * @return the shared count
+   */
+  public long getShared() {
+    return this.shared.get();
+  }
+}
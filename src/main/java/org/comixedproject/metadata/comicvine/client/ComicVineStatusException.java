@@ -0,0 +1,44 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.client;
+
+import lombok.Getter;
+import org.comixedproject.metadata.MetadataException;
+import org.comixedproject.metadata.comicvine.model.ComicVineStatusCode;
+
+/**
+ * <code>ComicVineStatusException</code> is thrown when ComicVine answers a request with a status
+ * code other than OK.
+ *
+ * @author Darryl L. Pierce
+ */
+public class ComicVineStatusException extends MetadataException {
+  @Getter private final ComicVineStatusCode status;
+
+  /**
+   * Creates an exception for the given status.
+   *
+   * @param status the status
+   * @param error the error message returned by ComicVine
+   */
+  public ComicVineStatusException(final ComicVineStatusCode status, final String error) {
+    super(String.format("ComicVine returned an error: %s (%s)", error, status));
+    this.status = status;
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import lombok.Setter;
+
+/**
+ * <code>ComicVineDecodeEvent</code> is a Flight Recorder event that spans decoding one ComicVine
+ * response. A streamed response is decoded in pieces as it arrives, so its event has no duration
+ * and is recorded once decoding finishes, and only the decode time gives the time spent parsing.
+ *
+ * @author Darryl L. Pierce
+ */
+@Name(ComicVineDecodeEvent.NAME)
+@Label("ComicVine Decode")
+@Category({"ComiXed", "ComicVine"})
+@Description("Decoding of a ComicVine response")
+@StackTrace(false)
+@Setter
+public class ComicVineDecodeEvent extends Event {
+  /** The event name. */
+  public static final String NAME = "org.comixedproject.comicvine.Decode";
+
+  @Label("Action")
+  @Description("The action that sent the request")
+  private String action;
+
+  @Label("Resource")
+  @Description("The ComicVine resource requested")
+  private String resource;
+
+  @Label("Bytes")
+  @Description("The size of the response")
+  @DataAmount
+  private long bytes;
+
+  @Label("Decode Time")
+  @Description("The time spent decoding the response, excluding the time spent receiving it")
+  @Timespan
+  private long decodeTime;
+
+  @Label("Streamed")
+  @Description("Whether the response was decoded as it arrived")
+  private boolean streamed;
+}
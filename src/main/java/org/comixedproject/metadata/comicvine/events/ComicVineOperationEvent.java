@@ -0,0 +1,58 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+/**
+ * <code>ComicVineOperationEvent</code> is a Flight Recorder event that spans one call to the
+ * ComicVine metadata adaptor, such as searching for volumes or loading an issue's details. For
+ * calls that do not block, the event spans the time from subscribing to the result until it
+ * completes.
+ *
+ * @author Darryl L. Pierce
+ */
+@Name(ComicVineOperationEvent.NAME)
+@Label("ComicVine Operation")
+@Category({"ComiXed", "ComicVine"})
+@Description("A call to the ComicVine metadata adaptor")
+@StackTrace(false)
+@Setter
+public class ComicVineOperationEvent extends Event {
+  /** The event name. */
+  public static final String NAME = "org.comixedproject.comicvine.Operation";
+
+  @Label("Operation")
+  @Description("The adaptor method called")
+  private String operation;
+
+  @Label("Subject")
+  @Description("What was looked up, such as a series name or an issue id")
+  private String subject;
+
+  @Label("Success")
+  @Description("Whether the operation completed without an error")
+  private boolean success;
+}
@@ -0,0 +1,76 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import lombok.Setter;
+
+/**
+ * <code>ComicVineRequestEvent</code> is a Flight Recorder event that spans one HTTP exchange with
+ * ComicVine, from sending the request until the last byte of the response is received.
+ *
+ * @author Darryl L. Pierce
+ */
+@Name(ComicVineRequestEvent.NAME)
+@Label("ComicVine Request")
+@Category({"ComiXed", "ComicVine"})
+@Description("An HTTP exchange with ComicVine")
+@StackTrace(false)
+@Setter
+public class ComicVineRequestEvent extends Event {
+  /** The event name. */
+  public static final String NAME = "org.comixedproject.comicvine.Request";
+
+  @Label("Action")
+  @Description("The action that sent the request")
+  private String action;
+
+  @Label("Resource")
+  @Description("The ComicVine resource requested")
+  private String resource;
+
+  @Label("Page")
+  @Description("The page of results requested, or 0 for the first page")
+  private int page;
+
+  @Label("Offset")
+  @Description("The offset of the first result requested")
+  private int offset;
+
+  @Label("Bytes")
+  @Description("The size of the response")
+  @DataAmount
+  private long bytes;
+
+  @Label("Limiter Wait")
+  @Description("The time spent waiting for the hourly quota and the rate limiter")
+  @Timespan
+  private long limiterWait;
+
+  @Label("Success")
+  @Description("Whether a response was received")
+  private boolean success;
+}
@@ -18,6 +18,7 @@
 
 package org.comixedproject.metadata.comicvine.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
 
@@ -55,4 +56,14 @@ public abstract class AbstractComicVineQueryResponse {
   @JsonProperty("version")
   @Getter
   private String version;
+
+  /**
+   * Returns the outcome reported by the status code.
+   *
+   * @return the outcome
+   */
+  @JsonIgnore
+  public ComicVineStatusCode getStatus() {
+    return ComicVineStatusCode.forValue(this.statusCode);
+  }
 }
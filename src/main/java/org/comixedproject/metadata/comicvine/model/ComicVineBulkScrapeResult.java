@@ -0,0 +1,37 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Getter;
+import org.comixedproject.metadata.model.IssueDetailsMetadata;
+
+/**
+ * <code>ComicVineBulkScrapeResult</code> holds the outcome of scraping many issues at once. Each
+ * requested issue appears either with its details or with the reason it could not be scraped.
+ *
+ * @author Darryl L. Pierce
+ */
+public class ComicVineBulkScrapeResult {
+  @Getter
+  private final Map<ComicVineIssueReference, IssueDetailsMetadata> results = new LinkedHashMap<>();
+
+  @Getter private final Map<ComicVineIssueReference, String> failures = new LinkedHashMap<>();
+}
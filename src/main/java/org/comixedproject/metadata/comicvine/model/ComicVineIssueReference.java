@@ -0,0 +1,52 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.model;
+
+/**
+ * <code>ComicVineIssueReference</code> identifies an issue to be scraped, either by its volume and
+ * issue number or by its ComicVine issue id.
+ *
+ * @param volumeId the volume id
+ * @param issueNumber the issue number
+ * @param issueId the issue id
+ * @author Darryl L. Pierce
+ */
+public record ComicVineIssueReference(String volumeId, String issueNumber, String issueId) {
+  /**
+   * Creates a reference to an issue by its volume and issue number.
+   *
+   * @param volumeId the volume id
+   * @param issueNumber the issue number
+   * @return the reference
+   */
+  public static ComicVineIssueReference forIssueNumber(
+      final String volumeId, final String issueNumber) {
+    return new ComicVineIssueReference(volumeId, issueNumber, null);
+  }
+
+  /**
+   * Creates a reference to an issue by its id.
+   *
+   * @param issueId the issue id
+   * @return the reference
+   */
+  public static ComicVineIssueReference forIssueId(final String issueId) {
+    return new ComicVineIssueReference(null, null, issueId);
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.model;
+
+import java.util.Arrays;
+import java.util.Objects;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * <code>ComicVineStatusCode</code> maps the status code returned in the body of every ComicVine
+ * response to the outcome it reports.
+ *
+ * @author Darryl L. Pierce
+ */
+@AllArgsConstructor
+public enum ComicVineStatusCode {
+  OK(1),
+  INVALID_API_KEY(100),
+  OBJECT_NOT_FOUND(101),
+  URL_FORMAT_ERROR(102),
+  JSONP_CALLBACK_MISSING(103),
+  FILTER_ERROR(104),
+  SUBSCRIBER_ONLY(105),
+  RATE_LIMIT_EXCEEDED(107),
+  UNKNOWN(-1);
+
+  @Getter private int value;
+
+  /**
+   * Returns the outcome for the given status code. A response without a status code is treated as
+   * successful.
+   *
+   * @param value the status code
+   * @return the outcome
+   */
+  public static ComicVineStatusCode forValue(final Integer value) {
+    if (Objects.isNull(value)) return OK;
+    return Arrays.stream(ComicVineStatusCode.values())
+        .filter(status -> status.getValue() == value)
+        .findFirst()
+        .orElse(UNKNOWN);
+  }
+}
@@ -0,0 +1,210 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.actions;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertNotSame;
+import static junit.framework.TestCase.assertSame;
+import static junit.framework.TestCase.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.comixedproject.metadata.MetadataException;
+import org.comixedproject.metadata.comicvine.model.ComicVineBulkScrapeResult;
+import org.comixedproject.metadata.comicvine.model.ComicVineIssueReference;
+import org.comixedproject.metadata.model.IssueDetailsMetadata;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Mono;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ComicVineBulkScrapeActionTest {
+  private static final String TEST_API_KEY = "This.is.the.test.api.key";
+  private static final String TEST_VOLUME_ID = "219";
+  private static final String TEST_FAILING_VOLUME_ID = "220";
+  private static final String TEST_INDEXED_ISSUE_ID = "421092";
+  private static final String TEST_ISSUE_ID = "421093";
+  private static final String TEST_MISSING_ISSUE_ID = "1";
+  private static final String TEST_INDEX_BODY =
+      "{\"error\":\"OK\",\"limit\":100,\"offset\":0,\"number_of_page_results\":2,\"number_of_total_results\":2,\"status_code\":1,\"results\":[{\"id\":421092,\"issue_number\":\"1\",\"volume\":{\"id\":219,\"name\":\"Action Lab Confidential\"}},{\"id\":421093,\"issue_number\":\"2\",\"volume\":{\"id\":219,\"name\":\"Action Lab Confidential\"}}],\"version\":\"1.0\"}";
+
+  private static final ComicVineIssueReference TEST_BY_NUMBER =
+      ComicVineIssueReference.forIssueNumber(TEST_VOLUME_ID, "001");
+  private static final ComicVineIssueReference TEST_UNKNOWN_NUMBER =
+      ComicVineIssueReference.forIssueNumber(TEST_VOLUME_ID, "3");
+  private static final ComicVineIssueReference TEST_FAILING_VOLUME =
+      ComicVineIssueReference.forIssueNumber(TEST_FAILING_VOLUME_ID, "1");
+  private static final ComicVineIssueReference TEST_BY_ID =
+      ComicVineIssueReference.forIssueId(TEST_ISSUE_ID);
+  private static final ComicVineIssueReference TEST_MISSING_ID =
+      ComicVineIssueReference.forIssueId(TEST_MISSING_ISSUE_ID);
+  private static final ComicVineIssueReference TEST_EMPTY =
+      new ComicVineIssueReference(null, null, null);
+
+  @InjectMocks private ComicVineBulkScrapeAction action;
+  @Mock private ComicVineGetIssueDetailsBatchAction getIssueDetailsBatchAction;
+
+  private MockWebServer comicVineServer;
+  private final IssueDetailsMetadata indexedIssue = new IssueDetailsMetadata();
+  private final IssueDetailsMetadata issue = new IssueDetailsMetadata();
+
+  @Before
+  public void setUp() throws IOException {
+    action.getIssueDetailsBatchAction = getIssueDetailsBatchAction;
+
+    comicVineServer = new MockWebServer();
+    comicVineServer.start();
+    comicVineServer.setDispatcher(
+        new Dispatcher() {
+          @Override
+          public MockResponse dispatch(final RecordedRequest request) {
+            final String filter = request.getRequestUrl().queryParameter("filter");
+            if (!("volume:" + TEST_VOLUME_ID).equals(filter))
+              return new MockResponse().setResponseCode(404);
+            return new MockResponse()
+                .setBody(TEST_INDEX_BODY)
+                .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+          }
+        });
+
+    final String hostname = String.format("http://localhost:%s", this.comicVineServer.getPort());
+    action.setBaseUrl(hostname);
+    action.setApiKey(TEST_API_KEY);
+    action.setIssues(
+        List.of(
+            TEST_BY_NUMBER,
+            TEST_UNKNOWN_NUMBER,
+            TEST_FAILING_VOLUME,
+            TEST_BY_ID,
+            TEST_MISSING_ID,
+            TEST_EMPTY));
+
+    indexedIssue.setSourceId(TEST_INDEXED_ISSUE_ID);
+    issue.setSourceId(TEST_ISSUE_ID);
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    comicVineServer.shutdown();
+  }
+
+  @Test(expected = MetadataException.class)
+  public void testExecuteWithoutBaseUrl() throws MetadataException {
+    action.setBaseUrl("");
+    action.execute();
+  }
+
+  @Test(expected = MetadataException.class)
+  public void testExecuteWithoutApiKey() throws MetadataException {
+    action.setApiKey("");
+    action.execute();
+  }
+
+  @Test(expected = MetadataException.class)
+  public void testExecuteWithoutIssues() throws MetadataException {
+    action.setIssues(null);
+    action.execute();
+  }
+
+  @Test
+  public void testExecute() throws MetadataException {
+    Mockito.when(getIssueDetailsBatchAction.executeAsync(Mockito.anyList()))
+        .thenReturn(Mono.just(List.of(issue, indexedIssue)));
+
+    final ComicVineBulkScrapeResult result = action.execute();
+
+    assertEquals(2, result.getResults().size());
+    assertSame(indexedIssue, result.getResults().get(TEST_BY_NUMBER));
+    assertSame(issue, result.getResults().get(TEST_BY_ID));
+
+    assertEquals(4, result.getFailures().size());
+    assertTrue(result.getFailures().containsKey(TEST_UNKNOWN_NUMBER));
+    assertTrue(result.getFailures().containsKey(TEST_FAILING_VOLUME));
+    assertTrue(result.getFailures().containsKey(TEST_MISSING_ID));
+    assertTrue(result.getFailures().containsKey(TEST_EMPTY));
+
+    assertEquals(2, comicVineServer.getRequestCount());
+
+    Mockito.verify(getIssueDetailsBatchAction, Mockito.times(1))
+        .executeAsync(List.of(TEST_ISSUE_ID, TEST_MISSING_ISSUE_ID, TEST_INDEXED_ISSUE_ID));
+  }
+
+  @Test
+  public void testExecuteWhenDetailsFail() throws MetadataException {
+    Mockito.when(getIssueDetailsBatchAction.executeAsync(Mockito.anyList()))
+        .thenReturn(Mono.error(new MetadataException("Failed to get response")));
+
+    final ComicVineBulkScrapeResult result = action.execute();
+
+    assertTrue(result.getResults().isEmpty());
+    assertEquals(6, result.getFailures().size());
+  }
+
+  @Test
+  public void testExecuteWhenOneBatchFails() throws MetadataException {
+    final List<ComicVineIssueReference> references = new ArrayList<>();
+    for (int index = 0; index < 150; index++)
+      references.add(ComicVineIssueReference.forIssueId(String.valueOf(1000 + index)));
+    action.setIssues(references);
+    final IssueDetailsMetadata last = new IssueDetailsMetadata();
+    last.setSourceId("1149");
+    Mockito.when(getIssueDetailsBatchAction.executeAsync(Mockito.anyList()))
+        .thenReturn(
+            Mono.error(new MetadataException("Failed to get response")),
+            Mono.just(List.of(last)));
+
+    final ComicVineBulkScrapeResult result = action.execute();
+
+    assertEquals(1, result.getResults().size());
+    assertSame(last, result.getResults().get(references.get(149)));
+    assertEquals(149, result.getFailures().size());
+    assertTrue(
+        result.getFailures().get(references.get(0)).startsWith("Failed to load issue details"));
+    assertEquals("No details returned for issue", result.getFailures().get(references.get(100)));
+  }
+
+  @Test
+  public void testExecuteTwiceStartsAfresh() {
+    Mockito.when(getIssueDetailsBatchAction.executeAsync(Mockito.anyList()))
+        .thenReturn(Mono.just(List.of(issue, indexedIssue)));
+    final Mono<ComicVineBulkScrapeResult> request = action.executeAsync();
+
+    final ComicVineBulkScrapeResult first = request.block();
+    final ComicVineBulkScrapeResult second = request.block();
+
+    assertNotSame(first, second);
+    assertEquals(2, second.getResults().size());
+    assertEquals(4, second.getFailures().size());
+    Mockito.verify(getIssueDetailsBatchAction, Mockito.times(2))
+        .executeAsync(List.of(TEST_ISSUE_ID, TEST_MISSING_ISSUE_ID, TEST_INDEXED_ISSUE_ID));
+  }
+}
@@ -18,14 +18,21 @@
 
 package org.comixedproject.metadata.comicvine.actions;
 
+import static junit.framework.TestCase.assertEquals;
 import static junit.framework.TestCase.assertFalse;
 import static junit.framework.TestCase.assertNotNull;
+import static junit.framework.TestCase.assertNull;
+import static junit.framework.TestCase.assertTrue;
+import static junit.framework.TestCase.fail;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import org.comixedproject.metadata.MetadataException;
+import org.comixedproject.metadata.comicvine.client.ComicVineClient;
 import org.comixedproject.metadata.model.IssueMetadata;
 import org.junit.After;
 import org.junit.Before;
@@ -41,6 +48,8 @@ public class ComicVineGetIssueActionTest {
   private static final String TEST_API_KEY = "This.is.the.test.api.key";
   private static final String TEST_VOLUME_ID = "219";
   private static final String TEST_ISSUE_NUMBER = "989";
+  private static final String TEST_INDEX_BODY =
+      "{\"error\":\"OK\",\"limit\":100,\"offset\":0,\"number_of_page_results\":2,\"number_of_total_results\":2,\"status_code\":1,\"results\":[{\"id\":421092,\"issue_number\":\"1\",\"cover_date\":\"2012-05-01\",\"store_date\":\"2012-05-05\",\"image\":{\"medium_url\":\"https:\\/\\/comicvine1.cbsistatic.com\\/1.jpg\"},\"volume\":{\"id\":219,\"name\":\"Action Lab Confidential\"}},{\"id\":421093,\"issue_number\":\"2\",\"cover_date\":\"2012-06-01\",\"store_date\":\"2012-06-05\",\"image\":{\"medium_url\":\"https:\\/\\/comicvine1.cbsistatic.com\\/2.jpg\"},\"volume\":{\"id\":219,\"name\":\"Action Lab Confidential\"}}],\"version\":\"1.0\"}";
   private static final String TEST_BAD_RESPONSE_BODY = "this is not JSON";
   private static final String TEST_GOOD_BODY =
       "{\"error\":\"OK\",\"limit\":100,\"offset\":0,\"number_of_page_results\":1,\"number_of_total_results\":1,\"status_code\":1,\"results\":[{\"cover_date\":\"2012-05-01\",\"description\":null,\"id\":421092,\"image\":{\"icon_url\":\"https:\\/\\/comicvine1.cbsistatic.com\\/uploads\\/square_avatar\\/12\\/124613\\/3227301-action%20lab%20confidential%20v1%20%282012%29%20pagecover.jpg\",\"medium_url\":\"https:\\/\\/comicvine1.cbsistatic.com\\/uploads\\/scale_medium\\/12\\/124613\\/3227301-action%20lab%20confidential%20v1%20%282012%29%20pagecover.jpg\",\"screen_url\":\"https:\\/\\/comicvine1.cbsistatic.com\\/uploads\\/screen_medium\\/12\\/124613\\/3227301-action%20lab%20confidential%20v1%20%282012%29%20pagecover.jpg\",\"screen_large_url\":\"https:\\/\\/comicvine1.cbsistatic.com\\/uploads\\/screen_kubrick\\/12\\/124613\\/3227301-action%20lab%20confidential%20v1%20%282012%29%20pagecover.jpg\",\"small_url\":\"https:\\/\\/comicvine1.cbsistatic.com\\/uploads\\/scale_small\\/12\\/124613\\/3227301-action%20lab%20confidential%20v1%20%282012%29%20pagecover.jpg\",\"super_url\":\"https:\\/\\/comicvine1.cbsistatic.com\\/uploads\\/scale_large\\/12\\/124613\\/3227301-action%20lab%20confidential%20v1%20%282012%29%20pagecover.jpg\",\"thumb_url\":\"https:\\/\\/comicvine1.cbsistatic.com\\/uploads\\/scale_avatar\\/12\\/124613\\/3227301-action%20lab%20confidential%20v1%20%282012%29%20pagecover.jpg\",\"tiny_url\":\"https:\\/\\/comicvine1.cbsistatic.com\\/uploads\\/square_mini\\/12\\/124613\\/3227301-action%20lab%20confidential%20v1%20%282012%29%20pagecover.jpg\",\"original_url\":\"https:\\/\\/comicvine1.cbsistatic.com\\/uploads\\/original\\/12\\/124613\\/3227301-action%20lab%20confidential%20v1%20%282012%29%20pagecover.jpg\",\"image_tags\":\"All Images\"},\"issue_number\":\"1\",\"store_date\":\"2012-05-05\",\"volume\":{\"api_detail_url\":\"https:\\/\\/comicvine.gamespot.com\\/api\\/volume\\/4050-66143\\/\",\"id\":66143,\"name\":\"Action Lab Confidential\",\"site_detail_url\":\"https:\\/\\/comicvine.gamespot.com\\/action-lab-confidential\\/4050-66143\\/\"}}],\"version\":\"1.0\"}";
@@ -99,4 +108,115 @@ public class ComicVineGetIssueActionTest {
     assertNotNull(result);
     assertFalse(result.isEmpty());
   }
+
+  @Test
+  public void testExecuteFailsAfterDeadline() {
+    this.comicVineServer.enqueue(
+        new MockResponse()
+            .setBody(TEST_GOOD_BODY)
+            .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .setHeadersDelay(5L, TimeUnit.SECONDS));
+    action.setDeadline(Duration.ofMillis(250L));
+
+    final long started = System.currentTimeMillis();
+    try {
+      action.execute();
+      fail("Expected the request to fail");
+    } catch (MetadataException error) {
+      assertTrue(System.currentTimeMillis() - started < TimeUnit.SECONDS.toMillis(5L));
+    }
+  }
+
+  @Test
+  public void testNormalizeIssueNumber() {
+    assertEquals("1", ComicVineGetIssueAction.normalizeIssueNumber("1"));
+    assertEquals("1", ComicVineGetIssueAction.normalizeIssueNumber("001"));
+    assertEquals("1", ComicVineGetIssueAction.normalizeIssueNumber("1.0"));
+    assertEquals("1", ComicVineGetIssueAction.normalizeIssueNumber(" 1 "));
+    assertEquals("0", ComicVineGetIssueAction.normalizeIssueNumber("000"));
+    assertEquals("0.5", ComicVineGetIssueAction.normalizeIssueNumber("00.50"));
+    assertEquals("-1", ComicVineGetIssueAction.normalizeIssueNumber("-01"));
+    assertEquals("12au", ComicVineGetIssueAction.normalizeIssueNumber("012AU"));
+    assertEquals("\u00bd", ComicVineGetIssueAction.normalizeIssueNumber("\u00bd"));
+    assertEquals("", ComicVineGetIssueAction.normalizeIssueNumber(null));
+  }
+
+  @Test
+  public void testExecuteUsingIndex() throws MetadataException, InterruptedException {
+    this.comicVineServer.enqueue(
+        new MockResponse()
+            .setBody(TEST_INDEX_BODY)
+            .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE));
+    final ComicVineClient client = new ComicVineClient();
+
+    final ComicVineGetIssueAction first = this.doCreateAction(client);
+    first.setUseIndex(true);
+    first.setIssueNumber("001");
+    final List<IssueMetadata> firstResult = first.execute();
+
+    final ComicVineGetIssueAction second = this.doCreateAction(client);
+    second.setIssueNumber("2.0");
+    final List<IssueMetadata> secondResult = second.execute();
+    client.shutdown();
+
+    assertEquals(1, firstResult.size());
+    assertEquals("421092", firstResult.get(0).getId());
+    assertEquals("1", firstResult.get(0).getIssueNumber());
+    assertNull(firstResult.get(0).getDescription());
+    assertEquals(1, secondResult.size());
+    assertEquals("421093", secondResult.get(0).getId());
+
+    assertEquals(1, this.comicVineServer.getRequestCount());
+    final String path = this.comicVineServer.takeRequest().getPath();
+    assertTrue(path.contains("filter=volume:" + TEST_VOLUME_ID));
+    assertFalse(path.contains("issue_number:"));
+    assertFalse(path.contains("description"));
+  }
+
+  @Test
+  public void testExecuteWithoutIndexQueriesIssue() throws MetadataException, InterruptedException {
+    this.comicVineServer.enqueue(
+        new MockResponse()
+            .setBody(TEST_GOOD_BODY)
+            .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE));
+
+    final List<IssueMetadata> result = action.execute();
+
+    assertFalse(result.isEmpty());
+    assertEquals(1, this.comicVineServer.getRequestCount());
+    assertTrue(
+        this.comicVineServer.takeRequest().getPath().contains("issue_number:" + TEST_ISSUE_NUMBER));
+  }
+
+  @Test
+  public void testExecuteUsingIndexQueriesMissingIssue()
+      throws MetadataException, InterruptedException {
+    this.comicVineServer.enqueue(
+        new MockResponse()
+            .setBody(TEST_INDEX_BODY)
+            .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE));
+    this.comicVineServer.enqueue(
+        new MockResponse()
+            .setBody(TEST_GOOD_BODY)
+            .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE));
+    action.setUseIndex(true);
+
+    final List<IssueMetadata> result = action.execute();
+
+    assertFalse(result.isEmpty());
+    assertEquals(2, this.comicVineServer.getRequestCount());
+    this.comicVineServer.takeRequest();
+    assertTrue(
+        this.comicVineServer.takeRequest().getPath().contains("issue_number:" + TEST_ISSUE_NUMBER));
+  }
+
+  private ComicVineGetIssueAction doCreateAction(final ComicVineClient client) {
+    final ComicVineGetIssueAction result = new ComicVineGetIssueAction();
+    result.setClient(client);
+    result.setBaseUrl(this.action.getBaseUrl());
+    result.setApiKey(TEST_API_KEY + ".concurrent");
+    result.setVolumeId(TEST_VOLUME_ID);
+    result.setIssueNumber(TEST_ISSUE_NUMBER);
+    return result;
+  }
 }
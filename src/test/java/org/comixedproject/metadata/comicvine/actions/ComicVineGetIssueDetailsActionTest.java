@@ -20,6 +20,7 @@ package org.comixedproject.metadata.comicvine.actions;
 
 import static junit.framework.TestCase.assertEquals;
 import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertNull;
 
 import java.util.ArrayList;
 import java.util.Date;
@@ -36,6 +37,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
+import reactor.core.publisher.Mono;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ComicVineGetIssueDetailsActionTest {
@@ -60,6 +62,7 @@ public class ComicVineGetIssueDetailsActionTest {
   private static final String TEST_CREDIT_ROLE_2 = ComicVineCreditType.EDITOR.getTagValue();
   private static final String TEST_CREDIT_TAG_2 = ComicTagType.EDITOR.getValue();
   private static final String TEST_COMIC_VINE_ISSUE_ID = "71765";
+  private static final String TEST_ERROR_MESSAGE = "This is the error message";
 
   @InjectMocks private ComicVineGetIssueDetailsAction action;
   @Mock private ComicVineGetIssueWithDetailsAction getIssueWithDetailsAction;
@@ -139,7 +142,8 @@ public class ComicVineGetIssueDetailsActionTest {
 
   @Test(expected = MetadataException.class)
   public void testExecuteGetIssueDetailsThrowsException() throws MetadataException {
-    Mockito.when(getIssueWithDetailsAction.execute()).thenThrow(MetadataException.class);
+    Mockito.when(getIssueWithDetailsAction.executeAsync(Mockito.anyString()))
+        .thenReturn(Mono.error(new MetadataException(TEST_ERROR_MESSAGE)));
 
     try {
       action.execute();
@@ -150,8 +154,10 @@ public class ComicVineGetIssueDetailsActionTest {
 
   @Test(expected = MetadataException.class)
   public void testExecuteGetVolumeDetailsThrowsException() throws MetadataException {
-    Mockito.when(getIssueWithDetailsAction.execute()).thenReturn(comicVineIssue);
-    Mockito.when(getVolumeDetailsAction.execute()).thenThrow(MetadataException.class);
+    Mockito.when(getIssueWithDetailsAction.executeAsync(Mockito.anyString()))
+        .thenReturn(Mono.just(comicVineIssue));
+    Mockito.when(getVolumeDetailsAction.executeAsync(Mockito.anyString()))
+        .thenReturn(Mono.error(new MetadataException(TEST_ERROR_MESSAGE)));
 
     try {
       action.execute();
@@ -163,9 +169,13 @@ public class ComicVineGetIssueDetailsActionTest {
 
   @Test(expected = MetadataException.class)
   public void testExecuteGetPublisherDetailsThrowsException() throws MetadataException {
-    Mockito.when(getIssueWithDetailsAction.execute()).thenReturn(comicVineIssue);
-    Mockito.when(getVolumeDetailsAction.execute()).thenReturn(comicVineVolume);
-    Mockito.when(getPublisherDetailsAction.execute()).thenThrow(MetadataException.class);
+    Mockito.when(getIssueWithDetailsAction.executeAsync(Mockito.anyString()))
+        .thenReturn(Mono.just(comicVineIssue));
+    Mockito.when(getVolumeDetailsAction.executeAsync(Mockito.anyString()))
+        .thenReturn(Mono.just(comicVineVolume));
+    Mockito.when(comicVinePublisher.getName()).thenReturn(null);
+    Mockito.when(getPublisherDetailsAction.executeAsync(Mockito.anyString()))
+        .thenReturn(Mono.error(new MetadataException(TEST_ERROR_MESSAGE)));
 
     try {
       action.execute();
@@ -177,10 +187,14 @@ public class ComicVineGetIssueDetailsActionTest {
   }
 
   @Test
-  public void testExecute() throws MetadataException {
-    Mockito.when(getIssueWithDetailsAction.execute()).thenReturn(comicVineIssue);
-    Mockito.when(getVolumeDetailsAction.execute()).thenReturn(comicVineVolume);
-    Mockito.when(getPublisherDetailsAction.execute()).thenReturn(comicVinePublisher);
+  public void testExecuteWithoutEmbeddedPublisherName() throws MetadataException {
+    Mockito.when(getIssueWithDetailsAction.executeAsync(Mockito.anyString()))
+        .thenReturn(Mono.just(comicVineIssue));
+    Mockito.when(getVolumeDetailsAction.executeAsync(Mockito.anyString()))
+        .thenReturn(Mono.just(comicVineVolume));
+    Mockito.when(comicVinePublisher.getName()).thenReturn(null, TEST_PUBLISHER_NAME);
+    Mockito.when(getPublisherDetailsAction.executeAsync(Mockito.anyString()))
+        .thenReturn(Mono.just(comicVinePublisher));
 
     final IssueDetailsMetadata result = action.execute();
 
@@ -188,6 +202,37 @@ public class ComicVineGetIssueDetailsActionTest {
     this.verifyGetVolumeDetailsAction();
     this.verifyGetPublisherDetailsAction();
 
+    assertEquals(TEST_PUBLISHER_NAME, result.getPublisher());
+  }
+
+  @Test
+  public void testExecuteWithoutPublisher() throws MetadataException {
+    Mockito.when(getIssueWithDetailsAction.executeAsync(Mockito.anyString()))
+        .thenReturn(Mono.just(comicVineIssue));
+    Mockito.when(getVolumeDetailsAction.executeAsync(Mockito.anyString()))
+        .thenReturn(Mono.just(comicVineVolume));
+    Mockito.when(comicVineVolume.getPublisher()).thenReturn(null);
+
+    final IssueDetailsMetadata result = action.execute();
+
+    assertNull(result.getPublisher());
+
+    Mockito.verify(getPublisherDetailsAction, Mockito.never()).executeAsync(Mockito.anyString());
+  }
+
+  @Test
+  public void testExecute() throws MetadataException {
+    Mockito.when(getIssueWithDetailsAction.executeAsync(Mockito.anyString()))
+        .thenReturn(Mono.just(comicVineIssue));
+    Mockito.when(getVolumeDetailsAction.executeAsync(Mockito.anyString()))
+        .thenReturn(Mono.just(comicVineVolume));
+
+    final IssueDetailsMetadata result = action.execute();
+
+    this.verifyGetIssueDetailsAction();
+    this.verifyGetVolumeDetailsAction();
+    Mockito.verify(getPublisherDetailsAction, Mockito.never()).executeAsync(Mockito.anyString());
+
     assertEquals(TEST_COMIC_VINE_ISSUE_ID, result.getSourceId());
     assertEquals(TEST_PUBLISHER_NAME, result.getPublisher());
     assertEquals(TEST_VOLUME_NAME, result.getSeries());
@@ -220,23 +265,20 @@ public class ComicVineGetIssueDetailsActionTest {
   }
 
   private void verifyGetPublisherDetailsAction() throws MetadataException {
-    Mockito.verify(getPublisherDetailsAction, Mockito.times(1))
-        .setApiUrl(TEST_PUBLISHER_DETAILS_API);
     Mockito.verify(getPublisherDetailsAction, Mockito.times(1)).setApiKey(TEST_API_KEY);
-    Mockito.verify(getPublisherDetailsAction, Mockito.times(1)).execute();
+    Mockito.verify(getPublisherDetailsAction, Mockito.times(1))
+        .executeAsync(TEST_PUBLISHER_DETAILS_API);
   }
 
   private void verifyGetVolumeDetailsAction() throws MetadataException {
-    Mockito.verify(getVolumeDetailsAction, Mockito.times(1)).setApiUrl(TEST_VOLUME_DETAILS_URL);
     Mockito.verify(getVolumeDetailsAction, Mockito.times(1)).setApiKey(TEST_API_KEY);
-    Mockito.verify(getVolumeDetailsAction, Mockito.times(1)).execute();
+    Mockito.verify(getVolumeDetailsAction, Mockito.times(1)).executeAsync(TEST_VOLUME_DETAILS_URL);
   }
 
   private void verifyGetIssueDetailsAction() throws MetadataException {
     Mockito.verify(getIssueWithDetailsAction, Mockito.times(1))
         .setBaseUrl(ComicVineMetadataAdaptor.BASE_URL);
     Mockito.verify(getIssueWithDetailsAction, Mockito.times(1)).setApiKey(TEST_API_KEY);
-    Mockito.verify(getIssueWithDetailsAction, Mockito.times(1)).setIssueId(TEST_ISSUE_ID);
-    Mockito.verify(getIssueWithDetailsAction, Mockito.times(1)).execute();
+    Mockito.verify(getIssueWithDetailsAction, Mockito.times(1)).executeAsync(TEST_ISSUE_ID);
   }
 }
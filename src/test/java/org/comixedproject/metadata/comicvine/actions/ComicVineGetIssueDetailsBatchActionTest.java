@@ -0,0 +1,126 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.actions;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.comixedproject.metadata.MetadataException;
+import org.comixedproject.metadata.comicvine.model.ComicVinePublisher;
+import org.comixedproject.metadata.comicvine.model.ComicVineVolume;
+import org.comixedproject.metadata.model.IssueDetailsMetadata;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Mono;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ComicVineGetIssueDetailsBatchActionTest {
+  private static final String TEST_API_KEY = "This.is.the.test.api.key";
+  private static final String TEST_FIRST_ISSUE_ID = "935767";
+  private static final String TEST_SECOND_ISSUE_ID = "942720";
+  private static final String TEST_MISSING_ISSUE_ID = "1";
+  private static final String TEST_VOLUME_ID = "140417";
+  private static final String TEST_SERIES = "Daredevil";
+  private static final String TEST_START_YEAR = "2022";
+  private static final String TEST_PUBLISHER = "Marvel";
+  private static final String TEST_ISSUES_RESPONSE =
+      "{\"error\":\"OK\",\"limit\":100,\"offset\":0,\"number_of_page_results\":2,\"number_of_total_results\":2,\"status_code\":1,\"results\":[{\"cover_date\":\"2022-11-01\",\"description\":null,\"id\":942720,\"issue_number\":\"2\",\"name\":\"The Red Fist Saga Part 2; The Hand\",\"site_detail_url\":\"https:\\/\\/comicvine.gamespot.com\\/daredevil-2\\/4000-942720\\/\",\"store_date\":\"2022-09-21\",\"volume\":{\"id\":140417,\"name\":\"Daredevil\"}},{\"cover_date\":\"2022-09-01\",\"description\":null,\"id\":935767,\"issue_number\":\"1\",\"name\":\"The Red Fist Saga Part 1; The Island\",\"site_detail_url\":\"https:\\/\\/comicvine.gamespot.com\\/daredevil-1\\/4000-935767\\/\",\"store_date\":\"2022-07-27\",\"volume\":{\"id\":140417,\"name\":\"Daredevil\"}}],\"version\":\"1.0\"}";
+
+  @InjectMocks private ComicVineGetIssueDetailsBatchAction action;
+  @Mock private ComicVineGetVolumeDetailsBatchAction getVolumeDetailsBatchAction;
+  @Mock private ComicVinePublisher publisher;
+
+  private MockWebServer comicVineServer;
+  private final ComicVineVolume volume = new ComicVineVolume();
+
+  @Before
+  public void setUp() throws IOException {
+    action.getVolumeDetailsBatchAction = getVolumeDetailsBatchAction;
+
+    comicVineServer = new MockWebServer();
+    comicVineServer.start();
+
+    final String hostname = String.format("http://localhost:%s", this.comicVineServer.getPort());
+    action.setBaseUrl(hostname);
+    action.setApiKey(TEST_API_KEY);
+    action.setIssueIds(List.of(TEST_FIRST_ISSUE_ID, TEST_MISSING_ISSUE_ID, TEST_SECOND_ISSUE_ID));
+
+    volume.setId(TEST_VOLUME_ID);
+    volume.setName(TEST_SERIES);
+    volume.setStartYear(TEST_START_YEAR);
+    volume.setPublisher(publisher);
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    comicVineServer.shutdown();
+  }
+
+  @Test(expected = MetadataException.class)
+  public void testExecuteMissingApiKey() throws MetadataException {
+    action.setApiKey("");
+    action.execute();
+  }
+
+  @Test(expected = MetadataException.class)
+  public void testExecuteMissingIssueIds() throws MetadataException {
+    action.setIssueIds(null);
+    action.execute();
+  }
+
+  @Test
+  public void testExecute() throws MetadataException, InterruptedException {
+    this.comicVineServer.enqueue(
+        new MockResponse()
+            .setBody(TEST_ISSUES_RESPONSE)
+            .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE));
+    Mockito.when(getVolumeDetailsBatchAction.executeAsync(Mockito.anyList()))
+        .thenReturn(Mono.just(List.of(volume)));
+    Mockito.when(publisher.getName()).thenReturn(TEST_PUBLISHER);
+
+    final List<IssueDetailsMetadata> result = action.execute();
+
+    assertEquals(2, result.size());
+    assertEquals(TEST_FIRST_ISSUE_ID, result.get(0).getSourceId());
+    assertEquals(TEST_SECOND_ISSUE_ID, result.get(1).getSourceId());
+    assertEquals(TEST_SERIES, result.get(0).getSeries());
+    assertEquals(TEST_START_YEAR, result.get(0).getVolume());
+    assertEquals(TEST_PUBLISHER, result.get(0).getPublisher());
+
+    final RecordedRequest request = comicVineServer.takeRequest();
+    assertTrue(request.getPath().contains(ComicVineGetIssueDetailsBatchAction.ENDPOINT));
+    assertTrue(request.getPath().contains(TEST_MISSING_ISSUE_ID));
+    assertEquals(1, comicVineServer.getRequestCount());
+    Mockito.verify(getVolumeDetailsBatchAction, Mockito.times(1))
+        .executeAsync(List.of(TEST_VOLUME_ID));
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.actions;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertSame;
+import static junit.framework.TestCase.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.comixedproject.metadata.MetadataException;
+import org.comixedproject.metadata.comicvine.client.ComicVineClient;
+import org.comixedproject.metadata.comicvine.model.ComicVineIssue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ComicVineGetIssueIndexActionTest {
+  private static final String TEST_API_KEY = "This.is.the.test.api.key";
+  private static final String TEST_VOLUME_ID = "219";
+  private static final String TEST_INDEX_BODY =
+      "{\"error\":\"OK\",\"limit\":100,\"offset\":0,\"number_of_page_results\":2,\"number_of_total_results\":2,\"status_code\":1,\"results\":[{\"id\":421092,\"issue_number\":\"1\",\"volume\":{\"id\":219,\"name\":\"Action Lab Confidential\"}},{\"id\":421093,\"issue_number\":\"2\",\"volume\":{\"id\":219,\"name\":\"Action Lab Confidential\"}}],\"version\":\"1.0\"}";
+
+  @InjectMocks private ComicVineGetIssueIndexAction action;
+  private MockWebServer comicVineServer;
+
+  @Before
+  public void setUp() throws IOException {
+    comicVineServer = new MockWebServer();
+    comicVineServer.start();
+
+    final String hostname = String.format("http://localhost:%s", this.comicVineServer.getPort());
+    action.setBaseUrl(hostname);
+    action.setApiKey(TEST_API_KEY);
+    action.setVolumeId(TEST_VOLUME_ID);
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    comicVineServer.shutdown();
+  }
+
+  @Test(expected = MetadataException.class)
+  public void testExecuteWithoutApiKey() throws MetadataException {
+    action.setApiKey("");
+    action.execute();
+  }
+
+  @Test(expected = MetadataException.class)
+  public void testExecuteWithoutVolumeId() throws MetadataException {
+    action.setVolumeId(null);
+    action.execute();
+  }
+
+  @Test
+  public void testExecute() throws MetadataException, InterruptedException {
+    this.comicVineServer.enqueue(
+        new MockResponse()
+            .setBody(TEST_INDEX_BODY)
+            .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE));
+
+    final List<ComicVineIssue> result = action.execute();
+
+    assertEquals(2, result.size());
+    assertEquals("421092", result.get(0).getId());
+    assertEquals("2", result.get(1).getIssueNumber());
+
+    final String path = this.comicVineServer.takeRequest().getPath();
+    assertTrue(path.startsWith("/api/issues/"));
+    assertTrue(path.contains("filter=volume:" + TEST_VOLUME_ID));
+    assertTrue(path.contains("sort=id%3Aasc"));
+  }
+
+  @Test
+  public void testExecuteUsesCachedIndex() throws MetadataException {
+    this.comicVineServer.enqueue(
+        new MockResponse()
+            .setBody(TEST_INDEX_BODY)
+            .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE));
+    final ComicVineClient client = new ComicVineClient();
+    action.setClient(client);
+
+    final List<ComicVineIssue> result = action.execute();
+
+    final ComicVineGetIssueIndexAction second = new ComicVineGetIssueIndexAction();
+    second.setClient(client);
+    second.setBaseUrl(action.getBaseUrl());
+    second.setApiKey(TEST_API_KEY);
+    second.setVolumeId(TEST_VOLUME_ID);
+
+    assertSame(result, second.execute());
+    assertEquals(1, this.comicVineServer.getRequestCount());
+    client.shutdown();
+  }
+}
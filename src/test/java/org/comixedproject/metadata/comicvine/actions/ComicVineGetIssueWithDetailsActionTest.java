@@ -23,9 +23,12 @@ import static junit.framework.TestCase.assertTrue;
 import static org.junit.Assert.assertEquals;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.GregorianCalendar;
+import java.util.List;
 import java.util.TimeZone;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
@@ -40,6 +43,7 @@ import org.mockito.InjectMocks;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ComicVineGetIssueWithDetailsActionTest {
@@ -123,4 +127,64 @@ public class ComicVineGetIssueWithDetailsActionTest {
     assertFalse(result.getStories().isEmpty());
     assertFalse(result.getPeople().isEmpty());
   }
+
+  @Test
+  public void testExecuteTwiceSendsTheSameRequest() throws MetadataException, InterruptedException {
+    for (int index = 0; index < 2; index++) {
+      this.comicVineServer.enqueue(
+          new MockResponse()
+              .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+              .setBody(TEST_GOOD_DATA));
+    }
+
+    action.execute();
+    action.execute();
+
+    final String first = this.comicVineServer.takeRequest().getRequestUrl().toString();
+    final String second = this.comicVineServer.takeRequest().getRequestUrl().toString();
+    assertEquals(first, second);
+    assertTrue(
+        first.endsWith(
+            "field_list=" + String.join(",", ComicVineGetIssueWithDetailsAction.REQUEST.fields())));
+  }
+
+  @Test
+  public void testExecuteForEachIssue() throws InterruptedException {
+    for (int index = 0; index < 2; index++) {
+      this.comicVineServer.enqueue(
+          new MockResponse()
+              .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+              .setBody(TEST_GOOD_DATA));
+    }
+
+    Flux.merge(action.executeAsync("1001"), action.executeAsync("1002")).collectList().block();
+
+    final List<String> paths =
+        List.of(
+            this.comicVineServer.takeRequest().getPath(),
+            this.comicVineServer.takeRequest().getPath());
+    assertTrue(paths.stream().anyMatch(path -> path.startsWith("/api/issue/4000-1001/")));
+    assertTrue(paths.stream().anyMatch(path -> path.startsWith("/api/issue/4000-1002/")));
+  }
+
+  @Test
+  public void testExecuteUsesCachedResponse() throws MetadataException, IOException {
+    final Path cacheDirectory = Files.createTempDirectory("comicvine-cache");
+    action.getClient().getResponseCache().setDirectory(cacheDirectory);
+    this.comicVineServer.enqueue(
+        new MockResponse()
+            .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .setBody(TEST_GOOD_DATA));
+
+    try {
+      action.execute();
+      final ComicVineIssue result = action.execute();
+
+      assertEquals(TEST_ISSUE_NUMBER, result.getIssueNumber());
+      assertEquals(1, comicVineServer.getRequestCount());
+    } finally {
+      action.getClient().getResponseCache().invalidateAll();
+      Files.deleteIfExists(cacheDirectory);
+    }
+  }
 }
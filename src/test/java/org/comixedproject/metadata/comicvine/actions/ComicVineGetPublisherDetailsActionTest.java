@@ -104,4 +104,18 @@ public class ComicVineGetPublisherDetailsActionTest {
     assertFalse(result.getDescription().isEmpty());
     assertEquals(TEST_IMAGE_URL, result.getImage().getScreenUrl());
   }
+
+  @Test
+  public void testExecuteUsesCache() throws MetadataException {
+    this.comicVineServer.enqueue(
+        new MockResponse()
+            .setBody(TEST_GOOD_DATA)
+            .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE));
+
+    final ComicVinePublisher result = action.execute();
+
+    assertSame(result, action.execute());
+    assertEquals(1, comicVineServer.getRequestCount());
+    assertEquals(1L, action.getClient().getPublisherCache().getHits());
+  }
 }
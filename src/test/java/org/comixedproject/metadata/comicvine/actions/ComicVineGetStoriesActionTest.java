@@ -22,7 +22,6 @@ import org.springframework.http.MediaType;
 @RunWith(MockitoJUnitRunner.class)
 public class ComicVineGetStoriesActionTest {
   private static final String TEST_API_KEY = "OICU812";
-  private static final long TEST_DELAY = 1L;
   private static final String TEST_STORY_NAME = "\"The Mighty Avengers\" The Ultron Initiative";
   private static final String TEST_REFERENCE_ID = "54894";
   private static final String TEST_BAD_RESPONSE_BODY = "This is not JSON";
@@ -48,7 +47,6 @@ public class ComicVineGetStoriesActionTest {
     final String hostname = String.format("http://localhost:%s", this.comicVineServer.getPort());
     action.setBaseUrl(hostname);
     action.setApiKey(TEST_API_KEY);
-    action.setDelay(TEST_DELAY);
     action.setStoryName(TEST_STORY_NAME);
   }
 
@@ -20,11 +20,22 @@ package org.comixedproject.metadata.comicvine.actions;
 
 import static junit.framework.TestCase.assertEquals;
 import static junit.framework.TestCase.assertNotNull;
+import static junit.framework.TestCase.assertSame;
+import static junit.framework.TestCase.assertTrue;
+import static junit.framework.TestCase.fail;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import org.comixedproject.metadata.MetadataException;
+import org.comixedproject.metadata.comicvine.client.ComicVineCircuitBreaker;
+import org.comixedproject.metadata.comicvine.client.ComicVineMicrometerMetrics;
+import org.comixedproject.metadata.comicvine.client.ComicVineStatusException;
+import org.comixedproject.metadata.comicvine.model.ComicVineStatusCode;
 import org.comixedproject.metadata.comicvine.model.ComicVineVolume;
 import org.junit.After;
 import org.junit.Before;
@@ -34,6 +45,7 @@ import org.mockito.InjectMocks;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ComicVineGetVolumeDetailsActionTest {
@@ -45,6 +57,12 @@ public class ComicVineGetVolumeDetailsActionTest {
   private static final String TEST_GOOD_DATA =
       "{\"error\":\"OK\",\"limit\":1,\"offset\":0,\"number_of_page_results\":1,\"number_of_total_results\":1,\"status_code\":1,\"results\":{\"api_detail_url\":\"https:\\/\\/comicvine.gamespot.com\\/api\\/volume\\/4050-39997\\/\",\"name\":\"Flashpoint\",\"start_year\":\"2011\"},\"version\":\"1.0\"}";
 
+  private static final String TEST_INVALID_API_KEY_DATA =
+      "{\"error\":\"Invalid API Key\",\"limit\":0,\"offset\":0,\"number_of_page_results\":0,\"number_of_total_results\":0,\"status_code\":100,\"results\":[]}";
+  private static final String TEST_RATE_LIMITED_DATA =
+      "{\"error\":\"Rate limit exceeded.  Slow down cowboy.\",\"limit\":0,\"offset\":0,\"number_of_page_results\":0,\"number_of_total_results\":0,\"status_code\":107,\"results\":[]}";
+  private static final long TEST_RATE_LIMIT_PAUSE = 250L;
+
   @InjectMocks private ComicVineGetVolumeDetailsAction action;
 
   private MockWebServer comicVineServer;
@@ -98,4 +116,168 @@ public class ComicVineGetVolumeDetailsActionTest {
     assertEquals(TEST_NAME, result.getName());
     assertEquals(TEST_START_YEAR, result.getStartYear());
   }
+
+  @Test
+  public void testExecuteRetriesServerError() throws MetadataException {
+    this.comicVineServer.enqueue(new MockResponse().setResponseCode(503));
+    this.comicVineServer.enqueue(
+        new MockResponse()
+            .setBody(TEST_GOOD_DATA)
+            .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE));
+    action.getClient().getRetryPolicy().setMinBackoff(Duration.ofMillis(10L));
+
+    final ComicVineVolume result = action.execute();
+
+    assertNotNull(result);
+    assertEquals(TEST_NAME, result.getName());
+    assertEquals(2, this.comicVineServer.getRequestCount());
+  }
+
+  @Test
+  public void testExecuteDoesNotRetryBadApiKey() {
+    this.comicVineServer.enqueue(new MockResponse().setResponseCode(401));
+    this.comicVineServer.enqueue(
+        new MockResponse()
+            .setBody(TEST_GOOD_DATA)
+            .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE));
+    action.getClient().getRetryPolicy().setMinBackoff(Duration.ofMillis(10L));
+
+    try {
+      action.execute();
+      fail("Expected the request to fail");
+    } catch (MetadataException error) {
+      assertEquals(1, this.comicVineServer.getRequestCount());
+    }
+  }
+
+  @Test
+  public void testExecuteCircuitBreakerOpensAfterFailures() {
+    this.comicVineServer.enqueue(new MockResponse().setResponseCode(503));
+    this.comicVineServer.enqueue(
+        new MockResponse()
+            .setBody(TEST_GOOD_DATA)
+            .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE));
+    action.getClient().getRetryPolicy().setMinBackoff(Duration.ofMillis(10L));
+    action.getClient().getCircuitBreaker().setFailureThreshold(1);
+
+    for (int index = 0; index < 2; index++) {
+      try {
+        action.execute();
+        fail("Expected the request to fail");
+      } catch (MetadataException error) {
+        assertEquals(1, this.comicVineServer.getRequestCount());
+      }
+    }
+    assertEquals(
+        ComicVineCircuitBreaker.State.OPEN, action.getClient().getCircuitBreaker().getState());
+  }
+
+  @Test
+  public void testExecuteInvalidApiKeyFailsFast() {
+    this.comicVineServer.enqueue(
+        new MockResponse()
+            .setBody(TEST_INVALID_API_KEY_DATA)
+            .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE));
+
+    try {
+      action.execute();
+      fail("Expected the request to fail");
+    } catch (ComicVineStatusException error) {
+      assertEquals(ComicVineStatusCode.INVALID_API_KEY, error.getStatus());
+    } catch (MetadataException error) {
+      fail("Expected a status error");
+    }
+    assertEquals(1, this.comicVineServer.getRequestCount());
+  }
+
+  @Test
+  public void testExecuteRateLimitedPausesRequests() throws MetadataException {
+    this.comicVineServer.enqueue(
+        new MockResponse()
+            .setBody(TEST_RATE_LIMITED_DATA)
+            .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE));
+    this.comicVineServer.enqueue(
+        new MockResponse()
+            .setBody(TEST_GOOD_DATA)
+            .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE));
+    action.setApiKey(TEST_API_KEY + ".rate.limited");
+    action.getClient().getRetryPolicy().setMinBackoff(Duration.ofMillis(10L));
+    action.getClient().getRetryPolicy().setRateLimitPause(Duration.ofMillis(TEST_RATE_LIMIT_PAUSE));
+
+    final long started = System.currentTimeMillis();
+    final ComicVineVolume result = action.execute();
+    final long elapsed = System.currentTimeMillis() - started;
+
+    assertNotNull(result);
+    assertEquals(TEST_NAME, result.getName());
+    assertEquals(2, this.comicVineServer.getRequestCount());
+    assertTrue(elapsed >= TEST_RATE_LIMIT_PAUSE);
+  }
+
+  @Test
+  public void testExecuteUsesCache() throws MetadataException {
+    this.comicVineServer.enqueue(
+        new MockResponse()
+            .setBody(TEST_GOOD_DATA)
+            .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE));
+
+    final ComicVineVolume result = action.execute();
+
+    assertSame(result, action.execute());
+    assertEquals(1, comicVineServer.getRequestCount());
+    assertEquals(1L, action.getClient().getVolumeCache().getHits());
+  }
+
+  @Test
+  public void testExecuteRecordsMetrics() throws MetadataException {
+    this.comicVineServer.enqueue(
+        new MockResponse()
+            .setBody(TEST_GOOD_DATA)
+            .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE));
+    final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    action.getClient().setMetrics(new ComicVineMicrometerMetrics(registry));
+
+    action.execute();
+    action.execute();
+
+    assertEquals(
+        1L,
+        registry
+            .get("comicvine.requests")
+            .tag("action", "ComicVineGetVolumeDetailsAction")
+            .tag("resource", "volume")
+            .tag("outcome", "success")
+            .timer()
+            .count());
+    assertEquals(
+        (double) TEST_GOOD_DATA.length(),
+        registry.get("comicvine.response.size").summary().totalAmount());
+    assertEquals(1L, registry.get("comicvine.decode").timer().count());
+    assertEquals(1L, registry.get("comicvine.wait").tag("limiter", "rate").timer().count());
+    assertEquals(1.0d, registry.get("comicvine.cache.hits").counter().count());
+  }
+
+  @Test
+  public void testExecuteAsyncSharesRequestsInFlight() {
+    this.comicVineServer.enqueue(
+        new MockResponse()
+            .setBody(TEST_GOOD_DATA)
+            .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .setBodyDelay(250L, TimeUnit.MILLISECONDS));
+
+    final ComicVineGetVolumeDetailsAction other = new ComicVineGetVolumeDetailsAction();
+    other.setClient(action.getClient());
+    other.setApiKey(TEST_API_KEY);
+    other.setApiUrl(action.getApiUrl());
+
+    final List<ComicVineVolume> result =
+        Flux.merge(action.executeAsync(), other.executeAsync()).collectList().block();
+
+    assertNotNull(result);
+    assertEquals(2, result.size());
+    assertSame(result.get(0), result.get(1));
+    assertEquals(1, comicVineServer.getRequestCount());
+    assertEquals(1L, action.getClient().getSingleFlight().getShared());
+    assertEquals(0, action.getClient().getSingleFlight().getInFlight());
+  }
 }
@@ -21,9 +21,14 @@ package org.comixedproject.metadata.comicvine.actions;
 import static junit.framework.TestCase.*;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import okhttp3.mockwebserver.Dispatcher;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 import org.comixedproject.metadata.MetadataException;
 import org.comixedproject.metadata.model.VolumeMetadata;
 import org.junit.After;
@@ -38,7 +43,6 @@ import org.springframework.http.MediaType;
 @RunWith(MockitoJUnitRunner.class)
 public class ComicVineGetVolumesActionTest {
   private static final String TEST_API_KEY = "OICU812";
-  private static final long TEST_DELAY = 1L;
   private static final String TEST_VOLUME_NAME = "Action Comics";
   private static final String TEST_BAD_RESPONSE_BODY = "This is not JSON";
   private static final String TEST_RESPONSE_BODY =
@@ -50,6 +54,15 @@ public class ComicVineGetVolumesActionTest {
   private static final String TEST_PUBLISHER_NAME = "DC Comics";
   private static final Integer TEST_ALL_RECORDS = 10;
   private static final Integer TEST_MAX_RECORDS = 3;
+  private static final int TEST_PAGE_SIZE = 2;
+  private static final int TEST_PAGE_COUNT = 3;
+  private static final Duration TEST_DEADLINE = Duration.ofMillis(500L);
+  private static final long TEST_SLOW_PAGE_DELAY = 5000L;
+  private static final String TEST_PAGE_BODY =
+      "{\"error\":\"OK\",\"limit\":%d,\"offset\":%d,\"number_of_page_results\":%d,"
+          + "\"number_of_total_results\":%d,\"status_code\":1,\"results\":[%s]}";
+  private static final String TEST_PAGE_VOLUME =
+      "{\"id\":%d,\"name\":\"Volume %d\",\"image\":{\"original_url\":\"image\"}}";
   public MockWebServer comicVineServer;
   @InjectMocks private ComicVineGetVolumesAction action;
 
@@ -61,7 +74,6 @@ public class ComicVineGetVolumesActionTest {
     final String hostname = String.format("http://localhost:%s", this.comicVineServer.getPort());
     action.setBaseUrl(hostname);
     action.setApiKey(TEST_API_KEY);
-    action.setDelay(TEST_DELAY);
     action.setSeries(TEST_VOLUME_NAME);
   }
 
@@ -140,4 +152,99 @@ public class ComicVineGetVolumesActionTest {
     assertEquals(TEST_START_YEAR, volume.getStartYear());
     assertEquals(TEST_PUBLISHER_NAME, volume.getPublisher());
   }
+
+  @Test
+  public void testExecuteFetchesRemainingPagesInOrder() throws MetadataException {
+    this.doDispatchPages();
+
+    action.setMaxRecords(0);
+
+    final List<VolumeMetadata> result = action.execute();
+
+    assertEquals(TEST_PAGE_SIZE * TEST_PAGE_COUNT, result.size());
+    for (int index = 0; index < result.size(); index++) {
+      assertEquals("Volume " + (index + 1), result.get(index).getName());
+    }
+    assertEquals(TEST_PAGE_COUNT, comicVineServer.getRequestCount());
+  }
+
+  @Test
+  public void testExecuteStreamEmitsPagesAsTheyArrive() {
+    this.doDispatchPages();
+
+    action.setMaxRecords(0);
+
+    final List<VolumeMetadata> result =
+        action.executeStream().take(TEST_PAGE_SIZE).collectList().block();
+
+    assertNotNull(result);
+    assertEquals(TEST_PAGE_SIZE, result.size());
+    assertEquals("Volume 1", result.get(0).getName());
+  }
+
+  @Test
+  public void testExecuteReturnsPagesReceivedBeforeDeadline() throws MetadataException {
+    this.comicVineServer.setDispatcher(
+        new Dispatcher() {
+          @Override
+          public MockResponse dispatch(final RecordedRequest request) {
+            final String page = request.getRequestUrl().queryParameter("page");
+            final MockResponse result =
+                new MockResponse()
+                    .setBody(doCreatePageBody(page == null ? 1 : Integer.parseInt(page)))
+                    .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+            if (page != null) result.setBodyDelay(TEST_SLOW_PAGE_DELAY, TimeUnit.MILLISECONDS);
+            return result;
+          }
+        });
+
+    action.setApiKey(TEST_API_KEY + ".deadline");
+    action.setMaxRecords(0);
+    action.setDeadline(TEST_DEADLINE);
+
+    final long started = System.currentTimeMillis();
+    final List<VolumeMetadata> result = action.execute();
+    final long elapsed = System.currentTimeMillis() - started;
+
+    assertEquals(TEST_PAGE_SIZE, result.size());
+    assertEquals("Volume 1", result.get(0).getName());
+    assertTrue(elapsed < TEST_SLOW_PAGE_DELAY);
+  }
+
+  @Test
+  public void testExecuteStreamMissingApiKey() {
+    action.setApiKey("");
+
+    final Throwable result = action.executeStream().materialize().blockFirst().getThrowable();
+
+    assertTrue(result instanceof MetadataException);
+  }
+
+  private void doDispatchPages() {
+    this.comicVineServer.setDispatcher(
+        new Dispatcher() {
+          @Override
+          public MockResponse dispatch(final RecordedRequest request) {
+            final String page = request.getRequestUrl().queryParameter("page");
+            return new MockResponse()
+                .setBody(doCreatePageBody(page == null ? 1 : Integer.parseInt(page)))
+                .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+          }
+        });
+  }
+
+  private String doCreatePageBody(final int page) {
+    final List<String> volumes = new ArrayList<>();
+    for (int index = 1; index <= TEST_PAGE_SIZE; index++) {
+      final int id = (page - 1) * TEST_PAGE_SIZE + index;
+      volumes.add(String.format(TEST_PAGE_VOLUME, id, id));
+    }
+    return String.format(
+        TEST_PAGE_BODY,
+        TEST_PAGE_SIZE,
+        (page - 1) * TEST_PAGE_SIZE,
+        TEST_PAGE_SIZE,
+        TEST_PAGE_SIZE * TEST_PAGE_COUNT,
+        String.join(",", volumes));
+  }
 }
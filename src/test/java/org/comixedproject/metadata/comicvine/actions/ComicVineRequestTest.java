@@ -0,0 +1,100 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.actions;
+
+import static junit.framework.TestCase.*;
+
+import java.util.List;
+import org.junit.Test;
+
+public class ComicVineRequestTest {
+  private static final String TEST_BASE_URL = "https://comicvine.gamespot.com";
+  private static final String TEST_DETAIL_URL = TEST_BASE_URL + "/api/volume/4050-42721/";
+  private static final String TEST_API_KEY = "This.is.the.test.api.key";
+  private static final String TEST_ENDPOINT = "issues";
+  private static final String TEST_VOLUME_ID = "42721";
+  private static final String TEST_ISSUE_NUMBER = "4";
+
+  private final ComicVineRequest request =
+      ComicVineRequest.forEndpoint(TEST_ENDPOINT).withFields("id", "name");
+
+  @Test
+  public void testToUrl() {
+    assertEquals(
+        TEST_BASE_URL
+            + "/api/issues/?api_key="
+            + TEST_API_KEY
+            + "&format=json&filter=volume:"
+            + TEST_VOLUME_ID
+            + ",issue_number:"
+            + TEST_ISSUE_NUMBER
+            + "&limit=100&sort=id%3Aasc&field_list=id,name",
+        request
+            .withFilter("volume", TEST_VOLUME_ID)
+            .withFilter("issue_number", TEST_ISSUE_NUMBER)
+            .withParameter("sort", "id:asc")
+            .toUrl(TEST_BASE_URL, TEST_API_KEY));
+  }
+
+  @Test
+  public void testToUrlWithoutEndpoint() {
+    assertEquals(
+        TEST_DETAIL_URL + "?api_key=" + TEST_API_KEY + "&format=json&limit=100&field_list=id",
+        ComicVineRequest.create().withFields("id").toUrl(TEST_DETAIL_URL, TEST_API_KEY));
+  }
+
+  @Test
+  public void testWithMethodsLeaveTheRequestUnchanged() {
+    final String url = request.toUrl(TEST_BASE_URL, TEST_API_KEY);
+
+    request.withFilter("volume", TEST_VOLUME_ID);
+    request.withParameter("sort", "id:asc");
+    request.withFields("image");
+    request.withPage(2);
+    request.withEndpoint("volumes");
+
+    assertEquals(url, request.toUrl(TEST_BASE_URL, TEST_API_KEY));
+  }
+
+  @Test
+  public void testWithFieldsIgnoresDuplicates() {
+    assertEquals(List.of("id", "name", "image"), request.withFields("name", "image").fields());
+  }
+
+  @Test
+  public void testWithFilterReplacesValue() {
+    final ComicVineRequest result =
+        request.withFilter("volume", "1").withFilter("volume", TEST_VOLUME_ID);
+
+    assertEquals(1, result.filters().size());
+    assertEquals(TEST_VOLUME_ID, result.filters().get("volume"));
+  }
+
+  @Test
+  public void testWithPage() {
+    assertEquals("2", request.withPage(2).parameters().get("page"));
+    assertFalse(request.withPage(2).withPage(1).parameters().containsKey("page"));
+    assertFalse(request.withPage(null).parameters().containsKey("page"));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testFieldsCannotBeChanged() {
+    request.fields().add("image");
+  }
+}
@@ -18,6 +18,11 @@ public class ComicVineMetadataAdaptorProviderTest {
 
   @InjectMocks private ComicVineMetadataAdaptorProvider provider;
 
+  @Test
+  public void testCreate() {
+    assertTrue(provider.create() instanceof ComicVineMetadataAdaptor);
+  }
+
   @Test
   public void testSupportedReferenceWithBadReference() {
     assertFalse(provider.supportedReference(TEST_BAD_ADDRESS));
@@ -20,12 +20,44 @@ package org.comixedproject.metadata.comicvine.adaptors;
 
 import static junit.framework.TestCase.*;
 import static org.comixedproject.metadata.comicvine.adaptors.ComicVineMetadataAdaptorProvider.PROPERTY_API_KEY;
-
+import static org.comixedproject.metadata.comicvine.adaptors.ComicVineMetadataAdaptorProvider.PROPERTY_BREAKER_FAILURE_THRESHOLD;
+import static org.comixedproject.metadata.comicvine.adaptors.ComicVineMetadataAdaptorProvider.PROPERTY_BREAKER_OPEN_DURATION;
+import static org.comixedproject.metadata.comicvine.adaptors.ComicVineMetadataAdaptorProvider.PROPERTY_BREAKER_SLOW_CALL_THRESHOLD;
+import static org.comixedproject.metadata.comicvine.adaptors.ComicVineMetadataAdaptorProvider.PROPERTY_BREAKER_TRIAL_CALLS;
+import static org.comixedproject.metadata.comicvine.adaptors.ComicVineMetadataAdaptorProvider.PROPERTY_CACHE_DIRECTORY;
+import static org.comixedproject.metadata.comicvine.adaptors.ComicVineMetadataAdaptorProvider.PROPERTY_CACHE_ENABLED;
+import static org.comixedproject.metadata.comicvine.adaptors.ComicVineMetadataAdaptorProvider.PROPERTY_CACHE_ISSUE_TTL;
+import static org.comixedproject.metadata.comicvine.adaptors.ComicVineMetadataAdaptorProvider.PROPERTY_CACHE_MAX_SIZE;
+import static org.comixedproject.metadata.comicvine.adaptors.ComicVineMetadataAdaptorProvider.PROPERTY_CONNECT_TIMEOUT;
+import static org.comixedproject.metadata.comicvine.adaptors.ComicVineMetadataAdaptorProvider.PROPERTY_ISSUE_INDEX;
+import static org.comixedproject.metadata.comicvine.adaptors.ComicVineMetadataAdaptorProvider.PROPERTY_LIST_ISSUES;
+import static org.comixedproject.metadata.comicvine.adaptors.ComicVineMetadataAdaptorProvider.PROPERTY_MAX_CONNECTIONS;
+import static org.comixedproject.metadata.comicvine.adaptors.ComicVineMetadataAdaptorProvider.PROPERTY_QUOTA_FILE;
+import static org.comixedproject.metadata.comicvine.adaptors.ComicVineMetadataAdaptorProvider.PROPERTY_RESPONSE_TIMEOUT;
+import static org.comixedproject.metadata.comicvine.adaptors.ComicVineMetadataAdaptorProvider.QUOTA_STORAGE;
+import static org.comixedproject.metadata.comicvine.adaptors.ComicVineMetadataAdaptorProvider.RESPONSE_CACHE;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.*;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.comixedproject.metadata.MetadataException;
+import org.comixedproject.metadata.comicvine.actions.ComicVineBulkScrapeAction;
+import org.comixedproject.metadata.comicvine.actions.ComicVineGetAllIssuesAction;
 import org.comixedproject.metadata.comicvine.actions.ComicVineGetIssueAction;
 import org.comixedproject.metadata.comicvine.actions.ComicVineGetIssueDetailsAction;
 import org.comixedproject.metadata.comicvine.actions.ComicVineGetVolumesAction;
+import org.comixedproject.metadata.comicvine.client.ComicVineCircuitBreaker;
+import org.comixedproject.metadata.comicvine.client.ComicVineClient;
+import org.comixedproject.metadata.comicvine.client.ComicVineQuotaTracker;
+import org.comixedproject.metadata.comicvine.client.ComicVineRateLimiter;
+import org.comixedproject.metadata.comicvine.client.ComicVineResponseCache;
+import org.comixedproject.metadata.comicvine.events.ComicVineOperationEvent;
+import org.comixedproject.metadata.comicvine.model.ComicVineBulkScrapeResult;
+import org.comixedproject.metadata.comicvine.model.ComicVineIssueReference;
 import org.comixedproject.metadata.model.IssueDetailsMetadata;
 import org.comixedproject.metadata.model.IssueMetadata;
 import org.comixedproject.metadata.model.VolumeMetadata;
@@ -38,17 +70,32 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ComicVineMetadataAdaptorTest {
   private static final Random RANDOM = new Random();
   private static final String TEST_API_KEY = "TEST.API.KEY";
+  private static final String TEST_BASE_URL = "http://localhost:8080";
   private static final String TEST_SERIES_NAME = "Super Awesome ComicBook";
   private static final Integer TEST_MAX_RECORDS = RANDOM.nextInt();
   private static final String TEST_VOLUME_ID = "129";
   private static final String TEST_ISSUE_NUMBER = "17";
   private static final String TEST_ISSUE_ID = "327";
   private static final String TEST_REFERENCE_ID = "1083732";
+  private static final int TEST_MAX_CONNECTIONS = 32;
+  private static final long TEST_CONNECT_TIMEOUT = 5L;
+  private static final long TEST_RESPONSE_TIMEOUT = 15L;
+  private static final int TEST_FAILURE_THRESHOLD = 7;
+  private static final long TEST_SLOW_CALL_THRESHOLD = 20L;
+  private static final long TEST_OPEN_DURATION = 45L;
+  private static final int TEST_TRIAL_CALLS = 3;
+  private static final String TEST_CACHE_DIRECTORY = "/tmp/comicvine-cache";
+  private static final String TEST_QUOTA_FILE = "/tmp/comicvine-quota.json";
+  private static final int TEST_CACHE_MAX_SIZE = 64;
+  private static final long TEST_CACHE_ISSUE_TTL = 90L;
   private static final String TEST_WEB_ADDRESS =
       String.format(
           "%s-%s",
@@ -60,9 +107,16 @@ public class ComicVineMetadataAdaptorTest {
   private final Set<MetadataSourceProperty> metadataSourceProperties = new HashSet<>();
 
   @InjectMocks private ComicVineMetadataAdaptor adaptor;
+  @Mock private ComicVineClient client;
+  @Mock private ComicVineCircuitBreaker circuitBreaker;
+  @Mock private ComicVineResponseCache responseCache;
+  @Mock private ComicVineQuotaTracker quotaTracker;
+  @Mock private ComicVineRateLimiter rateLimiter;
   @Mock private ComicVineGetVolumesAction getVolumesAction;
   @Mock private ComicVineGetIssueAction getIssueAction;
+  @Mock private ComicVineGetAllIssuesAction getAllIssuesAction;
   @Mock private ComicVineGetIssueDetailsAction getIssueDetailsAction;
+  @Mock private ComicVineBulkScrapeAction bulkScrapeAction;
   @Mock private VolumeMetadata volumeMetadata;
   @Mock private IssueMetadata issueMetadata;
   @Mock private IssueDetailsMetadata issueDetailsMetadata;
@@ -71,6 +125,12 @@ public class ComicVineMetadataAdaptorTest {
   @Before
   public void setUp() {
     Mockito.when(metadataSource.getProperties()).thenReturn(metadataSourceProperties);
+    Mockito.when(client.getBaseUrl()).thenReturn(ComicVineMetadataAdaptor.BASE_URL);
+    Mockito.when(client.getMinimumDelay()).thenReturn(ComicVineMetadataAdaptor.MINIMUM_DELAY_VALUE);
+    Mockito.when(client.getCircuitBreaker()).thenReturn(circuitBreaker);
+    Mockito.when(client.getResponseCache()).thenReturn(responseCache);
+    Mockito.when(client.getQuotaTracker()).thenReturn(quotaTracker);
+    Mockito.when(client.getRateLimiter(TEST_API_KEY)).thenReturn(rateLimiter);
     metadataSourceProperties.add(
         new MetadataSourceProperty(metadataSource, PROPERTY_API_KEY, TEST_API_KEY));
   }
@@ -134,11 +194,249 @@ public class ComicVineMetadataAdaptorTest {
 
     Mockito.verify(getVolumesAction, Mockito.times(1))
         .setBaseUrl(ComicVineMetadataAdaptor.BASE_URL);
+    Mockito.verify(getVolumesAction, Mockito.times(1)).setClient(client);
     Mockito.verify(getVolumesAction, Mockito.times(1)).setApiKey(TEST_API_KEY);
     Mockito.verify(getVolumesAction, Mockito.times(1)).setSeries(TEST_SERIES_NAME);
     Mockito.verify(getVolumesAction, Mockito.times(1)).setMaxRecords(TEST_MAX_RECORDS);
   }
 
+  @Test
+  public void testGetVolumesWithMaxConnections() throws MetadataException {
+    metadataSourceProperties.add(
+        new MetadataSourceProperty(
+            metadataSource, PROPERTY_MAX_CONNECTIONS, String.valueOf(TEST_MAX_CONNECTIONS)));
+
+    Mockito.when(getVolumesAction.execute()).thenReturn(volumeMetadataList);
+
+    adaptor.doGetVolumes(TEST_SERIES_NAME, TEST_MAX_RECORDS, metadataSource, getVolumesAction);
+
+    Mockito.verify(client, Mockito.times(1))
+        .configure(
+            TEST_MAX_CONNECTIONS,
+            ComicVineClient.DEFAULT_CONNECT_TIMEOUT,
+            ComicVineClient.DEFAULT_RESPONSE_TIMEOUT);
+    Mockito.verify(getVolumesAction, Mockito.times(1)).setClient(client);
+  }
+
+  @Test
+  public void testGetVolumesRestoresDefaultPoolSettings() throws MetadataException {
+    final MetadataSourceProperty maxConnections =
+        new MetadataSourceProperty(
+            metadataSource, PROPERTY_MAX_CONNECTIONS, String.valueOf(TEST_MAX_CONNECTIONS));
+    metadataSourceProperties.add(maxConnections);
+
+    Mockito.when(getVolumesAction.execute()).thenReturn(volumeMetadataList);
+
+    adaptor.doGetVolumes(TEST_SERIES_NAME, TEST_MAX_RECORDS, metadataSource, getVolumesAction);
+    metadataSourceProperties.remove(maxConnections);
+    adaptor.doGetVolumes(TEST_SERIES_NAME, TEST_MAX_RECORDS, metadataSource, getVolumesAction);
+
+    Mockito.verify(client, Mockito.times(1))
+        .configure(
+            TEST_MAX_CONNECTIONS,
+            ComicVineClient.DEFAULT_CONNECT_TIMEOUT,
+            ComicVineClient.DEFAULT_RESPONSE_TIMEOUT);
+    Mockito.verify(client, Mockito.times(1))
+        .configure(
+            ComicVineClient.DEFAULT_MAX_CONNECTIONS,
+            ComicVineClient.DEFAULT_CONNECT_TIMEOUT,
+            ComicVineClient.DEFAULT_RESPONSE_TIMEOUT);
+    Mockito.verify(getVolumesAction, Mockito.times(2)).setClient(client);
+  }
+
+  @Test
+  public void testGetVolumesWithTimeouts() throws MetadataException {
+    metadataSourceProperties.add(
+        new MetadataSourceProperty(
+            metadataSource, PROPERTY_CONNECT_TIMEOUT, String.valueOf(TEST_CONNECT_TIMEOUT)));
+    metadataSourceProperties.add(
+        new MetadataSourceProperty(
+            metadataSource, PROPERTY_RESPONSE_TIMEOUT, String.valueOf(TEST_RESPONSE_TIMEOUT)));
+
+    Mockito.when(getVolumesAction.execute()).thenReturn(volumeMetadataList);
+
+    adaptor.doGetVolumes(TEST_SERIES_NAME, TEST_MAX_RECORDS, metadataSource, getVolumesAction);
+
+    Mockito.verify(client, Mockito.times(1))
+        .configure(
+            ComicVineClient.DEFAULT_MAX_CONNECTIONS,
+            Duration.ofSeconds(TEST_CONNECT_TIMEOUT),
+            Duration.ofSeconds(TEST_RESPONSE_TIMEOUT));
+  }
+
+  @Test
+  public void testGetVolumesWithCircuitBreakerSettings() throws MetadataException {
+    metadataSourceProperties.add(
+        new MetadataSourceProperty(
+            metadataSource,
+            PROPERTY_BREAKER_FAILURE_THRESHOLD,
+            String.valueOf(TEST_FAILURE_THRESHOLD)));
+    metadataSourceProperties.add(
+        new MetadataSourceProperty(
+            metadataSource,
+            PROPERTY_BREAKER_SLOW_CALL_THRESHOLD,
+            String.valueOf(TEST_SLOW_CALL_THRESHOLD)));
+    metadataSourceProperties.add(
+        new MetadataSourceProperty(
+            metadataSource, PROPERTY_BREAKER_OPEN_DURATION, String.valueOf(TEST_OPEN_DURATION)));
+    metadataSourceProperties.add(
+        new MetadataSourceProperty(
+            metadataSource, PROPERTY_BREAKER_TRIAL_CALLS, String.valueOf(TEST_TRIAL_CALLS)));
+
+    Mockito.when(getVolumesAction.execute()).thenReturn(volumeMetadataList);
+
+    adaptor.doGetVolumes(TEST_SERIES_NAME, TEST_MAX_RECORDS, metadataSource, getVolumesAction);
+
+    Mockito.verify(circuitBreaker, Mockito.times(1)).setFailureThreshold(TEST_FAILURE_THRESHOLD);
+    Mockito.verify(circuitBreaker, Mockito.times(1))
+        .setSlowCallThreshold(Duration.ofSeconds(TEST_SLOW_CALL_THRESHOLD));
+    Mockito.verify(circuitBreaker, Mockito.times(1))
+        .setOpenDuration(Duration.ofSeconds(TEST_OPEN_DURATION));
+    Mockito.verify(circuitBreaker, Mockito.times(1)).setTrialCalls(TEST_TRIAL_CALLS);
+  }
+
+  @Test
+  public void testGetVolumesWithResponseCacheSettings() throws MetadataException {
+    metadataSourceProperties.add(
+        new MetadataSourceProperty(metadataSource, PROPERTY_CACHE_DIRECTORY, TEST_CACHE_DIRECTORY));
+    metadataSourceProperties.add(
+        new MetadataSourceProperty(
+            metadataSource, PROPERTY_CACHE_MAX_SIZE, String.valueOf(TEST_CACHE_MAX_SIZE)));
+    metadataSourceProperties.add(
+        new MetadataSourceProperty(
+            metadataSource, PROPERTY_CACHE_ISSUE_TTL, String.valueOf(TEST_CACHE_ISSUE_TTL)));
+
+    Mockito.when(getVolumesAction.execute()).thenReturn(volumeMetadataList);
+
+    adaptor.doGetVolumes(TEST_SERIES_NAME, TEST_MAX_RECORDS, metadataSource, getVolumesAction);
+
+    Mockito.verify(responseCache, Mockito.times(1)).setDirectory(Path.of(TEST_CACHE_DIRECTORY));
+    Mockito.verify(responseCache, Mockito.times(1))
+        .setMaxSize(TEST_CACHE_MAX_SIZE * ComicVineMetadataAdaptor.BYTES_PER_MEGABYTE);
+    Mockito.verify(responseCache, Mockito.times(1))
+        .setTimeToLive("issue", Duration.ofMinutes(TEST_CACHE_ISSUE_TTL).toMillis());
+    Mockito.verify(responseCache, Mockito.times(1))
+        .setTimeToLive("publisher", ComicVineResponseCache.DEFAULT_TIMES_TO_LIVE.get("publisher"));
+  }
+
+  @Test
+  public void testGetVolumesRestoresDefaultResponseCacheSettings() throws MetadataException {
+    final MetadataSourceProperty directory =
+        new MetadataSourceProperty(metadataSource, PROPERTY_CACHE_DIRECTORY, TEST_CACHE_DIRECTORY);
+    metadataSourceProperties.add(directory);
+
+    Mockito.when(getVolumesAction.execute()).thenReturn(volumeMetadataList);
+
+    adaptor.doGetVolumes(TEST_SERIES_NAME, TEST_MAX_RECORDS, metadataSource, getVolumesAction);
+    metadataSourceProperties.remove(directory);
+    adaptor.doGetVolumes(TEST_SERIES_NAME, TEST_MAX_RECORDS, metadataSource, getVolumesAction);
+
+    Mockito.verify(responseCache, Mockito.times(1)).setDirectory(Path.of(TEST_CACHE_DIRECTORY));
+    Mockito.verify(responseCache, Mockito.times(1)).setDirectory(RESPONSE_CACHE);
+  }
+
+  @Test
+  public void testGetVolumesWithResponseCacheDisabled() throws MetadataException {
+    metadataSourceProperties.add(
+        new MetadataSourceProperty(metadataSource, PROPERTY_CACHE_ENABLED, "false"));
+
+    Mockito.when(getVolumesAction.execute()).thenReturn(volumeMetadataList);
+
+    adaptor.doGetVolumes(TEST_SERIES_NAME, TEST_MAX_RECORDS, metadataSource, getVolumesAction);
+
+    Mockito.verify(responseCache, Mockito.times(1)).setDirectory(null);
+    Mockito.verify(responseCache, Mockito.times(1))
+        .setMaxSize(ComicVineResponseCache.DEFAULT_MAX_SIZE);
+  }
+
+  @Test
+  public void testGetVolumesWithQuotaFile() throws MetadataException {
+    metadataSourceProperties.add(
+        new MetadataSourceProperty(metadataSource, PROPERTY_QUOTA_FILE, TEST_QUOTA_FILE));
+
+    Mockito.when(getVolumesAction.execute()).thenReturn(volumeMetadataList);
+
+    adaptor.doGetVolumes(TEST_SERIES_NAME, TEST_MAX_RECORDS, metadataSource, getVolumesAction);
+
+    Mockito.verify(quotaTracker, Mockito.times(1)).setStorage(Path.of(TEST_QUOTA_FILE));
+  }
+
+  @Test
+  public void testGetVolumesWithDefaultQuotaFile() throws MetadataException {
+    Mockito.when(getVolumesAction.execute()).thenReturn(volumeMetadataList);
+
+    adaptor.doGetVolumes(TEST_SERIES_NAME, TEST_MAX_RECORDS, metadataSource, getVolumesAction);
+
+    Mockito.verify(quotaTracker, Mockito.times(1)).setStorage(QUOTA_STORAGE);
+  }
+
+  @Test
+  public void testGetVolumesWithClientBaseUrlAndMinimumDelay() throws MetadataException {
+    Mockito.when(client.getBaseUrl()).thenReturn(TEST_BASE_URL);
+    Mockito.when(client.getMinimumDelay()).thenReturn(0L);
+    Mockito.when(getVolumesAction.execute()).thenReturn(volumeMetadataList);
+
+    adaptor.doGetVolumes(TEST_SERIES_NAME, TEST_MAX_RECORDS, metadataSource, getVolumesAction);
+
+    Mockito.verify(getVolumesAction, Mockito.times(1)).setBaseUrl(TEST_BASE_URL);
+    Mockito.verify(rateLimiter, Mockito.times(1)).setDelay(0L);
+  }
+
+  @Test
+  public void testGetVolumesRecordsOperationEvent() throws Exception {
+    Mockito.when(getVolumesAction.execute()).thenReturn(volumeMetadataList);
+
+    final Path dump = Files.createTempFile("comicvine-events", ".jfr");
+    try (Recording recording = new Recording()) {
+      recording.enable(ComicVineOperationEvent.NAME);
+      recording.start();
+
+      adaptor.doGetVolumes(TEST_SERIES_NAME, TEST_MAX_RECORDS, metadataSource, getVolumesAction);
+
+      recording.stop();
+      recording.dump(dump);
+    }
+
+    try {
+      final List<RecordedEvent> events =
+          RecordingFile.readAllEvents(dump).stream()
+              .filter(event -> event.getEventType().getName().equals(ComicVineOperationEvent.NAME))
+              .toList();
+
+      assertEquals(1, events.size());
+      assertEquals("getVolumes", events.get(0).getString("operation"));
+      assertEquals(TEST_SERIES_NAME, events.get(0).getString("subject"));
+      assertTrue(events.get(0).getBoolean("success"));
+    } finally {
+      Files.deleteIfExists(dump);
+    }
+  }
+
+  @Test
+  public void testGetAllIssues() throws MetadataException {
+    Mockito.when(getAllIssuesAction.execute()).thenReturn(List.of(issueDetailsMetadata));
+
+    final List<IssueDetailsMetadata> result =
+        adaptor.doGetAllIssues(TEST_VOLUME_ID, metadataSource, getAllIssuesAction);
+
+    assertEquals(1, result.size());
+
+    Mockito.verify(getAllIssuesAction, Mockito.times(1)).setVolumeId(TEST_VOLUME_ID);
+    Mockito.verify(getAllIssuesAction, Mockito.times(1)).setListIssues(false);
+  }
+
+  @Test
+  public void testGetAllIssuesListingIssues() throws MetadataException {
+    metadataSourceProperties.add(
+        new MetadataSourceProperty(metadataSource, PROPERTY_LIST_ISSUES, "true"));
+
+    Mockito.when(getAllIssuesAction.execute()).thenReturn(List.of(issueDetailsMetadata));
+
+    adaptor.doGetAllIssues(TEST_VOLUME_ID, metadataSource, getAllIssuesAction);
+
+    Mockito.verify(getAllIssuesAction, Mockito.times(1)).setListIssues(true);
+  }
+
   @Test
   public void testGetIssue_noResults() throws MetadataException {
     Mockito.when(getIssueAction.execute()).thenReturn(issueMetadataList);
@@ -167,8 +465,23 @@ public class ComicVineMetadataAdaptorTest {
 
     Mockito.verify(getIssueAction, Mockito.times(1)).setBaseUrl(ComicVineMetadataAdaptor.BASE_URL);
     Mockito.verify(getIssueAction, Mockito.times(1)).setApiKey(TEST_API_KEY);
+    Mockito.verify(rateLimiter, Mockito.times(1))
+        .setDelay(ComicVineMetadataAdaptor.MINIMUM_DELAY_VALUE);
     Mockito.verify(getIssueAction, Mockito.times(1)).setVolumeId(TEST_VOLUME_ID);
     Mockito.verify(getIssueAction, Mockito.times(1)).setIssueNumber(TEST_ISSUE_NUMBER);
+    Mockito.verify(getIssueAction, Mockito.times(1)).setUseIndex(false);
+  }
+
+  @Test
+  public void testGetIssueUsingIndex() throws MetadataException {
+    metadataSourceProperties.add(
+        new MetadataSourceProperty(metadataSource, PROPERTY_ISSUE_INDEX, "true"));
+
+    Mockito.when(getIssueAction.execute()).thenReturn(issueMetadataList);
+
+    adaptor.doGetIssue(TEST_VOLUME_ID, TEST_ISSUE_NUMBER, metadataSource, getIssueAction);
+
+    Mockito.verify(getIssueAction, Mockito.times(1)).setUseIndex(true);
   }
 
   @Test
@@ -222,6 +535,43 @@ public class ComicVineMetadataAdaptorTest {
     Mockito.verify(getIssueDetailsAction, Mockito.times(1)).setIssueId(TEST_ISSUE_ID);
   }
 
+  @Test
+  public void testScrapeIssues() throws MetadataException {
+    final List<ComicVineIssueReference> issues =
+        List.of(
+            ComicVineIssueReference.forIssueNumber(TEST_VOLUME_ID, TEST_ISSUE_NUMBER),
+            ComicVineIssueReference.forIssueId(TEST_ISSUE_ID));
+    final ComicVineBulkScrapeResult bulkScrapeResult = new ComicVineBulkScrapeResult();
+
+    Mockito.when(bulkScrapeAction.execute()).thenReturn(bulkScrapeResult);
+
+    final ComicVineBulkScrapeResult result =
+        adaptor.doScrapeIssues(issues, metadataSource, bulkScrapeAction);
+
+    assertSame(bulkScrapeResult, result);
+
+    Mockito.verify(bulkScrapeAction, Mockito.times(1)).setApiKey(TEST_API_KEY);
+    Mockito.verify(rateLimiter, Mockito.times(1))
+        .setDelay(ComicVineMetadataAdaptor.MINIMUM_DELAY_VALUE);
+    Mockito.verify(bulkScrapeAction, Mockito.times(1)).setIssues(issues);
+  }
+
+  @Test
+  public void testScrapeIssuesAsync() {
+    final List<ComicVineIssueReference> issues =
+        List.of(ComicVineIssueReference.forIssueId(TEST_ISSUE_ID));
+    final ComicVineBulkScrapeResult bulkScrapeResult = new ComicVineBulkScrapeResult();
+
+    Mockito.when(bulkScrapeAction.executeAsync()).thenReturn(Mono.just(bulkScrapeResult));
+
+    final ComicVineBulkScrapeResult result =
+        adaptor.doScrapeIssuesAsync(issues, metadataSource, bulkScrapeAction).block();
+
+    assertSame(bulkScrapeResult, result);
+
+    Mockito.verify(bulkScrapeAction, Mockito.times(1)).setIssues(issues);
+  }
+
   @Test
   public void testGetIssueDetails() throws MetadataException {
     Mockito.when(getIssueDetailsAction.execute()).thenReturn(issueDetailsMetadata);
@@ -233,6 +583,99 @@ public class ComicVineMetadataAdaptorTest {
     assertSame(issueDetailsMetadata, result);
 
     Mockito.verify(getIssueDetailsAction, Mockito.times(1)).setApiKey(TEST_API_KEY);
+    Mockito.verify(rateLimiter, Mockito.times(1))
+        .setDelay(ComicVineMetadataAdaptor.MINIMUM_DELAY_VALUE);
+    Mockito.verify(getIssueDetailsAction, Mockito.times(1)).setIssueId(TEST_ISSUE_ID);
+  }
+
+  @Test(expected = MetadataException.class)
+  public void testGetVolumesAsync_missingApiKey() throws MetadataException {
+    metadataSourceProperties.clear();
+
+    try {
+      adaptor
+          .doGetVolumesAsync(TEST_SERIES_NAME, TEST_MAX_RECORDS, metadataSource, getVolumesAction)
+          .block();
+    } catch (RuntimeException error) {
+      throw (MetadataException) Exceptions.unwrap(error);
+    } finally {
+      Mockito.verify(getVolumesAction, Mockito.never()).executeAsync();
+    }
+  }
+
+  @Test
+  public void testGetVolumesAsync() {
+    for (int index = 0; index < 200; index++) volumeMetadataList.add(volumeMetadata);
+
+    Mockito.when(getVolumesAction.executeAsync()).thenReturn(Mono.just(volumeMetadataList));
+
+    final List<VolumeMetadata> result =
+        adaptor
+            .doGetVolumesAsync(TEST_SERIES_NAME, TEST_MAX_RECORDS, metadataSource, getVolumesAction)
+            .block();
+
+    assertNotNull(result);
+    assertEquals(volumeMetadataList.size(), result.size());
+
+    Mockito.verify(getVolumesAction, Mockito.times(1))
+        .setBaseUrl(ComicVineMetadataAdaptor.BASE_URL);
+    Mockito.verify(getVolumesAction, Mockito.times(1)).setClient(client);
+    Mockito.verify(getVolumesAction, Mockito.times(1)).setApiKey(TEST_API_KEY);
+    Mockito.verify(getVolumesAction, Mockito.times(1)).setSeries(TEST_SERIES_NAME);
+    Mockito.verify(getVolumesAction, Mockito.times(1)).setMaxRecords(TEST_MAX_RECORDS);
+  }
+
+  @Test
+  public void testStreamVolumes() {
+    volumeMetadataList.add(volumeMetadata);
+    volumeMetadataList.add(volumeMetadata);
+
+    Mockito.when(getVolumesAction.executeStream())
+        .thenReturn(Flux.fromIterable(volumeMetadataList));
+
+    final List<VolumeMetadata> result =
+        adaptor
+            .doStreamVolumes(TEST_SERIES_NAME, TEST_MAX_RECORDS, metadataSource, getVolumesAction)
+            .collectList()
+            .block();
+
+    assertNotNull(result);
+    assertEquals(volumeMetadataList.size(), result.size());
+
+    Mockito.verify(getVolumesAction, Mockito.times(1)).setApiKey(TEST_API_KEY);
+    Mockito.verify(getVolumesAction, Mockito.times(1)).setSeries(TEST_SERIES_NAME);
+    Mockito.verify(getVolumesAction, Mockito.times(1)).setMaxRecords(TEST_MAX_RECORDS);
+  }
+
+  @Test
+  public void testStreamVolumes_missingApiKey() {
+    metadataSourceProperties.clear();
+
+    final Throwable result =
+        adaptor
+            .doStreamVolumes(TEST_SERIES_NAME, TEST_MAX_RECORDS, metadataSource, getVolumesAction)
+            .materialize()
+            .blockFirst()
+            .getThrowable();
+
+    assertTrue(result instanceof MetadataException);
+    Mockito.verify(getVolumesAction, Mockito.never()).executeStream();
+  }
+
+  @Test
+  public void testGetIssueDetailsAsync() {
+    Mockito.when(getIssueDetailsAction.executeAsync()).thenReturn(Mono.just(issueDetailsMetadata));
+
+    final IssueDetailsMetadata result =
+        adaptor
+            .doGetIssueDetailsAsync(TEST_ISSUE_ID, metadataSource, getIssueDetailsAction)
+            .block();
+
+    assertSame(issueDetailsMetadata, result);
+
+    Mockito.verify(getIssueDetailsAction, Mockito.times(1)).setApiKey(TEST_API_KEY);
+    Mockito.verify(rateLimiter, Mockito.times(1))
+        .setDelay(ComicVineMetadataAdaptor.MINIMUM_DELAY_VALUE);
     Mockito.verify(getIssueDetailsAction, Mockito.times(1)).setIssueId(TEST_ISSUE_ID);
   }
 
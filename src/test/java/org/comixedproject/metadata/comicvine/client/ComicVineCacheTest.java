@@ -0,0 +1,139 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.client;
+
+import static junit.framework.TestCase.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class ComicVineCacheTest {
+  private static final String TEST_KEY = "https://comicvine.gamespot.com/api/volume/4050-1/";
+  private static final String TEST_OTHER_KEY = "https://comicvine.gamespot.com/api/volume/4050-2/";
+  private static final String TEST_THIRD_KEY = "https://comicvine.gamespot.com/api/volume/4050-3/";
+  private static final String TEST_VALUE = "The cached value";
+  private static final long TEST_TIME_TO_LIVE = 1000L;
+
+  private long now = 0L;
+  private ComicVineCache<String, String> cache;
+
+  @Before
+  public void setUp() {
+    cache = new ComicVineCache<>("test", () -> now);
+    cache.setTimeToLive(TEST_TIME_TO_LIVE);
+  }
+
+  @Test
+  public void testGetMissing() {
+    assertNull(cache.get(TEST_KEY));
+    assertEquals(0L, cache.getHits());
+    assertEquals(1L, cache.getMisses());
+  }
+
+  @Test
+  public void testGet() {
+    cache.put(TEST_KEY, TEST_VALUE);
+
+    assertEquals(TEST_VALUE, cache.get(TEST_KEY));
+    assertEquals(1L, cache.getHits());
+    assertEquals(0L, cache.getMisses());
+  }
+
+  @Test
+  public void testGetExpired() {
+    cache.put(TEST_KEY, TEST_VALUE);
+    now += TEST_TIME_TO_LIVE;
+
+    assertNull(cache.get(TEST_KEY));
+    assertEquals(0, cache.getSize());
+  }
+
+  @Test
+  public void testContains() {
+    cache.put(TEST_KEY, TEST_VALUE);
+
+    assertTrue(cache.contains(TEST_KEY));
+    assertFalse(cache.contains(TEST_OTHER_KEY));
+    assertEquals(0L, cache.getHits());
+    assertEquals(0L, cache.getMisses());
+  }
+
+  @Test
+  public void testContainsExpired() {
+    cache.put(TEST_KEY, TEST_VALUE);
+    now += TEST_TIME_TO_LIVE;
+
+    assertFalse(cache.contains(TEST_KEY));
+  }
+
+  @Test
+  public void testLeastRecentlyUsedIsEvicted() {
+    cache.setMaxSize(2);
+    cache.put(TEST_KEY, TEST_VALUE);
+    cache.put(TEST_OTHER_KEY, TEST_VALUE);
+    cache.get(TEST_KEY);
+
+    cache.put(TEST_THIRD_KEY, TEST_VALUE);
+
+    assertEquals(2, cache.getSize());
+    assertNotNull(cache.get(TEST_KEY));
+    assertNull(cache.get(TEST_OTHER_KEY));
+    assertNotNull(cache.get(TEST_THIRD_KEY));
+  }
+
+  @Test
+  public void testShrinkingEvicts() {
+    cache.put(TEST_KEY, TEST_VALUE);
+    cache.put(TEST_OTHER_KEY, TEST_VALUE);
+
+    cache.setMaxSize(1);
+
+    assertEquals(1, cache.getSize());
+    assertNotNull(cache.get(TEST_OTHER_KEY));
+  }
+
+  @Test
+  public void testZeroTimeToLiveDisablesCaching() {
+    cache.setTimeToLive(0L);
+    cache.put(TEST_KEY, TEST_VALUE);
+
+    assertEquals(0, cache.getSize());
+  }
+
+  @Test
+  public void testInvalidate() {
+    cache.put(TEST_KEY, TEST_VALUE);
+    cache.put(TEST_OTHER_KEY, TEST_VALUE);
+
+    cache.invalidate(TEST_KEY);
+
+    assertNull(cache.get(TEST_KEY));
+    assertNotNull(cache.get(TEST_OTHER_KEY));
+  }
+
+  @Test
+  public void testInvalidateAll() {
+    cache.put(TEST_KEY, TEST_VALUE);
+    cache.put(TEST_OTHER_KEY, TEST_VALUE);
+
+    cache.invalidateAll();
+
+    assertEquals(0, cache.getSize());
+  }
+}
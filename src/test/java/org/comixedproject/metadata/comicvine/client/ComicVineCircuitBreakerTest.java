@@ -0,0 +1,173 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.client;
+
+import static junit.framework.TestCase.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import org.comixedproject.metadata.MetadataException;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+public class ComicVineCircuitBreakerTest {
+  private static final int TEST_FAILURE_THRESHOLD = 3;
+  private static final Duration TEST_SLOW_CALL_THRESHOLD = Duration.ofSeconds(5L);
+  private static final Duration TEST_OPEN_DURATION = Duration.ofSeconds(30L);
+  private static final long TEST_FAST_CALL = Duration.ofMillis(100L).toNanos();
+
+  private long now = 0L;
+  private ComicVineCircuitBreaker breaker;
+
+  @Before
+  public void setUp() {
+    breaker = new ComicVineCircuitBreaker(() -> now);
+    breaker.setFailureThreshold(TEST_FAILURE_THRESHOLD);
+    breaker.setSlowCallThreshold(TEST_SLOW_CALL_THRESHOLD);
+    breaker.setOpenDuration(TEST_OPEN_DURATION);
+  }
+
+  @Test
+  public void testIsFailure() {
+    assertTrue(ComicVineCircuitBreaker.isFailure(new TimeoutException()));
+    assertTrue(ComicVineCircuitBreaker.isFailure(new IOException()));
+    assertTrue(ComicVineCircuitBreaker.isFailure(this.doCreateResponseError(503)));
+    assertFalse(ComicVineCircuitBreaker.isFailure(this.doCreateResponseError(404)));
+    assertFalse(ComicVineCircuitBreaker.isFailure(this.doCreateResponseError(429)));
+    assertFalse(ComicVineCircuitBreaker.isFailure(new MetadataException("bad data")));
+  }
+
+  @Test
+  public void testStartsClosed() {
+    assertEquals(ComicVineCircuitBreaker.State.CLOSED, breaker.getState());
+    assertTrue(breaker.tryAcquire());
+  }
+
+  @Test
+  public void testOpensAfterFailuresInARow() {
+    this.doFail(TEST_FAILURE_THRESHOLD - 1);
+    assertEquals(ComicVineCircuitBreaker.State.CLOSED, breaker.getState());
+
+    this.doFail(1);
+
+    assertEquals(ComicVineCircuitBreaker.State.OPEN, breaker.getState());
+    assertFalse(breaker.isCallPermitted());
+    assertFalse(breaker.tryAcquire());
+  }
+
+  @Test
+  public void testSuccessResetsFailures() {
+    this.doFail(TEST_FAILURE_THRESHOLD - 1);
+    breaker.onSuccess(TEST_FAST_CALL);
+    this.doFail(TEST_FAILURE_THRESHOLD - 1);
+
+    assertEquals(ComicVineCircuitBreaker.State.CLOSED, breaker.getState());
+  }
+
+  @Test
+  public void testErrorsThatAreNotFailuresAreIgnored() {
+    for (int index = 0; index < TEST_FAILURE_THRESHOLD; index++) {
+      breaker.onError(this.doCreateResponseError(404), TEST_FAST_CALL);
+    }
+
+    assertEquals(ComicVineCircuitBreaker.State.CLOSED, breaker.getState());
+  }
+
+  @Test
+  public void testSlowCallsCountAsFailures() {
+    for (int index = 0; index < TEST_FAILURE_THRESHOLD; index++) {
+      breaker.onSuccess(TEST_SLOW_CALL_THRESHOLD.toNanos() + 1L);
+    }
+
+    assertEquals(ComicVineCircuitBreaker.State.OPEN, breaker.getState());
+  }
+
+  @Test
+  public void testHalfOpenAfterOpenDuration() {
+    this.doFail(TEST_FAILURE_THRESHOLD);
+
+    now += TEST_OPEN_DURATION.toNanos();
+
+    assertEquals(ComicVineCircuitBreaker.State.HALF_OPEN, breaker.getState());
+    assertTrue(breaker.tryAcquire());
+    assertFalse(breaker.tryAcquire());
+  }
+
+  @Test
+  public void testTrialSuccessCloses() {
+    this.doFail(TEST_FAILURE_THRESHOLD);
+    now += TEST_OPEN_DURATION.toNanos();
+    assertTrue(breaker.tryAcquire());
+
+    breaker.onSuccess(TEST_FAST_CALL);
+
+    assertEquals(ComicVineCircuitBreaker.State.CLOSED, breaker.getState());
+  }
+
+  @Test
+  public void testTrialFailureReopens() {
+    this.doFail(TEST_FAILURE_THRESHOLD);
+    now += TEST_OPEN_DURATION.toNanos();
+    assertTrue(breaker.tryAcquire());
+
+    this.doFail(1);
+
+    assertEquals(ComicVineCircuitBreaker.State.OPEN, breaker.getState());
+    now += TEST_OPEN_DURATION.toNanos() - 1L;
+    assertEquals(ComicVineCircuitBreaker.State.OPEN, breaker.getState());
+  }
+
+  @Test
+  public void testReleaseFreesTrial() {
+    this.doFail(TEST_FAILURE_THRESHOLD);
+    now += TEST_OPEN_DURATION.toNanos();
+    assertTrue(breaker.tryAcquire());
+
+    breaker.release();
+
+    assertEquals(ComicVineCircuitBreaker.State.HALF_OPEN, breaker.getState());
+    assertTrue(breaker.tryAcquire());
+  }
+
+  @Test
+  public void testInvalidSettingsAreIgnored() {
+    breaker.setFailureThreshold(0);
+    breaker.setTrialCalls(0);
+    breaker.setSlowCallThreshold(Duration.ofSeconds(-1L));
+    breaker.setOpenDuration(null);
+
+    assertEquals(TEST_FAILURE_THRESHOLD, breaker.getFailureThreshold());
+    assertEquals(ComicVineCircuitBreaker.DEFAULT_TRIAL_CALLS, breaker.getTrialCalls());
+    assertEquals(TEST_SLOW_CALL_THRESHOLD, breaker.getSlowCallThreshold());
+    assertEquals(TEST_OPEN_DURATION, breaker.getOpenDuration());
+  }
+
+  private void doFail(final int count) {
+    for (int index = 0; index < count; index++) {
+      breaker.onError(new TimeoutException(), TEST_FAST_CALL);
+    }
+  }
+
+  private WebClientResponseException doCreateResponseError(final int status) {
+    return WebClientResponseException.create(status, "error", HttpHeaders.EMPTY, null, null);
+  }
+}
@@ -0,0 +1,217 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.client;
+
+import static junit.framework.TestCase.*;
+
+import java.time.Duration;
+import java.util.List;
+import org.comixedproject.metadata.comicvine.model.ComicVineIssue;
+import org.comixedproject.metadata.comicvine.model.ComicVinePublisher;
+import org.comixedproject.metadata.comicvine.model.ComicVineVolume;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.scheduler.Schedulers;
+
+public class ComicVineClientTest {
+  private static final int TEST_MAX_CONNECTIONS = 4;
+  private static final String TEST_DETAIL_URL =
+      "https://comicvine.gamespot.com/api/volume/4050-140417/";
+  private static final String TEST_VOLUME_ID = "140417";
+  private static final String TEST_BASE_URL = "http://localhost:8080";
+  private static final String TEST_API_KEY = "rate.limiter.test.key";
+  private static final Duration TEST_TIMEOUT = Duration.ofSeconds(2L);
+
+  private ComicVineClient client;
+
+  @Before
+  public void setUp() {
+    client = new ComicVineClient(TEST_MAX_CONNECTIONS);
+  }
+
+  @After
+  public void tearDown() {
+    client.shutdown();
+  }
+
+  @Test
+  public void testDefaultPoolSize() {
+    assertEquals(
+        ComicVineClient.DEFAULT_MAX_CONNECTIONS, new ComicVineClient().getMaxConnections());
+  }
+
+  @Test
+  public void testGetWebClientIsShared() {
+    final WebClient result = client.getWebClient();
+
+    assertNotNull(result);
+    assertSame(result, client.getWebClient());
+  }
+
+  @Test
+  public void testSetMaxConnectionsSameValue() {
+    final WebClient webClient = client.getWebClient();
+
+    client.setMaxConnections(TEST_MAX_CONNECTIONS);
+
+    assertSame(webClient, client.getWebClient());
+  }
+
+  @Test
+  public void testSetMaxConnectionsInvalidValue() {
+    final WebClient webClient = client.getWebClient();
+
+    client.setMaxConnections(0);
+
+    assertEquals(TEST_MAX_CONNECTIONS, client.getMaxConnections());
+    assertSame(webClient, client.getWebClient());
+  }
+
+  @Test
+  public void testSetMaxConnectionsRecreatesPool() {
+    final WebClient webClient = client.getWebClient();
+
+    client.setMaxConnections(TEST_MAX_CONNECTIONS * 2);
+
+    assertEquals(TEST_MAX_CONNECTIONS * 2, client.getMaxConnections());
+    assertNotSame(webClient, client.getWebClient());
+  }
+
+  @Test
+  public void testSetBaseUrl() {
+    assertEquals(ComicVineClient.DEFAULT_BASE_URL, client.getBaseUrl());
+
+    client.setBaseUrl(TEST_BASE_URL);
+    assertEquals(TEST_BASE_URL, client.getBaseUrl());
+
+    client.setBaseUrl(null);
+    assertEquals(ComicVineClient.DEFAULT_BASE_URL, client.getBaseUrl());
+  }
+
+  @Test
+  public void testSetMinimumDelay() {
+    assertEquals(ComicVineClient.DEFAULT_MINIMUM_DELAY, client.getMinimumDelay());
+
+    client.setMinimumDelay(-1L);
+    assertEquals(0L, client.getMinimumDelay());
+  }
+
+  @Test
+  public void testDefaultTimeouts() {
+    assertEquals(ComicVineClient.DEFAULT_CONNECT_TIMEOUT, client.getConnectTimeout());
+    assertEquals(ComicVineClient.DEFAULT_RESPONSE_TIMEOUT, client.getResponseTimeout());
+  }
+
+  @Test
+  public void testSetTimeoutsInvalidValue() {
+    final WebClient webClient = client.getWebClient();
+
+    client.setConnectTimeout(Duration.ZERO);
+    client.setResponseTimeout(null);
+
+    assertEquals(ComicVineClient.DEFAULT_CONNECT_TIMEOUT, client.getConnectTimeout());
+    assertEquals(ComicVineClient.DEFAULT_RESPONSE_TIMEOUT, client.getResponseTimeout());
+    assertSame(webClient, client.getWebClient());
+  }
+
+  @Test
+  public void testSetTimeoutsRecreatesPool() {
+    final WebClient webClient = client.getWebClient();
+
+    client.setConnectTimeout(TEST_TIMEOUT);
+    client.setResponseTimeout(TEST_TIMEOUT);
+
+    assertEquals(TEST_TIMEOUT, client.getConnectTimeout());
+    assertEquals(TEST_TIMEOUT, client.getResponseTimeout());
+    assertNotSame(webClient, client.getWebClient());
+  }
+
+  @Test
+  public void testConfigureSameValues() {
+    final WebClient webClient = client.getWebClient();
+
+    client.configure(
+        TEST_MAX_CONNECTIONS,
+        ComicVineClient.DEFAULT_CONNECT_TIMEOUT,
+        ComicVineClient.DEFAULT_RESPONSE_TIMEOUT);
+
+    assertSame(webClient, client.getWebClient());
+  }
+
+  @Test
+  public void testConfigureIgnoresInvalidValues() {
+    final WebClient webClient = client.getWebClient();
+
+    client.configure(0, null, Duration.ZERO);
+
+    assertEquals(TEST_MAX_CONNECTIONS, client.getMaxConnections());
+    assertEquals(ComicVineClient.DEFAULT_CONNECT_TIMEOUT, client.getConnectTimeout());
+    assertEquals(ComicVineClient.DEFAULT_RESPONSE_TIMEOUT, client.getResponseTimeout());
+    assertSame(webClient, client.getWebClient());
+  }
+
+  @Test
+  public void testConfigureRecreatesPoolOnce() {
+    final WebClient webClient = client.getWebClient();
+
+    client.configure(TEST_MAX_CONNECTIONS * 2, TEST_TIMEOUT, TEST_TIMEOUT);
+
+    assertEquals(TEST_MAX_CONNECTIONS * 2, client.getMaxConnections());
+    assertEquals(TEST_TIMEOUT, client.getConnectTimeout());
+    assertEquals(TEST_TIMEOUT, client.getResponseTimeout());
+    final WebClient result = client.getWebClient();
+    assertNotSame(webClient, result);
+    assertSame(result, client.getWebClient());
+  }
+
+  @Test
+  public void testGetRateLimiterIsSharedPerApiKey() {
+    final ComicVineRateLimiter result = client.getRateLimiter(TEST_API_KEY);
+
+    assertSame(result, client.getRateLimiter(TEST_API_KEY));
+    assertNotSame(result, client.getRateLimiter(TEST_API_KEY + ".other"));
+  }
+
+  @Test
+  public void testGetRateLimiterIsNotSharedBetweenClients() {
+    final ComicVineClient other = new ComicVineClient();
+
+    assertNotSame(client.getRateLimiter(TEST_API_KEY), other.getRateLimiter(TEST_API_KEY));
+  }
+
+  @Test
+  public void testGetScheduler() {
+    assertSame(Schedulers.boundedElastic(), client.getScheduler());
+  }
+
+  @Test
+  public void testInvalidateCaches() {
+    client.getPublisherCache().put(TEST_DETAIL_URL, new ComicVinePublisher());
+    client.getVolumeCache().put(TEST_DETAIL_URL, new ComicVineVolume());
+    client.getIssueIndexCache().put(TEST_VOLUME_ID, List.of(new ComicVineIssue()));
+
+    client.invalidateCaches();
+
+    assertEquals(0, client.getPublisherCache().getSize());
+    assertEquals(0, client.getVolumeCache().getSize());
+    assertEquals(0, client.getIssueIndexCache().getSize());
+  }
+}
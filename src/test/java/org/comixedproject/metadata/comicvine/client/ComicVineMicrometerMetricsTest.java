@@ -0,0 +1,106 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.client;
+
+import static junit.framework.TestCase.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ComicVineMicrometerMetricsTest {
+  private static final String TEST_ACTION = "ComicVineGetVolumesAction";
+  private static final String TEST_RESOURCE = "search";
+  private static final long TEST_NANOS = TimeUnit.MILLISECONDS.toNanos(250L);
+  private static final long TEST_SIZE = 4096L;
+
+  private SimpleMeterRegistry registry;
+  private ComicVineMicrometerMetrics metrics;
+
+  @Before
+  public void setUp() {
+    registry = new SimpleMeterRegistry();
+    metrics = new ComicVineMicrometerMetrics(registry);
+  }
+
+  @Test
+  public void testIsEnabled() {
+    assertTrue(metrics.isEnabled());
+    assertFalse(ComicVineMetrics.NONE.isEnabled());
+  }
+
+  @Test
+  public void testRecordRequest() {
+    metrics.recordRequest(TEST_ACTION, TEST_RESOURCE, TEST_NANOS, true);
+    metrics.recordRequest(TEST_ACTION, TEST_RESOURCE, TEST_NANOS, false);
+
+    assertEquals(
+        1L,
+        registry
+            .get(ComicVineMicrometerMetrics.REQUESTS)
+            .tag(ComicVineMicrometerMetrics.ACTION_TAG, TEST_ACTION)
+            .tag(ComicVineMicrometerMetrics.RESOURCE_TAG, TEST_RESOURCE)
+            .tag(ComicVineMicrometerMetrics.OUTCOME_TAG, "success")
+            .timer()
+            .count());
+    assertEquals(
+        250.0d,
+        registry
+            .get(ComicVineMicrometerMetrics.REQUESTS)
+            .tag(ComicVineMicrometerMetrics.OUTCOME_TAG, "failure")
+            .timer()
+            .totalTime(TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  public void testRecordResponse() {
+    metrics.recordResponseSize(TEST_ACTION, TEST_RESOURCE, TEST_SIZE);
+    metrics.recordDecode(TEST_ACTION, TEST_RESOURCE, TEST_NANOS);
+
+    assertEquals(
+        (double) TEST_SIZE,
+        registry.get(ComicVineMicrometerMetrics.RESPONSE_SIZE).summary().totalAmount());
+    assertEquals(1L, registry.get(ComicVineMicrometerMetrics.DECODE).timer().count());
+  }
+
+  @Test
+  public void testRecordCounters() {
+    metrics.recordRetry(TEST_ACTION, TEST_RESOURCE);
+    metrics.recordRetry(TEST_ACTION, TEST_RESOURCE);
+    metrics.recordCacheHit(TEST_ACTION, TEST_RESOURCE);
+
+    assertEquals(2.0d, registry.get(ComicVineMicrometerMetrics.RETRIES).counter().count());
+    assertEquals(1.0d, registry.get(ComicVineMicrometerMetrics.CACHE_HITS).counter().count());
+  }
+
+  @Test
+  public void testRecordWait() {
+    metrics.recordWait(TEST_ACTION, TEST_RESOURCE, "quota", 0L);
+    metrics.recordWait(TEST_ACTION, TEST_RESOURCE, "rate", TEST_NANOS);
+
+    assertEquals(
+        250.0d,
+        registry
+            .get(ComicVineMicrometerMetrics.WAIT)
+            .tag(ComicVineMicrometerMetrics.LIMITER_TAG, "rate")
+            .timer()
+            .totalTime(TimeUnit.MILLISECONDS));
+  }
+}
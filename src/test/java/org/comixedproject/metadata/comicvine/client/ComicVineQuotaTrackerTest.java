@@ -0,0 +1,217 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.client;
+
+import static junit.framework.TestCase.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ComicVineQuotaTrackerTest {
+  private static final String TEST_API_KEY = "This.is.the.test.api.key";
+  private static final String TEST_BASE_URL = "https://comicvine.gamespot.com";
+  private static final String TEST_ISSUE_RESOURCE = "issue";
+  private static final String TEST_VOLUME_RESOURCE = "volume";
+  private static final int TEST_HOURLY_LIMIT = 3;
+
+  private long now = 1_000_000L;
+  private ComicVineQuotaTracker tracker;
+  private Path storageDirectory;
+
+  @Before
+  public void setUp() throws IOException {
+    storageDirectory = Files.createTempDirectory("comicvine-quota");
+    tracker = new ComicVineQuotaTracker(() -> now);
+    tracker.setHourlyLimit(TEST_HOURLY_LIMIT);
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    try (var files = Files.walk(storageDirectory)) {
+      files.sorted((first, second) -> second.compareTo(first)).forEach(this::doDelete);
+    }
+  }
+
+  @Test
+  public void testGetResource() {
+    assertEquals(
+        "issue",
+        ComicVineQuotaTracker.getResource(TEST_BASE_URL + "/api/issue/4000-1/?api_key=key"));
+    assertEquals(
+        "issue", ComicVineQuotaTracker.getResource(TEST_BASE_URL + "/api/issues/?api_key=key"));
+    assertEquals(
+        "volume",
+        ComicVineQuotaTracker.getResource(TEST_BASE_URL + "/api/volume/4050-1/?api_key=key"));
+    assertEquals(
+        "story_arc",
+        ComicVineQuotaTracker.getResource(TEST_BASE_URL + "/api/story_arc/4045-1/?api_key=key"));
+    assertEquals(
+        "publisher",
+        ComicVineQuotaTracker.getResource(TEST_BASE_URL + "/api/publisher/4010-10/?api_key=key"));
+    assertEquals(
+        "search", ComicVineQuotaTracker.getResource(TEST_BASE_URL + "/api/search/?api_key=key"));
+    assertEquals(
+        ComicVineQuotaTracker.UNKNOWN_RESOURCE,
+        ComicVineQuotaTracker.getResource("http://localhost:8080?api_key=key"));
+  }
+
+  @Test
+  public void testReserveWithinLimit() {
+    for (int index = 0; index < TEST_HOURLY_LIMIT; index++) {
+      assertEquals(0L, tracker.reserve(TEST_API_KEY, TEST_ISSUE_RESOURCE).waitTime());
+    }
+    assertEquals(0, tracker.getRemaining(TEST_API_KEY, TEST_ISSUE_RESOURCE));
+  }
+
+  @Test
+  public void testReserveWaitsForOldestRequestToExpire() {
+    tracker.setMaxWait(ComicVineQuotaTracker.WINDOW);
+    for (int index = 0; index < TEST_HOURLY_LIMIT; index++) {
+      tracker.reserve(TEST_API_KEY, TEST_ISSUE_RESOURCE);
+      now += 1000L;
+    }
+
+    assertEquals(
+        ComicVineQuotaTracker.WINDOW - TEST_HOURLY_LIMIT * 1000L,
+        tracker.reserve(TEST_API_KEY, TEST_ISSUE_RESOURCE).waitTime());
+  }
+
+  @Test
+  public void testReserveFailsWhenWaitIsTooLong() {
+    for (int index = 0; index < TEST_HOURLY_LIMIT; index++) {
+      tracker.reserve(TEST_API_KEY, TEST_ISSUE_RESOURCE);
+    }
+
+    assertNull(tracker.reserve(TEST_API_KEY, TEST_ISSUE_RESOURCE));
+  }
+
+  @Test
+  public void testResourcesAreIndependent() {
+    for (int index = 0; index < TEST_HOURLY_LIMIT; index++) {
+      tracker.reserve(TEST_API_KEY, TEST_ISSUE_RESOURCE);
+    }
+
+    assertEquals(0L, tracker.reserve(TEST_API_KEY, TEST_VOLUME_RESOURCE).waitTime());
+
+    final Map<String, Integer> remaining = tracker.getRemaining(TEST_API_KEY);
+    assertEquals(Integer.valueOf(0), remaining.get(TEST_ISSUE_RESOURCE));
+    assertEquals(Integer.valueOf(TEST_HOURLY_LIMIT - 1), remaining.get(TEST_VOLUME_RESOURCE));
+  }
+
+  @Test
+  public void testRequestsExpireAfterAnHour() {
+    tracker.reserve(TEST_API_KEY, TEST_ISSUE_RESOURCE);
+    assertEquals(TEST_HOURLY_LIMIT - 1, tracker.getRemaining(TEST_API_KEY, TEST_ISSUE_RESOURCE));
+
+    now += ComicVineQuotaTracker.WINDOW;
+
+    assertEquals(TEST_HOURLY_LIMIT, tracker.getRemaining(TEST_API_KEY, TEST_ISSUE_RESOURCE));
+  }
+
+  @Test
+  public void testHistoryIsPersisted() {
+    final Path storage = storageDirectory.resolve("quota.json");
+    tracker.setStorage(storage);
+    tracker.reserve(TEST_API_KEY, TEST_ISSUE_RESOURCE);
+    tracker.flush();
+
+    assertTrue(Files.exists(storage));
+    assertFalse(new String(doRead(storage)).contains(TEST_API_KEY));
+
+    final ComicVineQuotaTracker restarted = new ComicVineQuotaTracker(() -> now);
+    restarted.setHourlyLimit(TEST_HOURLY_LIMIT);
+    restarted.setStorage(storage);
+
+    assertEquals(TEST_HOURLY_LIMIT - 1, restarted.getRemaining(TEST_API_KEY, TEST_ISSUE_RESOURCE));
+  }
+
+  @Test
+  public void testReserveDoesNotWriteHistory() {
+    final Path storage = storageDirectory.resolve("quota.json");
+    tracker.setFlushDelay(Duration.ofHours(1L));
+    tracker.setStorage(storage);
+    tracker.reserve(TEST_API_KEY, TEST_ISSUE_RESOURCE);
+
+    assertFalse(Files.exists(storage));
+
+    tracker.flush();
+
+    assertTrue(Files.exists(storage));
+  }
+
+  @Test
+  public void testHistoryIsWrittenInBackground() throws InterruptedException {
+    final Path storage = storageDirectory.resolve("quota.json");
+    tracker.setFlushDelay(Duration.ofMillis(10L));
+    tracker.setStorage(storage);
+    tracker.reserve(TEST_API_KEY, TEST_ISSUE_RESOURCE);
+
+    final long started = System.currentTimeMillis();
+    while (!Files.exists(storage) && System.currentTimeMillis() - started < 5000L)
+      Thread.sleep(10L);
+
+    assertTrue(Files.exists(storage));
+  }
+
+  @Test
+  public void testRelease() {
+    tracker.reserve(TEST_API_KEY, TEST_ISSUE_RESOURCE);
+    final ComicVineQuotaTracker.Reservation reservation =
+        tracker.reserve(TEST_API_KEY, TEST_ISSUE_RESOURCE);
+
+    tracker.release(reservation);
+
+    assertEquals(TEST_HOURLY_LIMIT - 1, tracker.getRemaining(TEST_API_KEY, TEST_ISSUE_RESOURCE));
+  }
+
+  @Test
+  public void testReleaseRemovesOnlyItsOwnEntry() {
+    final ComicVineQuotaTracker.Reservation released =
+        tracker.reserve(TEST_API_KEY, TEST_ISSUE_RESOURCE);
+    now += 1000L;
+    tracker.reserve(TEST_API_KEY, TEST_ISSUE_RESOURCE);
+
+    tracker.release(released);
+    now = released.sentAt() + ComicVineQuotaTracker.WINDOW;
+
+    assertEquals(TEST_HOURLY_LIMIT - 1, tracker.getRemaining(TEST_API_KEY, TEST_ISSUE_RESOURCE));
+  }
+
+  private byte[] doRead(final Path path) {
+    try {
+      return Files.readAllBytes(path);
+    } catch (IOException error) {
+      throw new AssertionError(error);
+    }
+  }
+
+  private void doDelete(final Path path) {
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException error) {
+      throw new AssertionError(error);
+    }
+  }
+}
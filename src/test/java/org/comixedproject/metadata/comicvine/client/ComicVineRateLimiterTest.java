@@ -0,0 +1,114 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.client;
+
+import static junit.framework.TestCase.*;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ComicVineRateLimiterTest {
+  private static final long TEST_DELAY = 2L;
+  private static final long TEST_INTERVAL = TimeUnit.SECONDS.toNanos(TEST_DELAY);
+
+  private long now = 0L;
+  private ComicVineRateLimiter limiter;
+
+  @Before
+  public void setUp() {
+    limiter = new ComicVineRateLimiter(1, () -> now);
+    limiter.setDelay(TEST_DELAY);
+  }
+
+  @Test
+  public void testNoDelayNeverWaits() {
+    limiter.setDelay(0L);
+
+    for (int index = 0; index < 10; index++) assertEquals(0L, limiter.reserve());
+  }
+
+  @Test
+  public void testFirstRequestDoesNotWait() {
+    assertEquals(0L, limiter.reserve());
+  }
+
+  @Test
+  public void testWaitingRequestsAreQueued() {
+    assertEquals(0L, limiter.reserve());
+    assertEquals(TEST_INTERVAL, limiter.reserve());
+    assertEquals(TEST_INTERVAL * 2, limiter.reserve());
+  }
+
+  @Test
+  public void testTokensRefillOverTime() {
+    assertEquals(0L, limiter.reserve());
+
+    now += TEST_INTERVAL / 2;
+    assertEquals(TEST_INTERVAL / 2, limiter.reserve());
+
+    now += TEST_INTERVAL * 10;
+    assertEquals(0L, limiter.reserve());
+  }
+
+  @Test
+  public void testCapacityAllowsBursts() {
+    limiter = new ComicVineRateLimiter(3, () -> now);
+    limiter.setDelay(TEST_DELAY);
+
+    assertEquals(0L, limiter.reserve());
+    assertEquals(0L, limiter.reserve());
+    assertEquals(0L, limiter.reserve());
+    assertEquals(TEST_INTERVAL, limiter.reserve());
+  }
+
+  @Test
+  public void testPauseDelaysRequests() {
+    limiter.setDelay(0L);
+    limiter.pause(TEST_INTERVAL * 5);
+
+    assertEquals(TEST_INTERVAL * 5, limiter.getPause());
+    assertEquals(TEST_INTERVAL * 5, limiter.reserve());
+
+    now += TEST_INTERVAL * 5;
+    assertEquals(0L, limiter.getPause());
+    assertEquals(0L, limiter.reserve());
+  }
+
+  @Test
+  public void testPausedRequestsResumeAtTheUsualPace() {
+    limiter.pause(TEST_INTERVAL * 5);
+
+    assertEquals(TEST_INTERVAL * 5, limiter.reserve());
+    assertEquals(TEST_INTERVAL * 6, limiter.reserve());
+  }
+
+  @Test
+  public void testShorterPauseIsIgnored() {
+    limiter.pause(TEST_INTERVAL * 5);
+    limiter.pause(TEST_INTERVAL);
+
+    assertEquals(TEST_INTERVAL * 5, limiter.getPause());
+  }
+
+  @Test
+  public void testGetDelay() {
+    assertEquals(TEST_DELAY, limiter.getDelay());
+  }
+}
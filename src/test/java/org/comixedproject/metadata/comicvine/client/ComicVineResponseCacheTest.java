@@ -0,0 +1,216 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.client;
+
+import static junit.framework.TestCase.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ComicVineResponseCacheTest {
+  private static final String TEST_BASE_URL = "https://comicvine.gamespot.com/api";
+  private static final String TEST_ISSUE_URL =
+      TEST_BASE_URL + "/issue/4000-1/?api_key=first.key&format=json&field_list=id,name";
+  private static final String TEST_OTHER_KEY_ISSUE_URL =
+      TEST_BASE_URL + "/issue/4000-1/?format=json&api_key=second.key&field_list=id,name";
+  private static final String TEST_SEARCH_URL =
+      TEST_BASE_URL + "/search/?api_key=first.key&format=json&query=batman";
+  private static final String TEST_PUBLISHER_URL =
+      TEST_BASE_URL + "/publisher/4010-10/?api_key=first.key&format=json";
+  private static final String TEST_RESPONSE = "{\"status_code\":1,\"results\":{}}";
+  private static final int TEST_CONCURRENT_RESPONSES = 64;
+
+  private long now = 1_000_000L;
+  private Path directory;
+  private ComicVineResponseCache cache;
+
+  @Before
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("comicvine-cache");
+    cache = new ComicVineResponseCache(() -> now);
+    cache.setDirectory(directory);
+  }
+
+  @After
+  public void tearDown() {
+    cache.invalidateAll();
+    directory.toFile().delete();
+  }
+
+  @Test
+  public void testWriterCommit() throws IOException {
+    final byte[] content = TEST_RESPONSE.getBytes(StandardCharsets.UTF_8);
+    final ComicVineResponseCache.Writer writer = cache.begin(TEST_ISSUE_URL);
+    writer.write(content, 0, 10);
+
+    assertNull(cache.get(TEST_ISSUE_URL));
+
+    writer.write(content, 10, content.length - 10);
+    writer.commit();
+
+    assertEquals(TEST_RESPONSE, cache.get(TEST_ISSUE_URL));
+    try (InputStream input = cache.open(TEST_ISSUE_URL)) {
+      assertEquals(TEST_RESPONSE, new String(input.readAllBytes(), StandardCharsets.UTF_8));
+    }
+  }
+
+  @Test
+  public void testWriterAbort() throws IOException {
+    final byte[] content = TEST_RESPONSE.getBytes(StandardCharsets.UTF_8);
+    final ComicVineResponseCache.Writer writer = cache.begin(TEST_ISSUE_URL);
+    writer.write(content, 0, content.length);
+    writer.abort();
+
+    assertNull(cache.open(TEST_ISSUE_URL));
+    try (var files = Files.list(directory)) {
+      assertEquals(0L, files.count());
+    }
+  }
+
+  @Test
+  public void testGetKeyRemovesApiKey() {
+    assertFalse(ComicVineResponseCache.getKey(TEST_ISSUE_URL).contains("first.key"));
+    assertEquals(
+        ComicVineResponseCache.getKey(TEST_ISSUE_URL),
+        ComicVineResponseCache.getKey(TEST_OTHER_KEY_ISSUE_URL));
+  }
+
+  @Test
+  public void testDisabledWithoutDirectory() {
+    cache.setDirectory(null);
+    cache.put(TEST_ISSUE_URL, TEST_RESPONSE);
+
+    assertNull(cache.get(TEST_ISSUE_URL));
+  }
+
+  @Test
+  public void testGetMissing() {
+    assertNull(cache.get(TEST_ISSUE_URL));
+  }
+
+  @Test
+  public void testGet() {
+    cache.put(TEST_ISSUE_URL, TEST_RESPONSE);
+
+    assertEquals(TEST_RESPONSE, cache.get(TEST_ISSUE_URL));
+    assertEquals(TEST_RESPONSE, cache.get(TEST_OTHER_KEY_ISSUE_URL));
+    assertEquals(TEST_RESPONSE.length(), cache.getSize());
+  }
+
+  @Test
+  public void testSurvivesRestart() {
+    cache.put(TEST_ISSUE_URL, TEST_RESPONSE);
+
+    final ComicVineResponseCache restarted = new ComicVineResponseCache(() -> now);
+    restarted.setDirectory(directory);
+
+    assertEquals(TEST_RESPONSE.length(), restarted.getSize());
+    assertEquals(TEST_RESPONSE, restarted.get(TEST_ISSUE_URL));
+  }
+
+  @Test
+  public void testSetDirectoryRemovesPartialResponses() throws IOException {
+    final Path partial =
+        Files.createTempFile(
+            directory,
+            ComicVineResponseCache.TEMPORARY_PREFIX,
+            ComicVineResponseCache.TEMPORARY_SUFFIX);
+    final ComicVineResponseCache restarted = new ComicVineResponseCache(() -> now);
+
+    restarted.setDirectory(directory);
+
+    assertFalse(Files.exists(partial));
+    assertEquals(0L, restarted.getSize());
+  }
+
+  @Test
+  public void testSetSameDirectoryDoesNothing() throws IOException {
+    cache.put(TEST_ISSUE_URL, TEST_RESPONSE);
+    Files.writeString(directory.resolve("unknown.json"), TEST_RESPONSE);
+
+    cache.setDirectory(directory);
+
+    assertEquals(TEST_RESPONSE.length(), cache.getSize());
+  }
+
+  @Test
+  public void testConcurrentResponses() {
+    IntStream.range(0, TEST_CONCURRENT_RESPONSES)
+        .parallel()
+        .forEach(
+            index -> {
+              final String url = TEST_BASE_URL + "/issue/4000-" + index + "/?format=json";
+              cache.put(url, TEST_RESPONSE);
+              assertEquals(TEST_RESPONSE, cache.get(url));
+            });
+
+    assertEquals((long) TEST_CONCURRENT_RESPONSES * TEST_RESPONSE.length(), cache.getSize());
+  }
+
+  @Test
+  public void testTimeToLiveIsPerResource() {
+    cache.put(TEST_SEARCH_URL, TEST_RESPONSE);
+    cache.put(TEST_PUBLISHER_URL, TEST_RESPONSE);
+
+    now += TimeUnit.HOURS.toMillis(2L);
+
+    assertNull(cache.get(TEST_SEARCH_URL));
+    assertEquals(TEST_RESPONSE, cache.get(TEST_PUBLISHER_URL));
+  }
+
+  @Test
+  public void testZeroTimeToLiveIsNotCached() {
+    cache.setTimeToLive("issue", 0L);
+    cache.put(TEST_ISSUE_URL, TEST_RESPONSE);
+
+    assertNull(cache.get(TEST_ISSUE_URL));
+  }
+
+  @Test
+  public void testOldestResponsesAreEvicted() {
+    cache.setMaxSize(TEST_RESPONSE.length() * 2L);
+    cache.put(TEST_ISSUE_URL, TEST_RESPONSE);
+    now += 1000L;
+    cache.put(TEST_SEARCH_URL, TEST_RESPONSE);
+    now += 1000L;
+    cache.put(TEST_PUBLISHER_URL, TEST_RESPONSE);
+
+    assertEquals(TEST_RESPONSE.length() * 2L, cache.getSize());
+    assertNull(cache.get(TEST_ISSUE_URL));
+    assertEquals(TEST_RESPONSE, cache.get(TEST_PUBLISHER_URL));
+  }
+
+  @Test
+  public void testInvalidateAll() {
+    cache.put(TEST_ISSUE_URL, TEST_RESPONSE);
+
+    cache.invalidateAll();
+
+    assertNull(cache.get(TEST_ISSUE_URL));
+    assertEquals(0L, cache.getSize());
+  }
+}
@@ -0,0 +1,133 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.client;
+
+import static junit.framework.TestCase.*;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.comixedproject.metadata.comicvine.model.ComicVineGetAllIssuesQueryResponse;
+import org.comixedproject.metadata.comicvine.model.ComicVineIssue;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ComicVineResponseParserTest {
+  private static final List<String> TEST_PATH = List.of("results", "issues");
+  private static final String TEST_SERIES = "Action Comics";
+  private static final String TEST_BODY =
+      "{\"error\":\"OK\",\"limit\":1,\"offset\":0,\"number_of_page_results\":1,"
+          + "\"number_of_total_results\":1,\"status_code\":1,\"results\":{\"id\":18005,"
+          + "\"issues\":[{\"id\":1,\"issue_number\":\"1\",\"name\":\"First\"},"
+          + "{\"id\":2,\"issue_number\":\"2\",\"name\":\"Second\"},"
+          + "{\"id\":3,\"issue_number\":\"3\",\"name\":\"Third\"}],"
+          + "\"name\":\"Action Comics\",\"publisher\":{\"name\":\"DC Comics\"},"
+          + "\"start_year\":\"1938\"},\"version\":\"1.0\"}";
+  private static final String TEST_NO_ISSUES_BODY =
+      "{\"status_code\":1,\"results\":{\"issues\":null,\"name\":\"Action Comics\"}}";
+
+  private final ObjectMapper objectMapper =
+      new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+  private final List<ComicVineIssue> issues = new ArrayList<>();
+  private ComicVineResponseParser<ComicVineIssue, ComicVineGetAllIssuesQueryResponse> parser;
+
+  @Before
+  public void setUp() throws IOException {
+    parser =
+        new ComicVineResponseParser<>(
+            objectMapper,
+            TEST_PATH,
+            ComicVineIssue.class,
+            issues::add,
+            ComicVineGetAllIssuesQueryResponse.class);
+  }
+
+  @Test
+  public void testParse() throws IOException {
+    parser.feed(new ByteArrayInputStream(TEST_BODY.getBytes(StandardCharsets.UTF_8)));
+
+    final ComicVineGetAllIssuesQueryResponse result = parser.finish();
+
+    assertEquals(3, parser.getCount());
+    assertEquals(3, issues.size());
+    assertEquals("1", issues.get(0).getId());
+    assertEquals("Third", issues.get(2).getTitle());
+    assertEquals(Integer.valueOf(1), result.getStatusCode());
+    assertEquals(TEST_SERIES, result.getResults().getName());
+    assertEquals("DC Comics", result.getResults().getPublisher().getName());
+    assertEquals("1938", result.getResults().getStartYear());
+    assertTrue(
+        result.getResults().getIssues() == null || result.getResults().getIssues().isEmpty());
+  }
+
+  @Test
+  public void testParseOneByteAtATime() throws IOException {
+    final byte[] content = TEST_BODY.getBytes(StandardCharsets.UTF_8);
+    for (int index = 0; index < content.length; index++) {
+      parser.feed(content, index, 1);
+      if (index < content.length / 2) assertTrue(issues.size() < 3);
+    }
+
+    final ComicVineGetAllIssuesQueryResponse result = parser.finish();
+
+    assertEquals(3, issues.size());
+    assertEquals("2", issues.get(1).getId());
+    assertEquals(TEST_SERIES, result.getResults().getName());
+  }
+
+  @Test
+  public void testElementsAreEmittedBeforeTheEnd() throws IOException {
+    final byte[] content = TEST_BODY.getBytes(StandardCharsets.UTF_8);
+    final int end = TEST_BODY.indexOf("{\"id\":2");
+
+    parser.feed(content, 0, end);
+
+    assertEquals(1, issues.size());
+  }
+
+  @Test
+  public void testFieldWithoutArrayIsKept() throws IOException {
+    final byte[] content = TEST_NO_ISSUES_BODY.getBytes(StandardCharsets.UTF_8);
+    parser.feed(content, 0, content.length);
+
+    final ComicVineGetAllIssuesQueryResponse result = parser.finish();
+
+    assertTrue(issues.isEmpty());
+    assertEquals(TEST_SERIES, result.getResults().getName());
+  }
+
+  @Test(expected = JsonProcessingException.class)
+  public void testInvalidContent() throws IOException {
+    final byte[] content = "This is not JSON".getBytes(StandardCharsets.UTF_8);
+    parser.feed(content, 0, content.length);
+    parser.finish();
+  }
+
+  @Test(expected = JsonProcessingException.class)
+  public void testIncompleteContent() throws IOException {
+    final byte[] content = TEST_BODY.getBytes(StandardCharsets.UTF_8);
+    parser.feed(content, 0, content.length / 2);
+    parser.finish();
+  }
+}
@@ -0,0 +1,204 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.client;
+
+import static junit.framework.TestCase.*;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.comixedproject.metadata.MetadataException;
+import org.comixedproject.metadata.comicvine.model.ComicVineStatusCode;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+public class ComicVineRetryPolicyTest {
+  private static final String TEST_URL = "https://comicvine.gamespot.com/api/issues/?api_key=key";
+  private static final Duration TEST_BACKOFF = Duration.ofMillis(1L);
+
+  private ComicVineRetryPolicy policy;
+
+  @Before
+  public void setUp() {
+    policy = new ComicVineRetryPolicy();
+    policy.setMinBackoff(TEST_BACKOFF);
+    policy.setMaxBackoff(TEST_BACKOFF);
+  }
+
+  @Test
+  public void testServerErrorsAreRetryable() {
+    assertTrue(ComicVineRetryPolicy.isRetryable(this.doCreateResponseError(500)));
+    assertTrue(ComicVineRetryPolicy.isRetryable(this.doCreateResponseError(502)));
+    assertTrue(ComicVineRetryPolicy.isRetryable(this.doCreateResponseError(503)));
+  }
+
+  @Test
+  public void testRateLimitErrorsAreRetryable() {
+    assertTrue(ComicVineRetryPolicy.isRetryable(this.doCreateResponseError(420)));
+    assertTrue(ComicVineRetryPolicy.isRetryable(this.doCreateResponseError(429)));
+  }
+
+  @Test
+  public void testClientErrorsAreNotRetryable() {
+    assertFalse(ComicVineRetryPolicy.isRetryable(this.doCreateResponseError(401)));
+    assertFalse(ComicVineRetryPolicy.isRetryable(this.doCreateResponseError(404)));
+  }
+
+  @Test
+  public void testTransportErrorsAreRetryable() {
+    assertTrue(
+        ComicVineRetryPolicy.isRetryable(
+            new WebClientRequestException(
+                new IOException("Connection reset"),
+                HttpMethod.GET,
+                URI.create(TEST_URL),
+                new HttpHeaders())));
+    assertTrue(ComicVineRetryPolicy.isRetryable(new TimeoutException()));
+    assertTrue(ComicVineRetryPolicy.isRetryable(new IOException("Connection reset")));
+  }
+
+  @Test
+  public void testOtherErrorsAreNotRetryable() {
+    assertFalse(ComicVineRetryPolicy.isRetryable(new JsonParseException(null, "not JSON")));
+    assertFalse(ComicVineRetryPolicy.isRetryable(new MetadataException("Missing API key")));
+    assertFalse(ComicVineRetryPolicy.isRetryable(new IllegalStateException()));
+  }
+
+  @Test
+  public void testRateLimitStatusIsRetryable() {
+    assertTrue(
+        ComicVineRetryPolicy.isRetryable(
+            new ComicVineStatusException(ComicVineStatusCode.RATE_LIMIT_EXCEEDED, "Slow down")));
+    assertFalse(
+        ComicVineRetryPolicy.isRetryable(
+            new ComicVineStatusException(ComicVineStatusCode.INVALID_API_KEY, "Invalid API Key")));
+  }
+
+  @Test
+  public void testIsRateLimited() {
+    assertTrue(ComicVineRetryPolicy.isRateLimited(this.doCreateResponseError(420)));
+    assertTrue(ComicVineRetryPolicy.isRateLimited(this.doCreateResponseError(429)));
+    assertTrue(
+        ComicVineRetryPolicy.isRateLimited(
+            new ComicVineStatusException(ComicVineStatusCode.RATE_LIMIT_EXCEEDED, "Slow down")));
+    assertFalse(ComicVineRetryPolicy.isRateLimited(this.doCreateResponseError(503)));
+    assertFalse(ComicVineRetryPolicy.isRateLimited(new IOException("Connection reset")));
+  }
+
+  @Test
+  public void testGetRateLimitPause() {
+    final HttpHeaders headers = new HttpHeaders();
+    headers.set(HttpHeaders.RETRY_AFTER, "120");
+
+    assertEquals(
+        Duration.ofSeconds(120L),
+        policy.getRateLimitPause(
+            WebClientResponseException.create(429, "Too Many Requests", headers, null, null)));
+    assertEquals(
+        ComicVineRetryPolicy.DEFAULT_RATE_LIMIT_PAUSE,
+        policy.getRateLimitPause(this.doCreateResponseError(420)));
+    assertEquals(
+        ComicVineRetryPolicy.DEFAULT_RATE_LIMIT_PAUSE,
+        policy.getRateLimitPause(
+            new ComicVineStatusException(ComicVineStatusCode.RATE_LIMIT_EXCEEDED, "Slow down")));
+  }
+
+  @Test
+  public void testInvalidSettingsAreIgnored() {
+    policy.setMaxRetries(-1);
+    policy.setMinBackoff(Duration.ofSeconds(-1L));
+    policy.setMaxBackoff(null);
+    policy.setJitter(2.0d);
+    policy.setRateLimitPause(null);
+
+    assertEquals(ComicVineRetryPolicy.DEFAULT_MAX_RETRIES, policy.getMaxRetries());
+    assertEquals(TEST_BACKOFF, policy.getMinBackoff());
+    assertEquals(TEST_BACKOFF, policy.getMaxBackoff());
+    assertEquals(ComicVineRetryPolicy.DEFAULT_JITTER, policy.getJitter());
+    assertEquals(ComicVineRetryPolicy.DEFAULT_RATE_LIMIT_PAUSE, policy.getRateLimitPause());
+  }
+
+  @Test
+  public void testRetrySucceedsAfterTransientFailures() {
+    final AtomicInteger attempts = new AtomicInteger();
+
+    final String result =
+        Mono.defer(
+                () ->
+                    attempts.incrementAndGet() < 3
+                        ? Mono.<String>error(this.doCreateResponseError(503))
+                        : Mono.just("OK"))
+            .retryWhen(policy.getRetry(TEST_URL))
+            .block();
+
+    assertEquals("OK", result);
+    assertEquals(3, attempts.get());
+  }
+
+  @Test
+  public void testRetryPassesOnLastError() {
+    final AtomicInteger attempts = new AtomicInteger();
+    final WebClientResponseException error = this.doCreateResponseError(503);
+
+    try {
+      Mono.defer(
+              () -> {
+                attempts.incrementAndGet();
+                return Mono.<String>error(error);
+              })
+          .retryWhen(policy.getRetry(TEST_URL))
+          .block();
+      fail("Expected the request to fail");
+    } catch (WebClientResponseException thrown) {
+      assertSame(error, thrown);
+    }
+    assertEquals(ComicVineRetryPolicy.DEFAULT_MAX_RETRIES + 1, attempts.get());
+  }
+
+  @Test
+  public void testFatalErrorsAreNotRetried() {
+    final AtomicInteger attempts = new AtomicInteger();
+
+    try {
+      Mono.defer(
+              () -> {
+                attempts.incrementAndGet();
+                return Mono.<String>error(this.doCreateResponseError(401));
+              })
+          .retryWhen(policy.getRetry(TEST_URL))
+          .block();
+      fail("Expected the request to fail");
+    } catch (WebClientResponseException thrown) {
+      assertEquals(401, thrown.getStatusCode().value());
+    }
+    assertEquals(1, attempts.get());
+  }
+
+  private WebClientResponseException doCreateResponseError(final int status) {
+    return WebClientResponseException.create(status, "Error", HttpHeaders.EMPTY, null, null);
+  }
+}
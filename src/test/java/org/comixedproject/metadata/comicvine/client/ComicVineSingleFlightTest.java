@@ -0,0 +1,115 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.metadata.comicvine.client;
+
+import static junit.framework.TestCase.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+public class ComicVineSingleFlightTest {
+  private static final String TEST_KEY =
+      "https://comicvine.gamespot.com/api/volume/4050-1/?format=json";
+  private static final String TEST_OTHER_KEY =
+      "https://comicvine.gamespot.com/api/volume/4050-2/?format=json";
+  private static final String TEST_RESULT = "The result";
+
+  private final AtomicInteger requests = new AtomicInteger(0);
+  private ComicVineSingleFlight singleFlight;
+  private Sinks.One<String> response;
+
+  @Before
+  public void setUp() {
+    singleFlight = new ComicVineSingleFlight();
+    response = Sinks.one();
+  }
+
+  @Test
+  public void testConcurrentRequestsShareOneCall() {
+    final Mono<String> first = singleFlight.execute(TEST_KEY, this::doRequest).cache();
+    final Mono<String> second = singleFlight.execute(TEST_KEY, this::doRequest).cache();
+    first.subscribe();
+    second.subscribe();
+
+    assertEquals(1, singleFlight.getInFlight());
+
+    response.tryEmitValue(TEST_RESULT);
+
+    assertEquals(TEST_RESULT, first.block());
+    assertEquals(TEST_RESULT, second.block());
+    assertEquals(1, requests.get());
+    assertEquals(1L, singleFlight.getShared());
+    assertEquals(0, singleFlight.getInFlight());
+  }
+
+  @Test
+  public void testFinishedRequestIsNotShared() {
+    response.tryEmitValue(TEST_RESULT);
+
+    assertEquals(TEST_RESULT, singleFlight.execute(TEST_KEY, this::doRequest).block());
+    assertEquals(TEST_RESULT, singleFlight.execute(TEST_KEY, this::doRequest).block());
+
+    assertEquals(2, requests.get());
+    assertEquals(0L, singleFlight.getShared());
+  }
+
+  @Test
+  public void testDifferentKeysAreNotShared() {
+    singleFlight.execute(TEST_KEY, this::doRequest).subscribe();
+    singleFlight.execute(TEST_OTHER_KEY, this::doRequest).subscribe();
+
+    assertEquals(2, singleFlight.getInFlight());
+    assertEquals(2, requests.get());
+  }
+
+  @Test
+  public void testErrorsAreSharedAndForgotten() {
+    final Mono<String> first = singleFlight.execute(TEST_KEY, this::doRequest).cache();
+    final Mono<String> second = singleFlight.execute(TEST_KEY, this::doRequest).cache();
+    first.subscribe(value -> {}, error -> {});
+    second.subscribe(value -> {}, error -> {});
+
+    response.tryEmitError(new IllegalStateException(TEST_RESULT));
+
+    assertEquals(TEST_RESULT, doGetError(first).getMessage());
+    assertEquals(TEST_RESULT, doGetError(second).getMessage());
+    assertEquals(0, singleFlight.getInFlight());
+    assertEquals(1, requests.get());
+  }
+
+  private Mono<String> doRequest() {
+    return Mono.defer(
+        () -> {
+          requests.incrementAndGet();
+          return response.asMono();
+        });
+  }
+
+  private Throwable doGetError(final Mono<String> request) {
+    try {
+      request.block();
+    } catch (IllegalStateException error) {
+      return error;
+    }
+    throw new AssertionError("No error received");
+  }
+}